@@ -0,0 +1,240 @@
+package benchmark;
+
+import conexion.conexionBD;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Base de datos embebida en memoria (H2 en modo MySQL) con el esquema de SIGE,
+ * para ejecutar los controladores sin un servidor MySQL.
+ *
+ * Al iniciarla se crea el esquema y se configura {@link conexionBD} para que todos
+ * los controladores usen esta base. Los datos se cargan con {@link GeneradorDatosEscolares}.
+ * Pensada para pruebas de rendimiento: ver README.
+ *
+ * @author Yonatan
+ */
+public class BaseEmbebida {
+
+    // Roles con los mismos ID que la base real (los controladores filtran docentes por idRol = 1)
+    public static final int ROL_DOCENTE = 1;
+    public static final int ROL_PRECEPTOR = 2;
+    public static final int ROL_ASESOR = 3;
+    public static final int ROL_DIRECTIVO = 4;
+
+    private static final String MIGRACIONES = System.getProperty("sige.bench.migraciones");
+
+    private static final String URL_BASE = "jdbc:h2:mem:%s;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    /**
+     * Esquema de SIGE con las tablas y columnas que usan los controladores, igual al de producción:
+     * solo claves primarias. Los índices propuestos están en sql/migraciones y se aplican
+     * con la propiedad sige.bench.migraciones (carpeta de las migraciones).
+     */
+    private static final String ESQUEMA = """
+        CREATE TABLE rol (
+            idRol INT PRIMARY KEY,
+            tipoRol VARCHAR(60) NOT NULL
+        );
+        CREATE TABLE usuario (
+            idUsuario INT AUTO_INCREMENT PRIMARY KEY,
+            dni VARCHAR(20),
+            nombre VARCHAR(60) NOT NULL,
+            apellido VARCHAR(60) NOT NULL,
+            telefono VARCHAR(30),
+            email VARCHAR(120) NOT NULL UNIQUE,
+            contrasenia VARCHAR(100) NOT NULL
+        );
+        CREATE TABLE usuarios_rol (
+            idUsuarioRol INT AUTO_INCREMENT PRIMARY KEY,
+            idUsuario INT NOT NULL,
+            idRol INT NOT NULL
+        );
+        CREATE TABLE curso (
+            idCurso INT AUTO_INCREMENT PRIMARY KEY,
+            nombreCurso VARCHAR(20) NOT NULL,
+            anio INT NOT NULL
+        );
+        CREATE TABLE materia (
+            idMateria INT AUTO_INCREMENT PRIMARY KEY,
+            nombre_materia VARCHAR(80) NOT NULL
+        );
+        CREATE TABLE docente_materia_curso (
+            idUsuarioRol INT NOT NULL,
+            idMateria INT NOT NULL,
+            idCurso INT NOT NULL,
+            PRIMARY KEY (idUsuarioRol, idMateria, idCurso)
+        );
+        CREATE TABLE estudiante (
+            idEstudiante INT AUTO_INCREMENT PRIMARY KEY,
+            nombre VARCHAR(60) NOT NULL,
+            apellido VARCHAR(60) NOT NULL,
+            dni VARCHAR(20),
+            telefono VARCHAR(30),
+            responsable VARCHAR(120),
+            idCurso INT NOT NULL
+        );
+        CREATE TABLE asistencia (
+            idAsistencia INT AUTO_INCREMENT PRIMARY KEY,
+            idCurso INT NOT NULL,
+            idUsuario INT NOT NULL,
+            fecha DATE NOT NULL,
+            idMateria INT NULL
+        );
+        CREATE TABLE asistenciadetalle (
+            idDetalle INT AUTO_INCREMENT PRIMARY KEY,
+            idAsistencia INT NOT NULL,
+            idEstudiante INT NOT NULL,
+            estado VARCHAR(20) NOT NULL,
+            idMateria INT NULL
+        );
+        CREATE TABLE planillacalificaciones (
+            idPlanilla INT AUTO_INCREMENT PRIMARY KEY,
+            idMateria INT NOT NULL,
+            idCurso INT NOT NULL,
+            fecha DATE NOT NULL,
+            nombreActividad VARCHAR(120) NOT NULL,
+            tipo VARCHAR(20) NOT NULL,
+            idUsuario INT NOT NULL
+        );
+        CREATE TABLE calificacion (
+            idCalificacion INT AUTO_INCREMENT PRIMARY KEY,
+            idPlanilla INT NOT NULL,
+            idEstudiante INT NOT NULL,
+            nota VARCHAR(20),
+            idActividad INT NULL
+        );
+        CREATE TABLE actividad (
+            idActividad INT AUTO_INCREMENT PRIMARY KEY,
+            titulo VARCHAR(120) NOT NULL,
+            tipo VARCHAR(20),
+            fecha DATE,
+            idCurso INT,
+            idMateria INT
+        );
+        CREATE TABLE bitacora (
+            idBitacora INT AUTO_INCREMENT PRIMARY KEY,
+            idEstudiante INT NOT NULL,
+            idCurso INT NULL,
+            idMateria INT NULL,
+            idDocente INT NULL,
+            idUsuario INT NULL,
+            fecha DATETIME NOT NULL,
+            motivo VARCHAR(255),
+            tipoEvento VARCHAR(60),
+            descripcion VARCHAR(1000)
+        );
+        CREATE TABLE solicitud_reunion (
+            idSolicitud INT AUTO_INCREMENT PRIMARY KEY,
+            idUsuarioSolicitante INT NOT NULL,
+            idCurso INT NOT NULL,
+            motivo VARCHAR(500),
+            disponibilidad VARCHAR(255),
+            estado VARCHAR(20) NOT NULL,
+            fechaSolicitud DATE NOT NULL,
+            fechaReunionConfirmada DATE NULL,
+            horaReunionConfirmada TIME NULL
+        );
+        CREATE TABLE solicitud_estudiante (
+            idSolicitud INT NOT NULL,
+            idEstudiante INT NOT NULL,
+            PRIMARY KEY (idSolicitud, idEstudiante)
+        );
+        """;
+
+    private final String url;
+
+    /**
+     * Crea una base embebida vacía con el nombre indicado. Dos bases con el mismo nombre
+     * dentro del mismo proceso son la misma base.
+     *
+     * @param nombre nombre de la base en memoria
+     */
+    public BaseEmbebida(String nombre) {
+        this.url = String.format(URL_BASE, nombre);
+    }
+
+    /**
+     * Crea el esquema, aplica las migraciones si se indicó sige.bench.migraciones
+     * y deja configurado {@link conexionBD} para usar esta base.
+     *
+     * @throws SQLException si no se pudo crear el esquema (por ejemplo, falta el driver de H2)
+     */
+    public void iniciar() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            ejecutar(stmt, ESQUEMA);
+            if (MIGRACIONES != null) {
+                aplicarMigraciones(stmt, Paths.get(MIGRACIONES));
+            }
+        }
+        conexionBD.configurar(url, "sa", "");
+    }
+
+    /**
+     * Ejecuta, en orden de nombre, los archivos .sql de la carpeta de migraciones.
+     */
+    private void aplicarMigraciones(Statement stmt, Path carpeta) throws SQLException {
+        List<Path> archivos;
+        try (Stream<Path> listado = Files.list(carpeta)) {
+            archivos = listado.filter(p -> p.toString().endsWith(".sql")).sorted().toList();
+        } catch (IOException e) {
+            throw new SQLException("No se pudo leer la carpeta de migraciones " + carpeta, e);
+        }
+        for (Path archivo : archivos) {
+            try {
+                ejecutar(stmt, Files.readString(archivo, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new SQLException("No se pudo leer la migración " + archivo, e);
+            }
+            System.out.println("Migración aplicada: " + archivo.getFileName());
+        }
+    }
+
+    private static void ejecutar(Statement stmt, String script) throws SQLException {
+        for (String sentencia : script.split(";")) {
+            // Se quitan las líneas de comentario
+            String sinComentarios = sentencia.lines()
+                    .filter(linea -> !linea.trim().startsWith("--"))
+                    .collect(Collectors.joining("\n"));
+            if (!sinComentarios.isBlank()) {
+                stmt.execute(sinComentarios);
+            }
+        }
+    }
+
+    /**
+     * @return conexión directa a la base, sin pasar por el pool (para cargas masivas)
+     * @throws SQLException si no se pudo conectar
+     */
+    public Connection conectar() throws SQLException {
+        return DriverManager.getConnection(url, "sa", "");
+    }
+
+    /**
+     * Carga el conjunto de datos sintético con la semilla y la escala indicadas.
+     *
+     * @param semilla semilla del generador (misma semilla y escala, mismos datos)
+     * @param escala tamaño del conjunto de datos
+     * @return el generador usado, para ubicar cursos, docentes y estudiantes generados
+     * @throws SQLException si falla la carga
+     */
+    public GeneradorDatosEscolares cargarDatos(long semilla, GeneradorDatosEscolares.Escala escala) throws SQLException {
+        GeneradorDatosEscolares generador = new GeneradorDatosEscolares(semilla, escala);
+        try (Connection conn = conectar()) {
+            generador.generar(conn);
+        }
+        return generador;
+    }
+}
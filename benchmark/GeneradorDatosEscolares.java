@@ -0,0 +1,667 @@
+package benchmark;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generador de datos escolares sintéticos para pruebas de rendimiento y de carga.
+ *
+ * Llena las tablas que usan los controladores con datos de forma parecida a los reales:
+ * cursos con sus estudiantes, docentes asignados por curso y materia, asistencia diaria
+ * del preceptor y por materia, planillas con sus calificaciones, solicitudes de reunión
+ * y una bitácora con los mismos eventos que registran los controladores.
+ *
+ * El resultado depende solo de la semilla y de la escala: con los mismos valores se
+ * generan siempre los mismos datos. Los ID se asignan en orden desde 1, así las pruebas
+ * pueden ubicar cursos, docentes y estudiantes con los métodos de consulta de esta clase.
+ *
+ * Las filas se insertan con sentencias de varias filas (INSERT ... VALUES (...), (...)),
+ * confirmando la transacción en cada sentencia.
+ *
+ * @author Yonatan
+ */
+public class GeneradorDatosEscolares {
+
+    /**
+     * Tamaño del conjunto de datos. Los valores por defecto son los de una escuela grande
+     * y se pueden cambiar con propiedades del sistema sige.datos.*.
+     */
+    public static class Escala {
+
+        private int cursos = Integer.getInteger("sige.datos.cursos", 60);
+        private int estudiantes = Integer.getInteger("sige.datos.estudiantes", 2000);
+        private int materias = Integer.getInteger("sige.datos.materias", 12);
+        private int materiasPorCurso = Integer.getInteger("sige.datos.materiasPorCurso", 8);
+        private int materiasPorDia = Integer.getInteger("sige.datos.materiasPorDia", 4);
+        private int diasDeClase = Integer.getInteger("sige.datos.diasDeClase", 180);
+        private int preceptores = Integer.getInteger("sige.datos.preceptores", 12);
+        private int docentes = Integer.getInteger("sige.datos.docentes", 90);
+        private int directivos = Integer.getInteger("sige.datos.directivos", 4);
+        private int asesores = Integer.getInteger("sige.datos.asesores", 3);
+        private int actividadesPorMateria = Integer.getInteger("sige.datos.actividadesPorMateria", 25);
+        private int solicitudesReunion = Integer.getInteger("sige.datos.solicitudesReunion", 600);
+        private int eventosBitacora = Integer.getInteger("sige.datos.eventosBitacora", 2_000_000);
+        private LocalDate inicioCiclo = LocalDate.parse(System.getProperty("sige.datos.inicioCiclo", "2024-03-04"));
+
+        /**
+         * @return escala chica (2 cursos, 60 estudiantes, 20 días) para comprobar que todo funciona
+         */
+        public static Escala reducida() {
+            Escala escala = new Escala();
+            escala.setCursos(2);
+            escala.setEstudiantes(60);
+            escala.setMaterias(3);
+            escala.setMateriasPorCurso(3);
+            escala.setMateriasPorDia(2);
+            escala.setDiasDeClase(20);
+            escala.setPreceptores(1);
+            escala.setDocentes(3);
+            escala.setDirectivos(1);
+            escala.setAsesores(1);
+            escala.setActividadesPorMateria(3);
+            escala.setSolicitudesReunion(10);
+            escala.setEventosBitacora(0);
+            return escala;
+        }
+
+        public int getCursos() { return cursos; }
+        public void setCursos(int cursos) { this.cursos = cursos; }
+
+        public int getEstudiantes() { return estudiantes; }
+        public void setEstudiantes(int estudiantes) { this.estudiantes = estudiantes; }
+
+        public int getMaterias() { return materias; }
+        public void setMaterias(int materias) { this.materias = materias; }
+
+        public int getMateriasPorCurso() { return materiasPorCurso; }
+        public void setMateriasPorCurso(int materiasPorCurso) { this.materiasPorCurso = materiasPorCurso; }
+
+        public int getMateriasPorDia() { return materiasPorDia; }
+        public void setMateriasPorDia(int materiasPorDia) { this.materiasPorDia = materiasPorDia; }
+
+        public int getDiasDeClase() { return diasDeClase; }
+        public void setDiasDeClase(int diasDeClase) { this.diasDeClase = diasDeClase; }
+
+        public int getPreceptores() { return preceptores; }
+        public void setPreceptores(int preceptores) { this.preceptores = preceptores; }
+
+        public int getDocentes() { return docentes; }
+        public void setDocentes(int docentes) { this.docentes = docentes; }
+
+        public int getDirectivos() { return directivos; }
+        public void setDirectivos(int directivos) { this.directivos = directivos; }
+
+        public int getAsesores() { return asesores; }
+        public void setAsesores(int asesores) { this.asesores = asesores; }
+
+        public int getActividadesPorMateria() { return actividadesPorMateria; }
+        public void setActividadesPorMateria(int actividadesPorMateria) { this.actividadesPorMateria = actividadesPorMateria; }
+
+        public int getSolicitudesReunion() { return solicitudesReunion; }
+        public void setSolicitudesReunion(int solicitudesReunion) { this.solicitudesReunion = solicitudesReunion; }
+
+        /** @return cantidad total de eventos de bitácora; si la asistencia y las notas generan menos, se completa con observaciones */
+        public int getEventosBitacora() { return eventosBitacora; }
+        public void setEventosBitacora(int eventosBitacora) { this.eventosBitacora = eventosBitacora; }
+
+        public LocalDate getInicioCiclo() { return inicioCiclo; }
+        public void setInicioCiclo(LocalDate inicioCiclo) { this.inicioCiclo = inicioCiclo; }
+
+        @Override
+        public String toString() {
+            return cursos + " cursos, " + estudiantes + " estudiantes, " + diasDeClase + " días de clase, "
+                    + eventosBitacora + " eventos de bitácora";
+        }
+    }
+
+    private static final int FILAS_POR_SENTENCIA = Integer.getInteger("sige.datos.filasPorSentencia", 500);
+
+    private static final String[] NOMBRES = {
+        "Sofía", "Mateo", "Valentina", "Benjamín", "Martina", "Thiago", "Catalina", "Santiago", "Emma", "Joaquín",
+        "Isabella", "Lautaro", "Camila", "Felipe", "Lucía", "Tomás", "Mía", "Bautista", "Julieta", "Facundo",
+        "Agustina", "Nicolás", "Delfina", "Lucas", "Abril", "Franco", "Paula", "Ignacio", "Milagros", "Bruno"
+    };
+
+    private static final String[] APELLIDOS = {
+        "González", "Rodríguez", "Gómez", "Fernández", "López", "Díaz", "Martínez", "Pérez", "García", "Sánchez",
+        "Romero", "Sosa", "Álvarez", "Torres", "Ruiz", "Ramírez", "Flores", "Acosta", "Benítez", "Medina",
+        "Suárez", "Herrera", "Aguirre", "Pereyra", "Gutiérrez", "Giménez", "Molina", "Silva", "Castro", "Rojas"
+    };
+
+    private static final String[] NOMBRES_MATERIAS = {
+        "Matemática", "Lengua y Literatura", "Historia", "Geografía", "Biología", "Física",
+        "Química", "Inglés", "Educación Física", "Educación Artística", "Formación Ética", "Tecnología"
+    };
+
+    private static final String[] NOTAS_CONCEPTUALES = {"Mal", "Regular", "Bien", "Muy Bien", "Excelente"};
+
+    private static final String[] OBSERVACIONES = {
+        "Participa activamente en clase.",
+        "No presentó la tarea solicitada.",
+        "Muestra dificultades en la comprensión de consignas.",
+        "Mejoró notablemente su desempeño.",
+        "Se distrae con frecuencia durante la explicación.",
+        "Colabora con sus compañeros en los trabajos grupales."
+    };
+
+    private static final String[] MOTIVOS_REUNION = {
+        "Bajo rendimiento académico",
+        "Inasistencias reiteradas",
+        "Problemas de conducta",
+        "Seguimiento pedagógico"
+    };
+
+    private final Escala escala;
+    private final Random aleatorio;
+
+    // Distribución calculada antes de insertar (todo depende solo de la semilla y la escala)
+    private final int[] primerEstudiante;
+    private final int[] cantidadEstudiantes;
+    private final int[][] materiasDeCurso;
+    private final int[][] docentesDeCurso;
+    private final List<LocalDate> dias;
+
+    private long filasInsertadas;
+    private int eventosBitacora;
+
+    /**
+     * @param semilla semilla del generador aleatorio
+     * @param escala tamaño del conjunto de datos
+     */
+    public GeneradorDatosEscolares(long semilla, Escala escala) {
+        this.escala = escala;
+        this.aleatorio = new Random(semilla);
+
+        int cursos = escala.getCursos();
+        primerEstudiante = new int[cursos];
+        cantidadEstudiantes = new int[cursos];
+        int siguiente = 1;
+        for (int c = 0; c < cursos; c++) {
+            cantidadEstudiantes[c] = escala.getEstudiantes() / cursos + (c < escala.getEstudiantes() % cursos ? 1 : 0);
+            primerEstudiante[c] = siguiente;
+            siguiente += cantidadEstudiantes[c];
+        }
+
+        int porCurso = Math.min(escala.getMateriasPorCurso(), escala.getMaterias());
+        materiasDeCurso = new int[cursos][porCurso];
+        docentesDeCurso = new int[cursos][porCurso];
+        for (int c = 0; c < cursos; c++) {
+            for (int m = 0; m < porCurso; m++) {
+                materiasDeCurso[c][m] = (c + m) % escala.getMaterias() + 1;
+                docentesDeCurso[c][m] = (c * porCurso + m) % escala.getDocentes();
+            }
+        }
+
+        dias = new ArrayList<>(escala.getDiasDeClase());
+        LocalDate dia = escala.getInicioCiclo();
+        while (dias.size() < escala.getDiasDeClase()) {
+            if (dia.getDayOfWeek() != DayOfWeek.SATURDAY && dia.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                dias.add(dia);
+            }
+            dia = dia.plusDays(1);
+        }
+    }
+
+    /**
+     * Inserta todo el conjunto de datos. La base debe tener el esquema creado y las tablas vacías.
+     * Se llama una sola vez por generador: otra llamada continuaría la secuencia aleatoria.
+     *
+     * @param conn conexión a la base (se usa sin confirmación automática y se restaura al terminar)
+     * @throws SQLException si falla alguna inserción
+     */
+    public void generar(Connection conn) throws SQLException {
+        boolean autoCommitAnterior = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        filasInsertadas = 0;
+        eventosBitacora = 0;
+        try {
+            generarRolesYUsuarios(conn);
+            generarCursosYMaterias(conn);
+            generarEstudiantes(conn);
+            generarAsistencias(conn);
+            generarCalificaciones(conn);
+            generarSolicitudesReunion(conn);
+            generarObservaciones(conn);
+        } finally {
+            conn.setAutoCommit(autoCommitAnterior);
+        }
+    }
+
+    // ==========================
+    // Consultas sobre los datos generados
+    // ==========================
+
+    public Escala getEscala() {
+        return escala;
+    }
+
+    /** @return cantidad de filas insertadas en la última generación */
+    public long getFilasInsertadas() {
+        return filasInsertadas;
+    }
+
+    /** @return ID de usuario del preceptor a cargo del curso */
+    public int getIdPreceptor(int idCurso) {
+        return (idCurso - 1) % escala.getPreceptores() + 1;
+    }
+
+    /** @return ID de usuario del docente número {@code indice} (desde 0) */
+    public int getIdDocente(int indice) {
+        return escala.getPreceptores() + indice + 1;
+    }
+
+    /** @return ID de usuario del directivo número {@code indice} (desde 0) */
+    public int getIdDirectivo(int indice) {
+        return escala.getPreceptores() + escala.getDocentes() + indice + 1;
+    }
+
+    /** @return email con el que inicia sesión el usuario generado */
+    public String getEmail(int idUsuario) {
+        int[] cantidades = {escala.getPreceptores(), escala.getDocentes(), escala.getDirectivos(), escala.getAsesores()};
+        String[] prefijos = {"preceptor", "docente", "directivo", "asesor"};
+        int posicion = idUsuario - 1;
+        for (int grupo = 0; grupo < cantidades.length; grupo++) {
+            if (posicion < cantidades[grupo]) {
+                return prefijos[grupo] + (posicion + 1) + "@sige.edu";
+            }
+            posicion -= cantidades[grupo];
+        }
+        throw new IllegalArgumentException("No se generó el usuario " + idUsuario);
+    }
+
+    /** @return contraseña del usuario generado */
+    public String getContrasenia(int idUsuario) {
+        return "clave" + idUsuario;
+    }
+
+    /** @return cantidad de materias que se dictan en cada curso */
+    public int getMateriasPorCurso() {
+        return materiasDeCurso.length == 0 ? 0 : materiasDeCurso[0].length;
+    }
+
+    /** @return ID de la materia que ocupa la posición indicada (desde 0) en el curso */
+    public int getIdMateria(int idCurso, int posicion) {
+        return materiasDeCurso[idCurso - 1][posicion];
+    }
+
+    /** @return ID de usuario del docente que dicta la materia de la posición indicada en el curso */
+    public int getIdDocenteDeMateria(int idCurso, int posicion) {
+        return getIdDocente(docentesDeCurso[idCurso - 1][posicion]);
+    }
+
+    /** @return ID del primer estudiante del curso (los del mismo curso tienen ID consecutivos) */
+    public int getPrimerEstudiante(int idCurso) {
+        return primerEstudiante[idCurso - 1];
+    }
+
+    public int getCantidadEstudiantes(int idCurso) {
+        return cantidadEstudiantes[idCurso - 1];
+    }
+
+    // ==========================
+    // Generación por tabla
+    // ==========================
+
+    private void generarRolesYUsuarios(Connection conn) throws SQLException {
+        try (InsercionMultiple roles = new InsercionMultiple(conn, "rol", "idRol", "tipoRol")) {
+            roles.agregar(BaseEmbebida.ROL_DOCENTE, "Docente");
+            roles.agregar(BaseEmbebida.ROL_PRECEPTOR, "Preceptor");
+            roles.agregar(BaseEmbebida.ROL_ASESOR, "Asesor");
+            roles.agregar(BaseEmbebida.ROL_DIRECTIVO, "Directivo");
+        }
+
+        try (InsercionMultiple usuarios = new InsercionMultiple(conn, "usuario",
+                "idUsuario", "dni", "nombre", "apellido", "telefono", "email", "contrasenia");
+             InsercionMultiple usuariosRol = new InsercionMultiple(conn, "usuarios_rol",
+                "idUsuarioRol", "idUsuario", "idRol")) {
+
+            int idUsuario = 0;
+            int[] cantidades = {escala.getPreceptores(), escala.getDocentes(), escala.getDirectivos(), escala.getAsesores()};
+            int[] rolesPorGrupo = {BaseEmbebida.ROL_PRECEPTOR, BaseEmbebida.ROL_DOCENTE, BaseEmbebida.ROL_DIRECTIVO, BaseEmbebida.ROL_ASESOR};
+            String[] prefijos = {"preceptor", "docente", "directivo", "asesor"};
+
+            for (int grupo = 0; grupo < cantidades.length; grupo++) {
+                for (int i = 0; i < cantidades[grupo]; i++) {
+                    idUsuario++;
+                    usuarios.agregar(idUsuario, String.valueOf(20_000_000 + idUsuario), elegir(NOMBRES), elegir(APELLIDOS),
+                            telefono(), prefijos[grupo] + (i + 1) + "@sige.edu", "clave" + idUsuario);
+                }
+            }
+
+            // El idUsuarioRol de cada docente coincide con su posición entre los docentes (se usa en docente_materia_curso)
+            int idUsuarioRol = 0;
+            for (int i = 0; i < escala.getDocentes(); i++) {
+                usuariosRol.agregar(++idUsuarioRol, getIdDocente(i), BaseEmbebida.ROL_DOCENTE);
+            }
+            idUsuario = 0;
+            for (int grupo = 0; grupo < cantidades.length; grupo++) {
+                for (int i = 0; i < cantidades[grupo]; i++) {
+                    idUsuario++;
+                    if (rolesPorGrupo[grupo] != BaseEmbebida.ROL_DOCENTE) {
+                        usuariosRol.agregar(++idUsuarioRol, idUsuario, rolesPorGrupo[grupo]);
+                    } else if (i % 15 == 14) {
+                        // Algunos docentes además son asesores (usuarios con varios roles)
+                        usuariosRol.agregar(++idUsuarioRol, idUsuario, BaseEmbebida.ROL_ASESOR);
+                    }
+                }
+            }
+        }
+    }
+
+    private void generarCursosYMaterias(Connection conn) throws SQLException {
+        int divisiones = (escala.getCursos() + 5) / 6;
+
+        try (InsercionMultiple cursos = new InsercionMultiple(conn, "curso", "idCurso", "nombreCurso", "anio")) {
+            for (int c = 0; c < escala.getCursos(); c++) {
+                int anio = c / divisiones + 1;
+                char division = (char) ('A' + c % divisiones);
+                cursos.agregar(c + 1, anio + "" + division, anio);
+            }
+        }
+
+        try (InsercionMultiple materias = new InsercionMultiple(conn, "materia", "idMateria", "nombre_materia")) {
+            for (int m = 0; m < escala.getMaterias(); m++) {
+                String nombre = m < NOMBRES_MATERIAS.length ? NOMBRES_MATERIAS[m] : "Materia " + (m + 1);
+                materias.agregar(m + 1, nombre);
+            }
+        }
+
+        try (InsercionMultiple asignaciones = new InsercionMultiple(conn, "docente_materia_curso",
+                "idUsuarioRol", "idMateria", "idCurso")) {
+            for (int c = 0; c < escala.getCursos(); c++) {
+                for (int m = 0; m < getMateriasPorCurso(); m++) {
+                    asignaciones.agregar(docentesDeCurso[c][m] + 1, materiasDeCurso[c][m], c + 1);
+                }
+            }
+        }
+    }
+
+    private void generarEstudiantes(Connection conn) throws SQLException {
+        try (InsercionMultiple estudiantes = new InsercionMultiple(conn, "estudiante",
+                "idEstudiante", "nombre", "apellido", "dni", "telefono", "responsable", "idCurso")) {
+            for (int c = 0; c < escala.getCursos(); c++) {
+                for (int i = 0; i < cantidadEstudiantes[c]; i++) {
+                    int idEstudiante = primerEstudiante[c] + i;
+                    String apellido = elegir(APELLIDOS);
+                    estudiantes.agregar(idEstudiante, elegir(NOMBRES), apellido, String.valueOf(45_000_000 + idEstudiante),
+                            telefono(), elegir(NOMBRES) + " " + apellido, c + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Asistencia diaria del preceptor y de algunas materias por día, con el evento de bitácora
+     * que registran los controladores para cada estado distinto de "Presente".
+     */
+    private void generarAsistencias(Connection conn) throws SQLException {
+        // Cada estudiante tiene su propia tendencia a faltar, entre 2% y 20%
+        double[] ausentismo = new double[escala.getEstudiantes() + 1];
+        for (int i = 1; i < ausentismo.length; i++) {
+            ausentismo[i] = 0.02 + aleatorio.nextDouble() * 0.18;
+        }
+
+        try (InsercionMultiple asistencias = new InsercionMultiple(conn, "asistencia",
+                "idAsistencia", "idCurso", "idUsuario", "fecha", "idMateria");
+             InsercionMultiple detalles = new InsercionMultiple(conn, "asistenciadetalle",
+                "idAsistencia", "idEstudiante", "estado", "idMateria");
+             InsercionMultiple bitacora = nuevaInsercionBitacora(conn)) {
+
+            int idAsistencia = 0;
+            for (int d = 0; d < dias.size(); d++) {
+                Date fecha = Date.valueOf(dias.get(d));
+
+                for (int c = 0; c < escala.getCursos(); c++) {
+                    int idCurso = c + 1;
+
+                    // Asistencia general del preceptor (sin materia)
+                    asistencias.agregar(++idAsistencia, idCurso, getIdPreceptor(idCurso), fecha, null);
+                    agregarDetalles(detalles, bitacora, ausentismo, idAsistencia, dias.get(d), c, null, "Asistencia Preceptor");
+
+                    // Asistencia por materia de las materias que se dictan ese día
+                    int porDia = Math.min(escala.getMateriasPorDia(), getMateriasPorCurso());
+                    for (int k = 0; k < porDia; k++) {
+                        int posicion = (d * porDia + k) % getMateriasPorCurso();
+                        int idMateria = materiasDeCurso[c][posicion];
+                        asistencias.agregar(++idAsistencia, idCurso, getIdDocenteDeMateria(idCurso, posicion), fecha, idMateria);
+                        agregarDetalles(detalles, bitacora, ausentismo, idAsistencia, dias.get(d), c, idMateria, "Asistencia Docente");
+                    }
+                }
+            }
+        }
+    }
+
+    private void agregarDetalles(InsercionMultiple detalles, InsercionMultiple bitacora, double[] ausentismo,
+                                 int idAsistencia, LocalDate dia, int curso, Integer idMateria, String tipoEvento)
+            throws SQLException {
+        for (int i = 0; i < cantidadEstudiantes[curso]; i++) {
+            int idEstudiante = primerEstudiante[curso] + i;
+            String estado = estadoAsistencia(ausentismo[idEstudiante]);
+            detalles.agregar(idAsistencia, idEstudiante, estado, idMateria);
+
+            if (!estado.equals("Presente")) {
+                agregarEventoBitacora(bitacora, idEstudiante, curso + 1, idMateria, null, null, momento(dia),
+                        null, tipoEvento, "Estado de asistencia: " + estado);
+            }
+        }
+    }
+
+    /**
+     * Planillas de cada materia de cada curso con la nota de todos los estudiantes
+     * y el evento de bitácora que registra el guardado de notas.
+     */
+    private void generarCalificaciones(Connection conn) throws SQLException {
+        try (InsercionMultiple planillas = new InsercionMultiple(conn, "planillacalificaciones",
+                "idPlanilla", "idMateria", "idCurso", "fecha", "nombreActividad", "tipo", "idUsuario");
+             InsercionMultiple calificaciones = new InsercionMultiple(conn, "calificacion",
+                "idPlanilla", "idEstudiante", "nota");
+             InsercionMultiple bitacora = nuevaInsercionBitacora(conn)) {
+
+            int idPlanilla = 0;
+            for (int c = 0; c < escala.getCursos(); c++) {
+                int idCurso = c + 1;
+                for (int m = 0; m < getMateriasPorCurso(); m++) {
+                    for (int a = 0; a < escala.getActividadesPorMateria(); a++) {
+                        idPlanilla++;
+                        boolean conceptual = aleatorio.nextInt(5) == 0;
+                        LocalDate fecha = dias.get(aleatorio.nextInt(dias.size()));
+                        planillas.agregar(idPlanilla, materiasDeCurso[c][m], idCurso, Date.valueOf(fecha),
+                                (conceptual ? "Trabajo práctico " : "Evaluación ") + (a + 1),
+                                conceptual ? "Conceptual" : "Numerica", getIdDocenteDeMateria(idCurso, m));
+
+                        for (int i = 0; i < cantidadEstudiantes[c]; i++) {
+                            int idEstudiante = primerEstudiante[c] + i;
+                            String nota = nota(conceptual);
+                            calificaciones.agregar(idPlanilla, idEstudiante, nota);
+                            agregarEventoBitacora(bitacora, idEstudiante, null, null, null, null, momento(fecha), null, null,
+                                    "Se registró la calificación '" + nota + "' en la actividad ID " + idPlanilla);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void generarSolicitudesReunion(Connection conn) throws SQLException {
+        String[] estados = {"Pendiente", "Confirmada", "Rechazada"};
+
+        try (InsercionMultiple solicitudes = new InsercionMultiple(conn, "solicitud_reunion",
+                "idSolicitud", "idUsuarioSolicitante", "idCurso", "motivo", "disponibilidad", "estado",
+                "fechaSolicitud", "fechaReunionConfirmada", "horaReunionConfirmada");
+             InsercionMultiple participantes = new InsercionMultiple(conn, "solicitud_estudiante",
+                "idSolicitud", "idEstudiante")) {
+
+            for (int s = 1; s <= escala.getSolicitudesReunion(); s++) {
+                int curso = aleatorio.nextInt(escala.getCursos());
+                int posicion = aleatorio.nextInt(getMateriasPorCurso());
+                String estado = estados[aleatorio.nextInt(estados.length)];
+                LocalDate fechaSolicitud = dias.get(aleatorio.nextInt(dias.size()));
+                boolean confirmada = estado.equals("Confirmada");
+
+                solicitudes.agregar(s, getIdDocenteDeMateria(curso + 1, posicion), curso + 1, elegir(MOTIVOS_REUNION),
+                        "Lunes a viernes por la mañana", estado, Date.valueOf(fechaSolicitud),
+                        confirmada ? Date.valueOf(fechaSolicitud.plusDays(7)) : null,
+                        confirmada ? Time.valueOf("10:00:00") : null);
+
+                // Entre uno y tres estudiantes distintos del curso
+                int cantidad = Math.min(1 + aleatorio.nextInt(3), cantidadEstudiantes[curso]);
+                int desde = aleatorio.nextInt(cantidadEstudiantes[curso]);
+                for (int i = 0; i < cantidad; i++) {
+                    participantes.agregar(s, primerEstudiante[curso] + (desde + i) % cantidadEstudiantes[curso]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Completa la bitácora con observaciones pedagógicas hasta llegar a la cantidad de eventos pedida.
+     */
+    private void generarObservaciones(Connection conn) throws SQLException {
+        try (InsercionMultiple bitacora = nuevaInsercionBitacora(conn)) {
+            while (eventosBitacora < escala.getEventosBitacora()) {
+                int curso = aleatorio.nextInt(escala.getCursos());
+                int posicion = aleatorio.nextInt(getMateriasPorCurso());
+                int idEstudiante = primerEstudiante[curso] + aleatorio.nextInt(cantidadEstudiantes[curso]);
+                int idDocente = getIdDocenteDeMateria(curso + 1, posicion);
+
+                agregarEventoBitacora(bitacora, idEstudiante, curso + 1, materiasDeCurso[curso][posicion], idDocente, idDocente,
+                        momento(dias.get(aleatorio.nextInt(dias.size()))), "Observación", "Observación pedagógica",
+                        elegir(OBSERVACIONES));
+            }
+        }
+    }
+
+    // ==========================
+    // Auxiliares
+    // ==========================
+
+    private InsercionMultiple nuevaInsercionBitacora(Connection conn) throws SQLException {
+        return new InsercionMultiple(conn, "bitacora",
+                "idEstudiante", "idCurso", "idMateria", "idDocente", "idUsuario", "fecha", "motivo", "tipoEvento", "descripcion");
+    }
+
+    private void agregarEventoBitacora(InsercionMultiple bitacora, int idEstudiante, Integer idCurso, Integer idMateria,
+                                       Integer idDocente, Integer idUsuario, Timestamp fecha, String motivo,
+                                       String tipoEvento, String descripcion) throws SQLException {
+        bitacora.agregar(idEstudiante, idCurso, idMateria, idDocente, idUsuario, fecha, motivo, tipoEvento, descripcion);
+        eventosBitacora++;
+    }
+
+    private String estadoAsistencia(double ausentismo) {
+        double valor = aleatorio.nextDouble();
+        if (valor >= ausentismo) {
+            return "Presente";
+        }
+        // De las ausencias: 65% sin justificar, 30% justificadas, 5% retiros
+        double tipo = aleatorio.nextDouble();
+        if (tipo < 0.65) {
+            return "Ausente";
+        }
+        return tipo < 0.95 ? "Ausente Justificado" : "Retirado";
+    }
+
+    private String nota(boolean conceptual) {
+        if (aleatorio.nextInt(40) == 0) {
+            return aleatorio.nextBoolean() ? "Ausente" : "NE";
+        }
+        if (conceptual) {
+            return NOTAS_CONCEPTUALES[Math.min(4, Math.max(0, (int) Math.round(2.3 + aleatorio.nextGaussian())))];
+        }
+        // Notas numéricas alrededor de 7
+        return String.valueOf(Math.min(10, Math.max(1, (int) Math.round(7 + 1.6 * aleatorio.nextGaussian()))));
+    }
+
+    /** @return un momento del horario escolar (de 7:30 a 13:30) del día indicado */
+    private Timestamp momento(LocalDate dia) {
+        return Timestamp.valueOf(LocalDateTime.of(dia, LocalTime.of(7, 30)).plusSeconds(aleatorio.nextInt(6 * 3600)));
+    }
+
+    private String telefono() {
+        return "11" + (40_000_000 + aleatorio.nextInt(60_000_000));
+    }
+
+    private String elegir(String[] opciones) {
+        return opciones[aleatorio.nextInt(opciones.length)];
+    }
+
+    /**
+     * Acumula filas de una tabla y las inserta de a {@link #FILAS_POR_SENTENCIA} en una sola
+     * sentencia INSERT de varias filas, confirmando cada sentencia. Al cerrarse inserta las restantes.
+     */
+    private class InsercionMultiple implements AutoCloseable {
+
+        private final Connection conn;
+        private final String tabla;
+        private final String[] columnas;
+        private final List<Object[]> filas = new ArrayList<>(FILAS_POR_SENTENCIA);
+        private PreparedStatement sentenciaCompleta;
+
+        InsercionMultiple(Connection conn, String tabla, String... columnas) {
+            this.conn = conn;
+            this.tabla = tabla;
+            this.columnas = columnas;
+        }
+
+        void agregar(Object... valores) throws SQLException {
+            filas.add(valores);
+            if (filas.size() == FILAS_POR_SENTENCIA) {
+                if (sentenciaCompleta == null) {
+                    sentenciaCompleta = conn.prepareStatement(armarSQL(FILAS_POR_SENTENCIA));
+                }
+                ejecutar(sentenciaCompleta);
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (!filas.isEmpty()) {
+                    try (PreparedStatement resto = conn.prepareStatement(armarSQL(filas.size()))) {
+                        ejecutar(resto);
+                    }
+                }
+            } finally {
+                if (sentenciaCompleta != null) {
+                    sentenciaCompleta.close();
+                }
+            }
+        }
+
+        private void ejecutar(PreparedStatement ps) throws SQLException {
+            int indice = 1;
+            for (Object[] fila : filas) {
+                for (Object valor : fila) {
+                    ps.setObject(indice++, valor);
+                }
+            }
+            ps.executeUpdate();
+            conn.commit();
+            filasInsertadas += filas.size();
+            filas.clear();
+        }
+
+        private String armarSQL(int cantidadFilas) {
+            String fila = "(" + "?, ".repeat(columnas.length - 1) + "?)";
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(tabla)
+                    .append(" (").append(String.join(", ", columnas)).append(") VALUES ");
+            for (int i = 0; i < cantidadFilas; i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(fila);
+            }
+            return sql.toString();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package benchmark;
+
+import conexion.conexionBD;
+import controlador.ControladorAsistencia;
+import controlador.ControladorBitacora;
+import controlador.ControladorConsulta;
+import controlador.ControladorUsuario;
+import modelo.AsistenciaDelDia;
+import modelo.Curso;
+import modelo.EstadoAsistencia;
+import modelo.Estudiante;
+import modelo.Materia;
+import modelo.PaginaBitacora;
+import modelo.Usuario;
+import util.HistogramaLatencia;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulador de carga sin interfaz gráfica: reproduce en paralelo lo que hacen preceptores,
+ * docentes y directivos desde sus ventanas, llamando directamente a los controladores.
+ *
+ * Escenarios (cada usuario simulado los repite hasta que termina la prueba):
+ * - Preceptor (VentanaTomarAsistenciaPreceptor): lista de cursos, estudiantes del curso y
+ *   registro de la asistencia general.
+ * - Docente (VentanaRegistrarAsistencia): cursos del docente, materias del curso, estudiantes
+ *   y registro de la asistencia por materia.
+ *
+ * Las tomas de asistencia no se repiten para el mismo día: cada vuelta de un preceptor por sus
+ * cursos, y cada toma de un docente, usa el día anterior a la previa, como si se cargaran
+ * asistencias atrasadas.
+ * - Directivo (VentanaVerAsistenciasPorCurso y VentanaBitacoraGeneral): asistencias de un
+ *   curso con sus detalles y las primeras páginas de la bitácora general.
+ *
+ * Cada usuario corre en su propio hilo virtual si la JVM los tiene (Java 21 o posterior);
+ * si no, en un hilo de plataforma. Al final informa por método del controlador la cantidad
+ * de llamadas, la latencia p50/p95/p99, las llamadas por segundo y los errores.
+ *
+ * Configuración (propiedades del sistema):
+ * - sige.carga.duracionSeg: duración de la prueba (60)
+ * - sige.carga.rampaSeg: los usuarios arrancan repartidos en este intervalo (10)
+ * - sige.carga.pausaMs: pausa máxima entre pasos de un usuario, el tiempo de "leer la pantalla" (500)
+ * - sige.carga.preceptores / docentes / directivos: usuarios simulados de cada rol
+ *   (por defecto, todos los que tiene el conjunto de datos)
+ * - sige.datos.*: semilla y escala de los datos; si se indica sige.bd.url se usa esa base,
+ *   que debe estar cargada con la misma semilla y escala, en lugar de la base embebida.
+ *
+ * @author Yonatan
+ */
+public class SimuladorCarga {
+
+    private static final long SEMILLA = Long.getLong("sige.datos.semilla", 42L);
+    private static final int DURACION_SEG = Integer.getInteger("sige.carga.duracionSeg", 60);
+    private static final int RAMPA_SEG = Integer.getInteger("sige.carga.rampaSeg", 10);
+    private static final int PAUSA_MS = Integer.getInteger("sige.carga.pausaMs", 500);
+
+    private final GeneradorDatosEscolares datos;
+    private final Map<String, HistogramaLatencia> latencias = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errores = new ConcurrentHashMap<>();
+    private volatile boolean enCurso = true;
+
+    public SimuladorCarga(GeneradorDatosEscolares datos) {
+        this.datos = datos;
+    }
+
+    public static void main(String[] args) throws Exception {
+        GeneradorDatosEscolares.Escala escala = new GeneradorDatosEscolares.Escala();
+        GeneradorDatosEscolares datos;
+
+        if (System.getProperty("sige.bd.url") == null) {
+            System.out.println("Cargando base embebida: " + escala);
+            BaseEmbebida base = new BaseEmbebida("sige_carga");
+            base.iniciar();
+            datos = base.cargarDatos(SEMILLA, escala);
+        } else {
+            datos = new GeneradorDatosEscolares(SEMILLA, escala);
+        }
+
+        SimuladorCarga simulador = new SimuladorCarga(datos);
+        simulador.ejecutar(
+                Integer.getInteger("sige.carga.preceptores", escala.getPreceptores()),
+                Integer.getInteger("sige.carga.docentes", escala.getDocentes()),
+                Integer.getInteger("sige.carga.directivos", escala.getDirectivos()));
+        System.out.println(simulador.informe());
+
+        conexionBD.cerrarPool();
+    }
+
+    /**
+     * Ejecuta la prueba con la cantidad de usuarios indicada de cada rol. Si se piden más
+     * usuarios que los del conjunto de datos, varios usuarios simulados comparten la misma cuenta.
+     */
+    public void ejecutar(int preceptores, int docentes, int directivos) throws InterruptedException {
+        List<Runnable> usuarios = new ArrayList<>();
+        GeneradorDatosEscolares.Escala escala = datos.getEscala();
+        for (int i = 0; i < preceptores; i++) {
+            int idUsuario = i % escala.getPreceptores() + 1;
+            usuarios.add(() -> escenarioPreceptor(idUsuario, new Random(SEMILLA + idUsuario)));
+        }
+        for (int i = 0; i < docentes; i++) {
+            int idUsuario = datos.getIdDocente(i % escala.getDocentes());
+            usuarios.add(() -> escenarioDocente(idUsuario, new Random(SEMILLA + idUsuario)));
+        }
+        for (int i = 0; i < directivos; i++) {
+            int idUsuario = datos.getIdDirectivo(i % escala.getDirectivos());
+            usuarios.add(() -> escenarioDirectivo(idUsuario, new Random(SEMILLA + idUsuario)));
+        }
+
+        ExecutorService ejecutor = crearEjecutor(usuarios.size());
+        System.out.println("Simulando " + usuarios.size() + " usuarios durante " + DURACION_SEG + " s ("
+                + preceptores + " preceptores, " + docentes + " docentes, " + directivos + " directivos)");
+
+        Random arranque = new Random(SEMILLA);
+        for (Runnable usuario : usuarios) {
+            long demoraMs = RAMPA_SEG > 0 ? arranque.nextInt(RAMPA_SEG * 1000) : 0;
+            ejecutor.execute(() -> {
+                if (dormir(demoraMs)) {
+                    usuario.run();
+                }
+            });
+        }
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(DURACION_SEG));
+        enCurso = false;
+        ejecutor.shutdown();
+        if (!ejecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+            System.err.println("Error al terminar la simulación: quedaron usuarios sin finalizar.");
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return tabla con cantidad de llamadas, latencias, llamadas por segundo y errores de cada método
+     */
+    public String informe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-45s %8s %9s %9s %9s %9s %8s %7s%n",
+                "Método", "Llamadas", "p50 ms", "p95 ms", "p99 ms", "Máx ms", "Llam/s", "Errores"));
+
+        for (Map.Entry<String, HistogramaLatencia> entrada : new TreeMap<>(latencias).entrySet()) {
+            HistogramaLatencia h = entrada.getValue();
+            long cantidad = h.getCantidad();
+            long fallidas = errores.getOrDefault(entrada.getKey(), new LongAdder()).sum();
+            sb.append(String.format("%-45s %8d %9.2f %9.2f %9.2f %9.2f %8.1f %6.2f%%%n",
+                    entrada.getKey(), cantidad,
+                    h.percentil(50) / 1000.0, h.percentil(95) / 1000.0, h.percentil(99) / 1000.0,
+                    h.getMaximoMicros() / 1000.0, cantidad / (double) DURACION_SEG,
+                    cantidad == 0 ? 0.0 : 100.0 * fallidas / cantidad));
+        }
+        return sb.toString();
+    }
+
+    // ==========================
+    // Escenarios por rol
+    // ==========================
+
+    private void escenarioPreceptor(int idUsuario, Random aleatorio) {
+        ControladorConsulta consulta = new ControladorConsulta();
+        ControladorAsistencia asistencia = new ControladorAsistencia();
+        Usuario usuario = iniciarSesion(idUsuario);
+        if (usuario == null) {
+            return;
+        }
+
+        // Cursos a cargo del preceptor
+        List<Integer> cursosPropios = new ArrayList<>();
+        for (int idCurso = 1; idCurso <= datos.getEscala().getCursos(); idCurso++) {
+            if (datos.getIdPreceptor(idCurso) == idUsuario) {
+                cursosPropios.add(idCurso);
+            }
+        }
+
+        int turno = 0;
+        while (enCurso && !cursosPropios.isEmpty()) {
+            medir("ControladorConsulta.obtenerCursos", consulta::obtenerCursos);
+            int idCurso = cursosPropios.get(turno % cursosPropios.size());
+            // Una vuelta completa por los cursos corresponde a un día
+            LocalDate fecha = LocalDate.now().minusDays(turno / cursosPropios.size());
+            turno++;
+            pausa(aleatorio);
+
+            List<Estudiante> estudiantes = medir("ControladorConsulta.obtenerEstudiantesPorCurso",
+                    () -> consulta.obtenerEstudiantesPorCurso(idCurso));
+            if (estudiantes == null) {
+                continue;
+            }
+            AsistenciaDelDia estados = estadosAleatorios(estudiantes, aleatorio);
+            pausa(aleatorio);
+
+            String metodo = "ControladorAsistencia.registrarAsistencia";
+            Boolean exito = medir(metodo, () -> asistencia.registrarAsistencia(usuario, idCurso, fecha, estados));
+            if (!Boolean.TRUE.equals(exito)) {
+                registrarError(metodo);
+            }
+            pausa(aleatorio);
+        }
+    }
+
+    private void escenarioDocente(int idUsuario, Random aleatorio) {
+        ControladorConsulta consulta = new ControladorConsulta();
+        Usuario usuario = iniciarSesion(idUsuario);
+        if (usuario == null) {
+            return;
+        }
+
+        int tomas = 0;
+        while (enCurso) {
+            List<Curso> cursos = medir("ControladorConsulta.obtenerCursosPorDocente",
+                    () -> consulta.obtenerCursosPorDocente(idUsuario));
+            if (cursos == null || cursos.isEmpty()) {
+                return;
+            }
+            Curso curso = cursos.get(aleatorio.nextInt(cursos.size()));
+            pausa(aleatorio);
+
+            List<Materia> materias = medir("ControladorConsulta.obtenerMateriasPorDocenteYCurso",
+                    () -> consulta.obtenerMateriasPorDocenteYCurso(idUsuario, curso.getIdCurso()));
+            List<Estudiante> estudiantes = medir("ControladorConsulta.obtenerEstudiantesPorCurso",
+                    () -> consulta.obtenerEstudiantesPorCurso(curso.getIdCurso()));
+            if (materias == null || materias.isEmpty() || estudiantes == null) {
+                continue;
+            }
+            Materia materia = materias.get(aleatorio.nextInt(materias.size()));
+            AsistenciaDelDia estados = estadosAleatorios(estudiantes, aleatorio);
+            pausa(aleatorio);
+
+            LocalDate fecha = LocalDate.now().minusDays(tomas++);
+            String metodo = "ControladorAsistencia.guardarAsistenciaPorMateria";
+            Boolean exito = medir(metodo, () -> ControladorAsistencia.guardarAsistenciaPorMateria(
+                    idUsuario, curso.getIdCurso(), materia.getIdMateria(), fecha, estados));
+            if (!Boolean.TRUE.equals(exito)) {
+                registrarError(metodo);
+            }
+            pausa(aleatorio);
+        }
+    }
+
+    private void escenarioDirectivo(int idUsuario, Random aleatorio) {
+        ControladorConsulta consulta = new ControladorConsulta();
+        ControladorAsistencia asistencia = new ControladorAsistencia();
+        ControladorBitacora bitacora = new ControladorBitacora();
+        if (iniciarSesion(idUsuario) == null) {
+            return;
+        }
+
+        while (enCurso) {
+            List<Curso> cursos = medir("ControladorConsulta.obtenerCursos", consulta::obtenerCursos);
+            if (cursos == null || cursos.isEmpty()) {
+                return;
+            }
+            int idCurso = cursos.get(aleatorio.nextInt(cursos.size())).getIdCurso();
+            pausa(aleatorio);
+
+            medir("ControladorAsistencia.obtenerAsistenciasConDetallesPorCurso",
+                    () -> asistencia.obtenerAsistenciasConDetallesPorCurso(idCurso));
+            pausa(aleatorio);
+
+            // Bitácora general: primera página y, a veces, la siguiente
+            PaginaBitacora pagina = medir("ControladorBitacora.obtenerBitacoraPagina",
+                    () -> bitacora.obtenerBitacoraPagina(null, 0, 100));
+            if (pagina != null && pagina.isHayMas() && aleatorio.nextBoolean()) {
+                pausa(aleatorio);
+                medir("ControladorBitacora.obtenerBitacoraPagina",
+                        () -> bitacora.obtenerBitacoraPagina(pagina.getUltimaFecha(), pagina.getUltimoId(), 100));
+            }
+            pausa(aleatorio);
+        }
+    }
+
+    // ==========================
+    // Auxiliares
+    // ==========================
+
+    private Usuario iniciarSesion(int idUsuario) {
+        String metodo = "ControladorUsuario.autenticarUsuario";
+        Usuario usuario = medir(metodo,
+                () -> ControladorUsuario.autenticarUsuario(datos.getEmail(idUsuario), datos.getContrasenia(idUsuario)));
+        if (usuario == null) {
+            registrarError(metodo);
+        }
+        return usuario;
+    }
+
+    /**
+     * Ejecuta una llamada y registra su duración. Si lanza una excepción se cuenta como error.
+     *
+     * @return el resultado de la llamada, o null si falló
+     */
+    private <T> T medir(String metodo, Callable<T> llamada) {
+        long inicio = System.nanoTime();
+        try {
+            return llamada.call();
+        } catch (Exception e) {
+            registrarError(metodo);
+            return null;
+        } finally {
+            latencias.computeIfAbsent(metodo, m -> new HistogramaLatencia()).registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    private void registrarError(String metodo) {
+        errores.computeIfAbsent(metodo, m -> new LongAdder()).increment();
+    }
+
+    private AsistenciaDelDia estadosAleatorios(List<Estudiante> estudiantes, Random aleatorio) {
+        AsistenciaDelDia estados = new AsistenciaDelDia(estudiantes.size());
+        for (Estudiante estudiante : estudiantes) {
+            int valor = aleatorio.nextInt(100);
+            EstadoAsistencia estado = valor < 90 ? EstadoAsistencia.PRESENTE
+                    : valor < 96 ? EstadoAsistencia.AUSENTE
+                    : valor < 99 ? EstadoAsistencia.AUSENTE_JUSTIFICADO : EstadoAsistencia.RETIRADO;
+            estados.poner(estudiante.getIdEstudiante(), estado);
+        }
+        return estados;
+    }
+
+    private void pausa(Random aleatorio) {
+        if (PAUSA_MS > 0) {
+            dormir(aleatorio.nextInt(PAUSA_MS));
+        }
+    }
+
+    /** @return false si el hilo fue interrumpido */
+    private static boolean dormir(long ms) {
+        try {
+            Thread.sleep(ms);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Usa un hilo virtual por tarea si la JVM los tiene (Java 21 o posterior); si no,
+     * un hilo de plataforma por usuario simulado.
+     */
+    private static ExecutorService crearEjecutor(int usuarios) {
+        try {
+            Method virtuales = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            System.out.println("Usando hilos virtuales.");
+            return (ExecutorService) virtuales.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.out.println("Esta JVM no tiene hilos virtuales; se usan " + usuarios + " hilos de plataforma.");
+            return Executors.newFixedThreadPool(Math.max(1, usuarios));
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package conexion;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de sentencias preparadas de una conexión física del pool.
+ * Las sentencias se guardan por texto SQL y se desalojan por LRU al superar la capacidad.
+ *
+ * Cuando un controlador vuelve a preparar el mismo SQL sobre una conexión que ya lo
+ * preparó antes, se reutiliza la sentencia existente y se evita el análisis y la
+ * planificación en el servidor. Los contadores de aciertos y fallos son globales
+ * para poder evaluar el cache de todos los controladores en conjunto.
+ *
+ * @author Yonatan
+ */
+public class CacheSentencias {
+
+    private static final AtomicLong ACIERTOS = new AtomicLong();
+    private static final AtomicLong FALLOS = new AtomicLong();
+    private static final AtomicLong DESALOJOS = new AtomicLong();
+
+    private final Connection conexion;
+    private final Map<String, SentenciaCacheada> sentencias;
+
+    /**
+     * @param conexion conexión física dueña de las sentencias
+     * @param capacidad cantidad máxima de sentencias guardadas
+     */
+    public CacheSentencias(Connection conexion, int capacidad) {
+        this.conexion = conexion;
+        this.sentencias = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SentenciaCacheada> mayor) {
+                if (size() > capacidad) {
+                    DESALOJOS.incrementAndGet();
+                    mayor.getValue().desalojar();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Devuelve una sentencia preparada para el SQL indicado, reutilizando la del cache si está libre.
+     * La sentencia devuelta se puede cerrar normalmente: al cerrarla vuelve al cache.
+     *
+     * @param sql texto SQL
+     * @param clavesGeneradas Statement.RETURN_GENERATED_KEYS o Statement.NO_GENERATED_KEYS
+     * @param conexionLogica conexión que verá el llamador en getConnection()
+     * @return sentencia lista para cargar parámetros
+     * @throws SQLException si el driver no pudo preparar la sentencia
+     */
+    public synchronized PreparedStatement preparar(String sql, int clavesGeneradas, Connection conexionLogica)
+            throws SQLException {
+        String clave = clavesGeneradas + "|" + sql;
+        SentenciaCacheada cacheada = sentencias.get(clave);
+
+        if (cacheada != null && !cacheada.enUso) {
+            ACIERTOS.incrementAndGet();
+        } else if (cacheada == null) {
+            FALLOS.incrementAndGet();
+            cacheada = new SentenciaCacheada(conexion.prepareStatement(sql, clavesGeneradas));
+            sentencias.put(clave, cacheada);
+        } else {
+            // La misma sentencia ya está abierta en esta conexión: se usa una aparte, sin cache
+            FALLOS.incrementAndGet();
+            return conexion.prepareStatement(sql, clavesGeneradas);
+        }
+
+        cacheada.enUso = true;
+        return cacheada.entregar(conexionLogica);
+    }
+
+    /**
+     * Cierra todas las sentencias físicas del cache.
+     */
+    public synchronized void cerrar() {
+        for (SentenciaCacheada cacheada : sentencias.values()) {
+            cacheada.desalojar();
+        }
+        sentencias.clear();
+    }
+
+    /** @return cantidad de sentencias guardadas en este cache */
+    public synchronized int getTamanio() {
+        return sentencias.size();
+    }
+
+    // ===================== ESTADÍSTICAS GLOBALES =====================
+
+    /** @return veces que se reutilizó una sentencia ya preparada */
+    public static long getAciertos() {
+        return ACIERTOS.get();
+    }
+
+    /** @return veces que hubo que preparar una sentencia nueva */
+    public static long getFallos() {
+        return FALLOS.get();
+    }
+
+    /** @return sentencias descartadas por superar la capacidad del cache */
+    public static long getDesalojos() {
+        return DESALOJOS.get();
+    }
+
+    /** @return proporción de aciertos sobre el total de pedidos (0 si no hubo pedidos) */
+    public static double getTasaAciertos() {
+        long aciertos = ACIERTOS.get();
+        long total = aciertos + FALLOS.get();
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+
+    /**
+     * Sentencia física guardada en el cache, con su estado de uso.
+     */
+    private class SentenciaCacheada {
+
+        private final PreparedStatement fisica;
+        private boolean enUso;
+        private boolean desalojada;
+
+        SentenciaCacheada(PreparedStatement fisica) {
+            this.fisica = fisica;
+        }
+
+        PreparedStatement entregar(Connection conexionLogica) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new ManejadorSentencia(this, conexionLogica));
+        }
+
+        /** Llamado cuando el controlador cierra la sentencia. */
+        void liberar(List<ResultSet> resultados) {
+            for (ResultSet rs : resultados) {
+                try {
+                    rs.close();
+                } catch (SQLException ignored) {
+                    // El resultado ya no se usa; un error al cerrarlo no afecta al resto
+                }
+            }
+            synchronized (CacheSentencias.this) {
+                enUso = false;
+                if (desalojada) {
+                    cerrarFisica();
+                    return;
+                }
+                try {
+                    fisica.clearParameters();
+                    fisica.clearBatch();
+                } catch (SQLException e) {
+                    // Si no se puede limpiar, se quita del cache
+                    sentencias.values().remove(this);
+                    cerrarFisica();
+                }
+            }
+        }
+
+        /** Llamado cuando la sentencia sale del cache (LRU o cierre de la conexión). */
+        void desalojar() {
+            desalojada = true;
+            if (!enUso) {
+                cerrarFisica();
+            }
+        }
+
+        private void cerrarFisica() {
+            try {
+                fisica.close();
+            } catch (SQLException e) {
+                System.err.println("Error al cerrar una sentencia del cache: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Envoltorio entregado al controlador: close() devuelve la sentencia al cache
+     * en lugar de cerrarla, y los ResultSet abiertos se cierran en ese momento.
+     */
+    private static class ManejadorSentencia implements InvocationHandler {
+
+        private final SentenciaCacheada cacheada;
+        private final Connection conexionLogica;
+        private final List<ResultSet> resultados = new ArrayList<>();
+        private boolean cerrada;
+
+        ManejadorSentencia(SentenciaCacheada cacheada, Connection conexionLogica) {
+            this.cacheada = cacheada;
+            this.conexionLogica = conexionLogica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (!cerrada) {
+                        cerrada = true;
+                        cacheada.liberar(resultados);
+                    }
+                    return null;
+                case "isClosed":
+                    return cerrada;
+                case "getConnection":
+                    return conexionLogica;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SentenciaCacheada[" + cacheada.fisica + "]";
+                default:
+                    break;
+            }
+
+            if (cerrada) {
+                throw new SQLException("La sentencia ya fue cerrada.");
+            }
+
+            try {
+                Object resultado = metodo.invoke(cacheada.fisica, args);
+                if (resultado instanceof ResultSet) {
+                    resultados.add((ResultSet) resultado);
+                }
+                return resultado;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Indica si el método de Connection invocado es un prepareStatement que el cache sabe atender:
+     * prepareStatement(String) o prepareStatement(String, int autoGeneratedKeys).
+     *
+     * @param metodo método invocado sobre la conexión
+     * @return true si puede resolverse con el cache
+     */
+    static boolean esPreparacionCacheable(Method metodo) {
+        if (!metodo.getName().equals("prepareStatement")) {
+            return false;
+        }
+        Class<?>[] tipos = metodo.getParameterTypes();
+        return tipos.length == 1
+                || (tipos.length == 2 && tipos[1] == int.class);
+    }
+
+    /**
+     * @param args argumentos de prepareStatement
+     * @return el modo de claves generadas pedido por el llamador
+     */
+    static int clavesGeneradas(Object[] args) {
+        return args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+    }
+}
@@ -0,0 +1,99 @@
+package conexion;
+
+import util.HistogramaLatencia;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estadísticas acumuladas de una consulta SQL, identificada por su huella
+ * (el texto SQL normalizado, sin valores literales).
+ *
+ * Se actualiza desde las sentencias instrumentadas de {@link MetricasBD} y se expone por JMX.
+ *
+ * @author Yonatan
+ */
+public class MetricaConsulta {
+
+    private final String sql;
+    private final HistogramaLatencia latencia = new HistogramaLatencia();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder filasLeidas = new LongAdder();
+    private final LongAdder filasAfectadas = new LongAdder();
+
+    MetricaConsulta(String sql) {
+        this.sql = sql;
+    }
+
+    void registrarEjecucion(long nanos) {
+        latencia.registrar(nanos);
+    }
+
+    void registrarError() {
+        errores.increment();
+    }
+
+    void sumarFilaLeida() {
+        filasLeidas.increment();
+    }
+
+    void sumarFilasAfectadas(long filas) {
+        if (filas > 0) {
+            filasAfectadas.add(filas);
+        }
+    }
+
+    void reiniciar() {
+        latencia.reiniciar();
+        errores.reset();
+        filasLeidas.reset();
+        filasAfectadas.reset();
+    }
+
+    /** @return huella de la consulta */
+    public String getSql() {
+        return sql;
+    }
+
+    public long getEjecuciones() {
+        return latencia.getCantidad();
+    }
+
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    /** @return filas recorridas en los ResultSet de la consulta */
+    public long getFilasLeidas() {
+        return filasLeidas.sum();
+    }
+
+    /** @return filas insertadas, modificadas o borradas */
+    public long getFilasAfectadas() {
+        return filasAfectadas.sum();
+    }
+
+    /** @return tiempo total aproximado de todas las ejecuciones, en milisegundos */
+    public double getTiempoTotalMs() {
+        return latencia.getPromedioMicros() * latencia.getCantidad() / 1000.0;
+    }
+
+    public double getPromedioMs() {
+        return latencia.getPromedioMicros() / 1000.0;
+    }
+
+    public double getP50Ms() {
+        return latencia.percentil(50) / 1000.0;
+    }
+
+    public double getP95Ms() {
+        return latencia.percentil(95) / 1000.0;
+    }
+
+    public double getP99Ms() {
+        return latencia.percentil(99) / 1000.0;
+    }
+
+    public double getMaximoMs() {
+        return latencia.getMaximoMicros() / 1000.0;
+    }
+}
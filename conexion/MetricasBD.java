@@ -0,0 +1,500 @@
+package conexion;
+
+import util.HistogramaLatencia;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Registro de métricas de acceso a la base de datos.
+ *
+ * Las sentencias que entrega el pool se envuelven para medir cada ejecución: latencia,
+ * filas leídas o afectadas y errores, agrupados por huella de la consulta (el SQL sin
+ * valores literales ni espacios de más). El pool registra además el tiempo que cada
+ * pedido esperó una conexión y los pedidos que fallaron.
+ *
+ * Las métricas se publican por JMX (sige:type=MetricasBD); si se pide, se escribe además en la
+ * consola un resumen periódico con las consultas que más tiempo consumen. Las ejecuciones que superan un umbral
+ * se informan además en {@link RegistroConsultasLentas}.
+ *
+ * Los caches del sistema (datos de referencia, nóminas, perfiles) se anotan con {@link #registrarCache}
+ * y sus aciertos se publican en el mismo MBean y en el resumen, junto a los de la base.
+ *
+ * Configuración (propiedades del sistema):
+ * - sige.metricas.activas: false desactiva la instrumentación (true)
+ * - sige.metricas.intervaloSeg: cada cuánto se escribe el resumen; 0 lo desactiva (0)
+ * - sige.metricas.top: cantidad de consultas del resumen (10)
+ * - sige.metricas.maximoConsultas: huellas distintas que se guardan; las demás se suman juntas (500)
+ *
+ * @author Yonatan
+ */
+public class MetricasBD implements MetricasBDMXBean {
+
+    private static final boolean ACTIVAS = Boolean.parseBoolean(System.getProperty("sige.metricas.activas", "true"));
+    private static final long INTERVALO_INFORME_SEG = Long.getLong("sige.metricas.intervaloSeg", 0L);
+    private static final int CONSULTAS_EN_INFORME = Integer.getInteger("sige.metricas.top", 10);
+    private static final int MAXIMO_CONSULTAS = Integer.getInteger("sige.metricas.maximoConsultas", 500);
+    private static final String OTRAS_CONSULTAS = "(otras consultas)";
+
+    private static final Pattern TEXTO = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern NUMERO = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+    private static final Pattern LISTA = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern FILAS = Pattern.compile("\\(\\?, \\.\\.\\.\\)(?:\\s*,\\s*\\(\\?, \\.\\.\\.\\))+");
+
+    private static final MetricasBD INSTANCIA = new MetricasBD();
+
+    private final Map<String, MetricaConsulta> consultas = new ConcurrentHashMap<>();
+    // Huella ya calculada de cada texto SQL (los controladores repiten siempre los mismos)
+    private final Map<String, String> huellas = new ConcurrentHashMap<>();
+    private final HistogramaLatencia esperaConexion = new HistogramaLatencia();
+    private final LongAdder fallosConexion = new LongAdder();
+    // Resumen de estadísticas de cada cache, por nombre
+    private final Map<String, Supplier<String>> caches = new ConcurrentHashMap<>();
+
+    private MetricasBD() {
+        if (!ACTIVAS) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("sige:type=MetricasBD"));
+        } catch (Exception e) {
+            System.err.println("Error al publicar las métricas por JMX: " + e.getMessage());
+        }
+        if (INTERVALO_INFORME_SEG > 0) {
+            ScheduledExecutorService informes = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "sige-metricas");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            informes.scheduleAtFixedRate(this::escribirInforme, INTERVALO_INFORME_SEG, INTERVALO_INFORME_SEG, TimeUnit.SECONDS);
+        }
+    }
+
+    /** @return el registro de métricas del sistema */
+    public static MetricasBD getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Publica las estadísticas de un cache en el MBean y en el resumen.
+     *
+     * @param nombre nombre con el que se muestra
+     * @param resumen devuelve las estadísticas del cache en una línea
+     */
+    public static void registrarCache(String nombre, Supplier<String> resumen) {
+        INSTANCIA.caches.put(nombre, resumen);
+    }
+
+    /** @return true si la instrumentación está activa */
+    public static boolean estanActivas() {
+        return ACTIVAS;
+    }
+
+    // ===================== REGISTRO =====================
+
+    /**
+     * Envuelve una sentencia para medir sus ejecuciones.
+     *
+     * @param sentencia sentencia entregada por la conexión
+     * @param sql SQL con el que se preparó, o null si es un Statement simple (el SQL llega en execute)
+     * @return sentencia instrumentada del mismo tipo que la original
+     */
+    static Statement instrumentar(Statement sentencia, String sql) {
+        Class<?> tipo = sentencia instanceof CallableStatement ? CallableStatement.class
+                : sentencia instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{tipo},
+                new ManejadorSentencia(sentencia, sql));
+    }
+
+    void registrarEsperaConexion(long nanos) {
+        esperaConexion.registrar(nanos);
+    }
+
+    void registrarFalloConexion() {
+        fallosConexion.increment();
+    }
+
+    /**
+     * @return métrica de la consulta, creada en el primer uso
+     */
+    MetricaConsulta metricaDe(String sql) {
+        String huella = huellas.get(sql);
+        if (huella == null) {
+            huella = huella(sql);
+            if (huellas.size() < MAXIMO_CONSULTAS * 4) {
+                huellas.put(sql, huella);
+            }
+        }
+        MetricaConsulta metrica = consultas.get(huella);
+        if (metrica != null) {
+            return metrica;
+        }
+        if (consultas.size() >= MAXIMO_CONSULTAS) {
+            huella = OTRAS_CONSULTAS;
+        }
+        return consultas.computeIfAbsent(huella, MetricaConsulta::new);
+    }
+
+    /**
+     * Normaliza un texto SQL: reemplaza textos y números literales por ?, unifica los espacios
+     * y resume las listas de parámetros (IN y VALUES de varias filas).
+     *
+     * @param sql texto SQL
+     * @return huella de la consulta
+     */
+    static String huella(String sql) {
+        String resultado = TEXTO.matcher(sql).replaceAll("?");
+        resultado = NUMERO.matcher(resultado).replaceAll("?");
+        resultado = ESPACIOS.matcher(resultado).replaceAll(" ").trim();
+        resultado = LISTA.matcher(resultado).replaceAll("(?, ...)");
+        return FILAS.matcher(resultado).replaceAll("(?, ...), ...");
+    }
+
+    // ===================== CONSULTA =====================
+
+    @Override
+    public List<MetricaConsulta> getConsultas() {
+        List<MetricaConsulta> lista = new ArrayList<>(consultas.values());
+        lista.sort(Comparator.comparingDouble(MetricaConsulta::getTiempoTotalMs).reversed());
+        return lista;
+    }
+
+    @Override
+    public long getConexionesEntregadas() {
+        return esperaConexion.getCantidad();
+    }
+
+    @Override
+    public long getFallosConexion() {
+        return fallosConexion.sum();
+    }
+
+    @Override
+    public double getEsperaConexionP50Ms() {
+        return esperaConexion.percentil(50) / 1000.0;
+    }
+
+    @Override
+    public double getEsperaConexionP99Ms() {
+        return esperaConexion.percentil(99) / 1000.0;
+    }
+
+    @Override
+    public double getEsperaConexionMaximaMs() {
+        return esperaConexion.getMaximoMicros() / 1000.0;
+    }
+
+    @Override
+    public int getConexionesEnUso() {
+        PoolConexiones pool = conexionBD.poolActual();
+        return pool == null ? 0 : pool.getConexionesEnUso();
+    }
+
+    @Override
+    public int getConexionesLibres() {
+        PoolConexiones pool = conexionBD.poolActual();
+        return pool == null ? 0 : pool.getConexionesLibres();
+    }
+
+    @Override
+    public int getHilosEsperandoConexion() {
+        PoolConexiones pool = conexionBD.poolActual();
+        return pool == null ? 0 : pool.getHilosEsperando();
+    }
+
+    @Override
+    public double getTasaAciertosCacheSentencias() {
+        return CacheSentencias.getTasaAciertos();
+    }
+
+    @Override
+    public Map<String, String> getCaches() {
+        Map<String, String> resumenes = new TreeMap<>();
+        caches.forEach((nombre, resumen) -> {
+            try {
+                resumenes.put(nombre, resumen.get());
+            } catch (RuntimeException e) {
+                resumenes.put(nombre, "Error al leer las estadísticas: " + e.getMessage());
+            }
+        });
+        return resumenes;
+    }
+
+    @Override
+    public String informe() {
+        StringBuilder sb = new StringBuilder("Métricas de base de datos: ");
+        sb.append(String.format("conexiones entregadas=%d, fallos=%d, espera p50=%.2fms p99=%.2fms máx=%.2fms, "
+                        + "en uso=%d, esperando=%d, aciertos cache sentencias=%.0f%%%n",
+                getConexionesEntregadas(), getFallosConexion(), getEsperaConexionP50Ms(), getEsperaConexionP99Ms(),
+                getEsperaConexionMaximaMs(), getConexionesEnUso(), getHilosEsperandoConexion(),
+                getTasaAciertosCacheSentencias() * 100));
+
+        List<MetricaConsulta> lista = getConsultas();
+        for (MetricaConsulta m : lista.subList(0, Math.min(CONSULTAS_EN_INFORME, lista.size()))) {
+            sb.append(String.format("  total=%.0fms n=%d p50=%.2fms p95=%.2fms p99=%.2fms máx=%.2fms filas=%d/%d errores=%d  %s%n",
+                    m.getTiempoTotalMs(), m.getEjecuciones(), m.getP50Ms(), m.getP95Ms(), m.getP99Ms(), m.getMaximoMs(),
+                    m.getFilasLeidas(), m.getFilasAfectadas(), m.getErrores(), m.getSql()));
+        }
+        getCaches().forEach((nombre, resumen) -> sb.append("  cache ").append(nombre).append(": ")
+                .append(resumen).append(System.lineSeparator()));
+        return sb.toString();
+    }
+
+    @Override
+    public void reiniciar() {
+        for (MetricaConsulta metrica : consultas.values()) {
+            metrica.reiniciar();
+        }
+        esperaConexion.reiniciar();
+        fallosConexion.reset();
+    }
+
+    private void escribirInforme() {
+        try {
+            if (getConexionesEntregadas() > 0) {
+                System.out.print(informe());
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error al escribir las métricas de base de datos: " + e.getMessage());
+        }
+    }
+
+    // ===================== INSTRUMENTACIÓN =====================
+
+    /**
+     * Mide los métodos execute* de la sentencia y envuelve los ResultSet para contar filas.
+     * Si el registro de consultas lentas está activo, guarda además los parámetros cargados
+     * para poder informarlos cuando una ejecución supera el umbral.
+     */
+    private static class ManejadorSentencia implements InvocationHandler {
+
+        private final Statement sentencia;
+        private final String sqlPreparado;
+        private final MetricaConsulta metricaPreparada;
+        private MetricaConsulta ultimaMetrica;
+
+        // Parámetros cargados con setXxx (índice = posición JDBC) y filas agregadas al lote
+        private Object[] parametros;
+        private int ultimoParametro;
+        private int filasLote;
+
+        // Consulta lenta cuyo ResultSet todavía se está leyendo: se informa al cerrarlo
+        private ConsultaLenta lentaEnLectura;
+
+        ManejadorSentencia(Statement sentencia, String sql) {
+            this.sentencia = sentencia;
+            this.sqlPreparado = sql;
+            this.metricaPreparada = sql == null ? null : INSTANCIA.metricaDe(sql);
+            this.ultimaMetrica = metricaPreparada;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nombre = metodo.getName();
+
+            switch (nombre) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return sentencia.toString();
+                case "getResultSet":
+                    return envolverResultado(invocar(metodo, args), ultimaMetrica, null);
+                case "close":
+                    terminarLectura();
+                    return invocar(metodo, args);
+                default:
+                    break;
+            }
+
+            if (!nombre.startsWith("execute")) {
+                if (RegistroConsultasLentas.estaActivo()) {
+                    recordarParametros(metodo, args);
+                }
+                return invocar(metodo, args);
+            }
+
+            terminarLectura();
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sqlPreparado;
+            MetricaConsulta metrica = sql != null ? INSTANCIA.metricaDe(sql) : INSTANCIA.metricaDe("(lote de sentencias)");
+            ultimaMetrica = metrica;
+
+            long inicio = System.nanoTime();
+            long nanos;
+            Object resultado;
+            try {
+                resultado = invocar(metodo, args);
+            } catch (Throwable e) {
+                metrica.registrarError();
+                throw e;
+            } finally {
+                nanos = System.nanoTime() - inicio;
+                metrica.registrarEjecucion(nanos);
+            }
+
+            ConsultaLenta lenta = null;
+            if (RegistroConsultasLentas.estaActivo() && RegistroConsultasLentas.esLenta(nanos)) {
+                lenta = new ConsultaLenta(metrica.getSql(), sql,
+                        parametros == null ? null : Arrays.copyOf(parametros, ultimoParametro + 1), filasLote, nanos, RegistroConsultasLentas.origen());
+            }
+            if (nombre.equals("executeBatch") || nombre.equals("executeLargeBatch")) {
+                filasLote = 0;
+            }
+
+            if (resultado instanceof ResultSet) {
+                lentaEnLectura = lenta;
+                return envolverResultado(resultado, metrica, lenta);
+            }
+            long filas = 0;
+            if (resultado instanceof Integer || resultado instanceof Long) {
+                filas = Math.max(0, ((Number) resultado).longValue());
+            } else if (resultado instanceof int[]) {
+                for (int afectadas : (int[]) resultado) {
+                    filas += Math.max(0, afectadas);
+                }
+            } else if (resultado instanceof long[]) {
+                for (long afectadas : (long[]) resultado) {
+                    filas += Math.max(0, afectadas);
+                }
+            }
+            metrica.sumarFilasAfectadas(filas);
+            if (lenta != null) {
+                lenta.filas = filas;
+                lenta.informar();
+            }
+            return resultado;
+        }
+
+        private void recordarParametros(Method metodo, Object[] args) {
+            String nombre = metodo.getName();
+            if (nombre.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                    && metodo.getDeclaringClass() != Statement.class) {
+                int indice = (Integer) args[0];
+                if (indice < 1 || indice > 10_000) {
+                    return;
+                }
+                if (parametros == null || parametros.length <= indice) {
+                    Object[] nuevos = new Object[Math.max(indice + 1, 8)];
+                    if (parametros != null) {
+                        System.arraycopy(parametros, 0, nuevos, 0, parametros.length);
+                    }
+                    parametros = nuevos;
+                }
+                parametros[indice] = nombre.equals("setNull") ? null : args[1];
+                ultimoParametro = Math.max(ultimoParametro, indice);
+            } else if (nombre.equals("clearParameters")) {
+                parametros = null;
+                ultimoParametro = 0;
+            } else if (nombre.equals("addBatch")) {
+                filasLote++;
+            } else if (nombre.equals("clearBatch")) {
+                filasLote = 0;
+            }
+        }
+
+        private void terminarLectura() {
+            if (lentaEnLectura != null) {
+                lentaEnLectura.informar();
+                lentaEnLectura = null;
+            }
+        }
+
+        private Object invocar(Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(sentencia, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Ejecución que superó el umbral; se informa cuando se conocen las filas (al cerrar el ResultSet).
+     */
+    private static class ConsultaLenta {
+        private final String huella;
+        private final String sql;
+        private final Object[] parametros;
+        private final int filasLote;
+        private final long nanos;
+        private final String origen;
+        private long filas;
+        private boolean informada;
+
+        ConsultaLenta(String huella, String sql, Object[] parametros, int filasLote, long nanos, String origen) {
+            this.huella = huella;
+            this.sql = sql;
+            this.parametros = parametros;
+            this.filasLote = filasLote;
+            this.nanos = nanos;
+            this.origen = origen;
+        }
+
+        void informar() {
+            if (!informada) {
+                informada = true;
+                RegistroConsultasLentas.registrar(huella, sql, parametros, filasLote, nanos, filas, origen);
+            }
+        }
+    }
+
+    private static Object envolverResultado(Object resultado, MetricaConsulta metrica, ConsultaLenta lenta) {
+        if (!(resultado instanceof ResultSet) || metrica == null) {
+            return resultado;
+        }
+        ResultSet rs = (ResultSet) resultado;
+        return Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, metodo, args) -> {
+                    switch (metodo.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        Object valor = metodo.invoke(rs, args);
+                        if (metodo.getName().equals("next") && Boolean.TRUE.equals(valor)) {
+                            metrica.sumarFilaLeida();
+                            if (lenta != null) {
+                                lenta.filas++;
+                            }
+                        } else if (metodo.getName().equals("close") && lenta != null) {
+                            lenta.informar();
+                        }
+                        return valor;
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
@@ -0,0 +1,43 @@
+package conexion;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz JMX de {@link MetricasBD}. Se publica como sige:type=MetricasBD y se puede
+ * consultar con jconsole o VisualVM.
+ *
+ * @author Yonatan
+ */
+public interface MetricasBDMXBean {
+
+    /** @return estadísticas de cada consulta, ordenadas por tiempo total descendente */
+    List<MetricaConsulta> getConsultas();
+
+    long getConexionesEntregadas();
+
+    long getFallosConexion();
+
+    double getEsperaConexionP50Ms();
+
+    double getEsperaConexionP99Ms();
+
+    double getEsperaConexionMaximaMs();
+
+    int getConexionesEnUso();
+
+    int getConexionesLibres();
+
+    int getHilosEsperandoConexion();
+
+    double getTasaAciertosCacheSentencias();
+
+    /** @return estadísticas de aciertos de cada cache del sistema, por nombre */
+    Map<String, String> getCaches();
+
+    /** @return el mismo resumen que se escribe periódicamente en el registro */
+    String informe();
+
+    /** Borra las estadísticas acumuladas. */
+    void reiniciar();
+}
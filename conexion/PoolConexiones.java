@@ -0,0 +1,374 @@
+package conexion;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool acotado de conexiones JDBC utilizado por {@link conexionBD}.
+ * Mantiene un mínimo de conexiones abiertas, limita el máximo de conexiones simultáneas,
+ * valida cada conexión antes de entregarla y cierra las que quedan inactivas demasiado tiempo.
+ *
+ * Las conexiones que entrega son envoltorios: al invocar close() la conexión física
+ * vuelve al pool en lugar de cerrarse, por lo que los controladores pueden seguir
+ * usando try-with-resources sin ningún cambio. Cada conexión física tiene además su
+ * {@link CacheSentencias}, de modo que un prepareStatement repetido reutiliza la sentencia ya preparada.
+ * Las sentencias entregadas se miden con {@link MetricasBD}, igual que la espera de cada pedido de conexión.
+ *
+ * @author Yonatan
+ */
+public class PoolConexiones {
+
+    private final String url;
+    private final String usuario;
+    private final String contrasenia;
+
+    private final int minimo;
+    private final int maximo;
+    private final long inactividadMaximaMs;
+    private final long esperaMaximaMs;
+    private final long validarTrasMs;
+    private final int timeoutValidacionSeg;
+    private final int sentenciasPorConexion;
+
+    // Conexiones físicas libres (la más recientemente usada queda al frente)
+    private final LinkedBlockingDeque<ConexionFisica> libres = new LinkedBlockingDeque<>();
+
+    // Un permiso por cada conexión entregada: acota el máximo de conexiones en uso
+    private final Semaphore permisos;
+
+    private final AtomicInteger totales = new AtomicInteger();
+    private final ScheduledExecutorService mantenimiento;
+    private volatile boolean cerrado;
+
+    /**
+     * Crea el pool y abre las conexiones mínimas.
+     *
+     * @param url URL JDBC de la base de datos
+     * @param usuario usuario de la base
+     * @param contrasenia contraseña del usuario
+     * @param minimo cantidad de conexiones que se mantienen abiertas aunque estén libres
+     * @param maximo cantidad máxima de conexiones en uso al mismo tiempo
+     * @param inactividadMaximaMs tiempo tras el cual se cierra una conexión libre (por encima del mínimo)
+     * @param esperaMaximaMs tiempo máximo que un pedido espera una conexión libre
+     * @param validarTrasMs si la conexión estuvo libre más que este tiempo, se valida antes de entregarla
+     * @param timeoutValidacionSeg tiempo máximo para la validación de una conexión
+     * @param sentenciasPorConexion capacidad del cache de sentencias preparadas de cada conexión (0 lo desactiva)
+     */
+    public PoolConexiones(String url, String usuario, String contrasenia,
+                          int minimo, int maximo, long inactividadMaximaMs,
+                          long esperaMaximaMs, long validarTrasMs, int timeoutValidacionSeg,
+                          int sentenciasPorConexion) {
+        if (maximo < 1 || minimo < 0 || minimo > maximo) {
+            throw new IllegalArgumentException("Tamaños de pool inválidos: mínimo=" + minimo + ", máximo=" + maximo);
+        }
+        this.url = url;
+        this.usuario = usuario;
+        this.contrasenia = contrasenia;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.inactividadMaximaMs = inactividadMaximaMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.validarTrasMs = validarTrasMs;
+        this.timeoutValidacionSeg = timeoutValidacionSeg;
+        this.sentenciasPorConexion = sentenciasPorConexion;
+        this.permisos = new Semaphore(maximo, true);
+
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "sige-pool-mantenimiento");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = Math.max(1000, Math.min(inactividadMaximaMs / 2, 30_000));
+        mantenimiento.scheduleWithFixedDelay(this::mantener, 0, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Entrega una conexión del pool. Si no hay libres y ya se alcanzó el máximo,
+     * espera hasta que alguna se devuelva o se cumpla el tiempo máximo de espera.
+     *
+     * @return conexión lista para usar; al cerrarla vuelve al pool
+     * @throws SQLException si no se pudo obtener una conexión a tiempo o la base no responde
+     */
+    public Connection obtenerConexion() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool de conexiones está cerrado.");
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            if (!permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                MetricasBD.getInstancia().registrarFalloConexion();
+                throw new SQLTimeoutException("No hay conexiones disponibles luego de esperar "
+                        + esperaMaximaMs + " ms (máximo " + maximo + " en uso).");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            MetricasBD.getInstancia().registrarFalloConexion();
+            throw new SQLException("Se interrumpió la espera de una conexión.", e);
+        }
+
+        try {
+            Connection conexion = null;
+            ConexionFisica fisica;
+            while (conexion == null && (fisica = libres.pollFirst()) != null) {
+                if (esValida(fisica)) {
+                    conexion = envolver(fisica);
+                } else {
+                    descartar(fisica);
+                }
+            }
+            if (conexion == null) {
+                conexion = envolver(crearConexionFisica());
+            }
+            // La espera incluye la validación y, si hizo falta, la apertura de una conexión nueva
+            MetricasBD.getInstancia().registrarEsperaConexion(System.nanoTime() - inicio);
+            return conexion;
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            MetricasBD.getInstancia().registrarFalloConexion();
+            throw e;
+        }
+    }
+
+    /**
+     * Cierra todas las conexiones libres y rechaza nuevos pedidos.
+     * Las conexiones en uso se cierran cuando sus dueños las devuelven.
+     */
+    public void cerrar() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            descartar(fisica);
+        }
+    }
+
+    // ===================== ESTADÍSTICAS =====================
+
+    /** @return cantidad de conexiones físicas abiertas (libres + en uso) */
+    public int getConexionesTotales() {
+        return totales.get();
+    }
+
+    /** @return cantidad de conexiones libres esperando ser usadas */
+    public int getConexionesLibres() {
+        return libres.size();
+    }
+
+    /** @return cantidad de conexiones entregadas y todavía no devueltas */
+    public int getConexionesEnUso() {
+        return maximo - permisos.availablePermits();
+    }
+
+    /** @return cantidad de hilos esperando una conexión */
+    public int getHilosEsperando() {
+        return permisos.getQueueLength();
+    }
+
+    // ===================== MANEJO INTERNO =====================
+
+    private ConexionFisica crearConexionFisica() throws SQLException {
+        Connection conexion = DriverManager.getConnection(url, usuario, contrasenia);
+        totales.incrementAndGet();
+        CacheSentencias cache = sentenciasPorConexion > 0 ? new CacheSentencias(conexion, sentenciasPorConexion) : null;
+        return new ConexionFisica(conexion, cache);
+    }
+
+    /**
+     * Valida la conexión solo si estuvo libre más que validarTrasMs:
+     * una conexión recién devuelta no necesita un ping adicional.
+     */
+    private boolean esValida(ConexionFisica fisica) {
+        try {
+            if (fisica.conexion.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - fisica.ultimoUso < validarTrasMs) {
+                return true;
+            }
+            return fisica.conexion.isValid(timeoutValidacionSeg);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void descartar(ConexionFisica fisica) {
+        totales.decrementAndGet();
+        if (fisica.cache != null) {
+            fisica.cache.cerrar();
+        }
+        try {
+            fisica.conexion.close();
+        } catch (SQLException e) {
+            System.err.println("Error al cerrar una conexión del pool: " + e.getMessage());
+        }
+    }
+
+    private Connection envolver(ConexionFisica fisica) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ManejadorConexion(fisica));
+    }
+
+    /**
+     * Recibe una conexión devuelta por un controlador. Se deja en estado limpio
+     * (sin sentencias abiertas, sin transacción pendiente y en autocommit) antes de reutilizarla.
+     */
+    private void devolver(ConexionFisica fisica, List<Statement> sentenciasAbiertas) {
+        boolean reutilizable = !cerrado;
+
+        for (Statement sentencia : sentenciasAbiertas) {
+            try {
+                sentencia.close();
+            } catch (SQLException e) {
+                reutilizable = false;
+            }
+        }
+
+        try {
+            if (reutilizable && !fisica.conexion.getAutoCommit()) {
+                // Algunos controladores no restauran el autocommit: se descarta lo no confirmado
+                fisica.conexion.rollback();
+                fisica.conexion.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            reutilizable = false;
+        }
+
+        if (reutilizable) {
+            fisica.ultimoUso = System.currentTimeMillis();
+            libres.offerFirst(fisica);
+        } else {
+            descartar(fisica);
+        }
+        permisos.release();
+    }
+
+    /**
+     * Tarea periódica: cierra las conexiones libres inactivas que sobran
+     * y vuelve a completar el mínimo configurado.
+     */
+    private void mantener() {
+        try {
+            long ahora = System.currentTimeMillis();
+            Iterator<ConexionFisica> it = libres.descendingIterator();
+            while (it.hasNext() && totales.get() > minimo) {
+                ConexionFisica fisica = it.next();
+                if (ahora - fisica.ultimoUso > inactividadMaximaMs && libres.removeFirstOccurrence(fisica)) {
+                    descartar(fisica);
+                }
+            }
+
+            while (!cerrado && totales.get() < minimo) {
+                libres.offerLast(crearConexionFisica());
+            }
+        } catch (SQLException e) {
+            System.err.println("Error al completar las conexiones mínimas del pool: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Error en el mantenimiento del pool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Conexión física real junto con su cache de sentencias y el momento de su último uso.
+     */
+    private static class ConexionFisica {
+        private final Connection conexion;
+        private final CacheSentencias cache;
+        private volatile long ultimoUso;
+
+        ConexionFisica(Connection conexion, CacheSentencias cache) {
+            this.conexion = conexion;
+            this.cache = cache;
+            this.ultimoUso = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Intercepta los métodos de la conexión entregada: close() la devuelve al pool,
+     * prepareStatement pasa por el cache de sentencias y las sentencias creadas
+     * se instrumentan y se registran para cerrarlas al devolverla.
+     */
+    private class ManejadorConexion implements InvocationHandler {
+
+        private final ConexionFisica fisica;
+        private final List<Statement> sentenciasAbiertas = new ArrayList<>();
+        private boolean devuelta;
+
+        ManejadorConexion(ConexionFisica fisica) {
+            this.fisica = fisica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nombre = metodo.getName();
+
+            switch (nombre) {
+                case "close":
+                    synchronized (this) {
+                        if (!devuelta) {
+                            devuelta = true;
+                            devolver(fisica, sentenciasAbiertas);
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    synchronized (this) {
+                        return devuelta || fisica.conexion.isClosed();
+                    }
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionPool[" + fisica.conexion + "]";
+                default:
+                    break;
+            }
+
+            synchronized (this) {
+                if (devuelta) {
+                    throw new SQLException("La conexión ya fue devuelta al pool.");
+                }
+            }
+
+            try {
+                Object resultado;
+                if (fisica.cache != null && CacheSentencias.esPreparacionCacheable(metodo)) {
+                    resultado = fisica.cache.preparar((String) args[0], CacheSentencias.clavesGeneradas(args), (Connection) proxy);
+                } else {
+                    resultado = metodo.invoke(fisica.conexion, args);
+                }
+                if (resultado instanceof Statement) {
+                    if (MetricasBD.estanActivas()) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                        resultado = MetricasBD.instrumentar((Statement) resultado, sql);
+                    }
+                    synchronized (this) {
+                        sentenciasAbiertas.add((Statement) resultado);
+                    }
+                }
+                return resultado;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
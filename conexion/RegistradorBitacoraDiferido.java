@@ -0,0 +1,650 @@
+package conexion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro diferido de eventos en la bitácora.
+ *
+ * Quien registra un evento no espera el INSERT: el evento se anota en un archivo local
+ * (spool) y se encola en memoria. Un hilo escritor vacía la cola en lotes, cuando junta
+ * tamanioLote eventos o cuando pasa intervaloMs desde el primero del lote.
+ *
+ * <ul>
+ *   <li>Durabilidad: si el programa se corta, los eventos del spool que no se habían escrito se escriben
+ *       al volver a iniciar. Un corte justo después de escribir un lote puede repetir ese lote (al menos una vez).</li>
+ *   <li>Contrapresión: si la cola está llena, quien registra espera hasta esperaEncolarMs
+ *       a que se libere lugar (sin bloquear a los demás) y, si sigue llena, escribe el evento
+ *       directamente en la base.</li>
+ *   <li>Cierre: al terminar el programa se escriben los eventos pendientes antes de cerrar el pool.</li>
+ * </ul>
+ *
+ * El spool de cada proceso es propio: en la carpeta del spool cada proceso escribe segmentos
+ * numerados con su propio prefijo y guarda en un archivo de control (.hecho) hasta qué segmento y
+ * posición ya está todo en la base. Ese archivo queda bloqueado mientras el proceso vive, de modo que
+ * otro proceso de la misma máquina (el sistema, el simulador o las pruebas) nunca toma sus eventos.
+ * Cada lote escrito avanza la posición confirmada; al pasar a un segmento nuevo se borran los anteriores,
+ * así el spool no crece aunque la cola nunca llegue a vaciarse.
+ *
+ * El registrador se crea con el primer evento. Al iniciar el programa solo se crea si quedó
+ * el spool de un proceso que ya no está ({@link #recuperarPendientes()}); sus eventos se escriben
+ * desde la posición confirmada y después se borra.
+ *
+ * Ajustes por propiedades del sistema con prefijo sige.bitacora (capacidad, tamanioLote,
+ * intervaloMs, esperaEncolarMs, esperaCierreMs, spool (carpeta), segmentoBytes, fsync).
+ *
+ * @author Yonatan
+ */
+public class RegistradorBitacoraDiferido {
+
+    private static final int CAPACIDAD = Integer.getInteger("sige.bitacora.capacidad", 10_000);
+    private static final int TAMANIO_LOTE = Integer.getInteger("sige.bitacora.tamanioLote", 200);
+    private static final long INTERVALO_MS = Long.getLong("sige.bitacora.intervaloMs", 500L);
+    private static final long ESPERA_ENCOLAR_MS = Long.getLong("sige.bitacora.esperaEncolarMs", 200L);
+    private static final long ESPERA_CIERRE_MS = Long.getLong("sige.bitacora.esperaCierreMs", 5_000L);
+    private static final long SEGMENTO_BYTES = Long.getLong("sige.bitacora.segmentoBytes", 1_048_576L);
+    private static final boolean FSYNC = Boolean.getBoolean("sige.bitacora.fsync");
+    private static final String CARPETA_SPOOL = System.getProperty("sige.bitacora.spool",
+            Paths.get(System.getProperty("user.home"), ".sige", "bitacora").toString());
+
+    private static final String SQL_INSERTAR =
+            "INSERT INTO bitacora (idEstudiante, fecha, descripcion) VALUES (?, ?, ?)";
+
+    private static RegistradorBitacoraDiferido instancia;
+
+    private final BlockingQueue<Evento> cola = new ArrayBlockingQueue<>(CAPACIDAD);
+    // Lugares libres en la cola: se esperan fuera de bloqueoSpool y se devuelven al sacar eventos
+    private final Semaphore lugares = new Semaphore(CAPACIDAD);
+    private final Object bloqueoSpool = new Object();
+    private final Spool spool;
+    private final List<Spool> abandonados;
+    private final Thread escritor;
+    private volatile boolean cerrando;
+
+    private final AtomicLong escritos = new AtomicLong();
+    private final AtomicLong sincronicos = new AtomicLong();
+
+    /**
+     * Devuelve el registrador compartido. La primera llamada crea el spool del proceso, inicia el
+     * hilo escritor (que primero escribe lo que haya quedado de procesos anteriores)
+     * y programa el vaciado de la cola antes del cierre del pool.
+     *
+     * @return registrador de bitácora del sistema
+     */
+    public static synchronized RegistradorBitacoraDiferido obtenerInstancia() {
+        if (instancia == null) {
+            instancia = new RegistradorBitacoraDiferido();
+            conexionBD.agregarTareaDeCierre(() -> instancia.detener());
+        }
+        return instancia;
+    }
+
+    /**
+     * Si quedó el spool de un proceso que ya terminó, crea el registrador para que escriba
+     * sus eventos. Si no, no hace nada: el registrador se crea con el primer evento.
+     */
+    public static void recuperarPendientes() {
+        for (Path control : Spool.buscarControles(Paths.get(CARPETA_SPOOL))) {
+            Spool abandonado = Spool.tomar(control);
+            if (abandonado != null) {
+                abandonado.soltar(); // Lo vuelve a tomar el registrador
+                obtenerInstancia();
+                return;
+            }
+        }
+    }
+
+    private RegistradorBitacoraDiferido() {
+        // Los spools abandonados se toman antes de crear el propio, para no confundirlos
+        this.abandonados = new ArrayList<>();
+        for (Path control : Spool.buscarControles(Paths.get(CARPETA_SPOOL))) {
+            Spool abandonado = Spool.tomar(control);
+            if (abandonado != null) {
+                abandonados.add(abandonado);
+            }
+        }
+        this.spool = Spool.crear(Paths.get(CARPETA_SPOOL));
+        this.escritor = new Thread(this::ejecutarEscritor, "sige-bitacora-escritor");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /**
+     * Registra un evento de bitácora. Normalmente vuelve enseguida; el INSERT lo hace el hilo escritor.
+     *
+     * @param idEstudiante ID del estudiante afectado
+     * @param descripcion texto del evento
+     */
+    public void registrar(int idEstudiante, String descripcion) {
+        Evento evento = new Evento(idEstudiante, System.currentTimeMillis(), descripcion);
+
+        boolean encolado = false;
+        if (!cerrando && reservarLugar()) {
+            synchronized (bloqueoSpool) {
+                // Se anota antes de encolar: el escritor confirma la posición que quedó en el evento
+                if (spool != null) {
+                    spool.anotar(evento);
+                }
+                cola.add(evento); // Hay lugar reservado
+            }
+            encolado = true;
+        }
+
+        if (!encolado) {
+            // Cola llena o registrador cerrándose: se escribe en el momento
+            sincronicos.incrementAndGet();
+            List<Evento> unico = new ArrayList<>(1);
+            unico.add(evento);
+            try {
+                insertar(unico);
+            } catch (SQLException e) {
+                System.err.println("Error al registrar en bitácora: " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean reservarLugar() {
+        try {
+            return lugares.tryAcquire(ESPERA_ENCOLAR_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Deja de aceptar eventos en la cola y espera a que el escritor escriba los pendientes.
+     * Si se escribió todo se borra el spool del proceso; si no, queda para la próxima ejecución.
+     */
+    public void detener() {
+        cerrando = true;
+        try {
+            escritor.join(ESPERA_CIERRE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (bloqueoSpool) {
+            if (!cola.isEmpty()) {
+                System.err.println("Quedaron " + cola.size() + " eventos de bitácora en el spool para la próxima ejecución.");
+            } else if (spool != null && !escritor.isAlive()) {
+                spool.borrar();
+            }
+        }
+    }
+
+    // ===================== ESTADÍSTICAS =====================
+
+    /** @return eventos encolados que aún no se escribieron */
+    public int getPendientes() {
+        return cola.size();
+    }
+
+    /** @return eventos escritos por el hilo escritor */
+    public long getEscritos() {
+        return escritos.get();
+    }
+
+    /** @return eventos escritos directamente por quien los registró, por cola llena */
+    public long getSincronicos() {
+        return sincronicos.get();
+    }
+
+    // ===================== HILO ESCRITOR =====================
+
+    private void ejecutarEscritor() {
+        for (Spool abandonado : abandonados) {
+            if (!recuperar(abandonado)) {
+                return; // Sigue todo en su spool, desde la última posición confirmada
+            }
+        }
+
+        List<Evento> lote = new ArrayList<>(TAMANIO_LOTE);
+        while (!cerrando || !cola.isEmpty()) {
+            try {
+                juntarLote(lote);
+            } catch (InterruptedException e) {
+                return; // Lo que no se escribió sigue en el spool
+            }
+
+            if (lote.isEmpty()) {
+                continue;
+            }
+            if (!escribirConReintentos(lote)) {
+                return;
+            }
+            if (spool != null) {
+                spool.confirmar(lote.get(lote.size() - 1));
+            }
+            lote.clear();
+        }
+    }
+
+    /**
+     * Escribe los eventos pendientes del spool de un proceso que ya terminó y lo borra.
+     *
+     * @return true si se escribió todo, false si se abandonó por cierre
+     */
+    private boolean recuperar(Spool abandonado) {
+        List<Evento> eventos = abandonado.leerPendientes();
+        if (!eventos.isEmpty()) {
+            System.out.println("Recuperando " + eventos.size() + " eventos de bitácora de una ejecución anterior.");
+        }
+        for (int i = 0; i < eventos.size(); i += TAMANIO_LOTE) {
+            List<Evento> lote = eventos.subList(i, Math.min(i + TAMANIO_LOTE, eventos.size()));
+            if (!escribirConReintentos(lote)) {
+                abandonado.soltar();
+                return false;
+            }
+            abandonado.confirmar(lote.get(lote.size() - 1));
+        }
+        abandonado.borrar();
+        return true;
+    }
+
+    /**
+     * Espera el primer evento y junta los siguientes hasta completar el lote o cumplir el intervalo.
+     */
+    private void juntarLote(List<Evento> lote) throws InterruptedException {
+        int antes = lote.size();
+        try {
+            agregarAlLote(lote);
+        } finally {
+            lugares.release(lote.size() - antes);
+        }
+    }
+
+    private void agregarAlLote(List<Evento> lote) throws InterruptedException {
+        if (cerrando) {
+            cola.drainTo(lote, TAMANIO_LOTE);
+            return;
+        }
+
+        Evento primero = cola.poll(INTERVALO_MS, TimeUnit.MILLISECONDS);
+        if (primero == null) {
+            return;
+        }
+        lote.add(primero);
+
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(INTERVALO_MS);
+        while (lote.size() < TAMANIO_LOTE) {
+            if (cola.drainTo(lote, TAMANIO_LOTE - lote.size()) > 0) {
+                continue;
+            }
+            long restante = limite - System.nanoTime();
+            if (restante <= 0) {
+                return;
+            }
+            Evento siguiente = cola.poll(restante, TimeUnit.NANOSECONDS);
+            if (siguiente == null) {
+                return;
+            }
+            lote.add(siguiente);
+        }
+    }
+
+    /**
+     * Escribe el lote; si la base falla, reintenta con espera creciente mientras no se esté cerrando.
+     *
+     * @return true si se escribió, false si se abandonó por cierre
+     */
+    private boolean escribirConReintentos(List<Evento> lote) {
+        long espera = 250;
+        while (true) {
+            try {
+                insertar(lote);
+                escritos.addAndGet(lote.size());
+                return true;
+            } catch (SQLException e) {
+                System.err.println("Error al escribir lote de bitácora (" + lote.size() + " eventos): " + e.getMessage());
+                if (cerrando) {
+                    return false;
+                }
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException ex) {
+                    return false;
+                }
+                espera = Math.min(espera * 2, 5_000);
+            }
+        }
+    }
+
+    private void insertar(List<Evento> eventos) throws SQLException {
+        try (Connection conn = conexionBD.obtenerPool().obtenerConexion();
+             PreparedStatement stmt = conn.prepareStatement(SQL_INSERTAR)) {
+
+            for (Evento evento : eventos) {
+                stmt.setInt(1, evento.idEstudiante);
+                stmt.setTimestamp(2, new Timestamp(evento.momento));
+                stmt.setString(3, evento.descripcion);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    // ===================== SPOOL =====================
+
+    /**
+     * Spool de un proceso: segmentos {@code <prefijo>-<n>.spool} con una línea por evento y el archivo
+     * de control {@code <prefijo>.hecho} con el segmento y la posición hasta donde todo está en la base.
+     * Quien tiene el bloqueo del archivo de control es el único que usa el spool.
+     */
+    private static final class Spool {
+        private static final String EXTENSION_CONTROL = ".hecho";
+
+        private final Path carpeta;
+        private final String prefijo;
+        private final FileChannel control;
+        private final FileLock bloqueo;
+
+        // Segmento donde se anota (solo el spool propio) y el más viejo que todavía existe
+        private FileChannel activo;
+        private int numeroActivo;
+        private int primerSegmento;
+
+        private Spool(Path carpeta, String prefijo, FileChannel control, FileLock bloqueo) {
+            this.carpeta = carpeta;
+            this.prefijo = prefijo;
+            this.control = control;
+            this.bloqueo = bloqueo;
+        }
+
+        /**
+         * Crea el spool del proceso actual, con un prefijo que no usa ningún otro.
+         *
+         * @return spool listo para anotar, o null si no se pudo crear (los eventos no sobrevivirán a un corte)
+         */
+        static Spool crear(Path carpeta) {
+            try {
+                Files.createDirectories(carpeta);
+                String prefijo = "bitacora-" + ProcessHandle.current().pid() + "-" + System.currentTimeMillis();
+                FileChannel control = FileChannel.open(carpeta.resolve(prefijo + EXTENSION_CONTROL),
+                        StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                Spool spool = new Spool(carpeta, prefijo, control, control.lock());
+                spool.guardarControl(0, 0);
+                spool.activo = spool.abrirSegmento(0);
+                return spool;
+            } catch (IOException e) {
+                System.err.println("Error al crear el spool de bitácora (los eventos pendientes no sobrevivirán a un corte): "
+                        + e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * @return archivos de control que hay en la carpeta, de este y de otros procesos
+         */
+        static List<Path> buscarControles(Path carpeta) {
+            List<Path> controles = new ArrayList<>();
+            if (!Files.isDirectory(carpeta)) {
+                return controles;
+            }
+            try (DirectoryStream<Path> archivos = Files.newDirectoryStream(carpeta, "*" + EXTENSION_CONTROL)) {
+                for (Path archivo : archivos) {
+                    controles.add(archivo);
+                }
+            } catch (IOException e) {
+                System.err.println("Error al revisar el spool de bitácora: " + e.getMessage());
+            }
+            return controles;
+        }
+
+        /**
+         * Toma el spool de otro proceso si ese proceso ya terminó (su archivo de control no está bloqueado).
+         *
+         * @return spool tomado, o null si su proceso sigue vivo o no se pudo abrir
+         */
+        static Spool tomar(Path archivoControl) {
+            String nombre = archivoControl.getFileName().toString();
+            String prefijo = nombre.substring(0, nombre.length() - EXTENSION_CONTROL.length());
+            FileChannel control = null;
+            try {
+                control = FileChannel.open(archivoControl, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                FileLock bloqueo = control.tryLock();
+                if (bloqueo != null) {
+                    return new Spool(archivoControl.getParent(), prefijo, control, bloqueo);
+                }
+            } catch (OverlappingFileLockException e) {
+                // Es el spool de este mismo proceso
+            } catch (IOException e) {
+                System.err.println("Error al abrir el spool de bitácora " + nombre + ": " + e.getMessage());
+            }
+            cerrarCanal(control);
+            return null;
+        }
+
+        /**
+         * Anota el evento al final del segmento activo y guarda en él dónde quedó.
+         * Pasa a un segmento nuevo cuando el activo supera el tamaño configurado.
+         */
+        synchronized void anotar(Evento evento) {
+            if (activo == null) {
+                return;
+            }
+            try {
+                ByteBuffer linea = ByteBuffer.wrap(evento.aLinea().getBytes(StandardCharsets.UTF_8));
+                while (linea.hasRemaining()) {
+                    activo.write(linea);
+                }
+                if (FSYNC) {
+                    activo.force(false);
+                }
+                evento.segmento = numeroActivo;
+                evento.posicion = activo.position();
+
+                if (evento.posicion >= SEGMENTO_BYTES) {
+                    FileChannel siguiente = abrirSegmento(numeroActivo + 1);
+                    activo.close();
+                    activo = siguiente;
+                    numeroActivo++;
+                }
+            } catch (IOException e) {
+                System.err.println("Error al escribir en el spool de bitácora: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Registra que todo lo anotado hasta el evento (inclusive) ya está en la base y borra
+         * los segmentos que quedaron enteros antes de él.
+         */
+        synchronized void confirmar(Evento ultimo) {
+            if (ultimo.segmento < 0) {
+                return; // No llegó a anotarse
+            }
+            try {
+                guardarControl(ultimo.segmento, ultimo.posicion);
+            } catch (IOException e) {
+                System.err.println("Error al guardar la posición del spool de bitácora: " + e.getMessage());
+                return;
+            }
+            for (; primerSegmento < ultimo.segmento; primerSegmento++) {
+                borrarArchivo(segmento(primerSegmento));
+            }
+        }
+
+        /**
+         * @return eventos anotados después de la posición confirmada, en orden
+         */
+        List<Evento> leerPendientes() {
+            List<Evento> eventos = new ArrayList<>();
+            int segmentoConfirmado;
+            long posicionConfirmada;
+            try {
+                String[] partes = leerControl().trim().split(" ");
+                segmentoConfirmado = Integer.parseInt(partes[0]);
+                posicionConfirmada = Long.parseLong(partes[1]);
+            } catch (IOException | RuntimeException e) {
+                // Control ilegible: se repite el spool completo (al menos una vez)
+                segmentoConfirmado = 0;
+                posicionConfirmada = 0;
+            }
+            primerSegmento = segmentoConfirmado;
+
+            for (int numero = segmentoConfirmado; Files.exists(segmento(numero)); numero++) {
+                try {
+                    byte[] contenido = Files.readAllBytes(segmento(numero));
+                    int inicio = numero == segmentoConfirmado ? (int) Math.min(posicionConfirmada, contenido.length) : 0;
+                    for (int fin = inicio; fin < contenido.length; fin++) {
+                        if (contenido[fin] != '\n') {
+                            continue;
+                        }
+                        // Una línea sin '\n' al final quedó cortada y se descarta
+                        Evento evento = Evento.desdeLinea(new String(contenido, inicio, fin - inicio, StandardCharsets.UTF_8));
+                        if (evento != null) {
+                            evento.segmento = numero;
+                            evento.posicion = fin + 1;
+                            eventos.add(evento);
+                        }
+                        inicio = fin + 1;
+                    }
+                } catch (IOException e) {
+                    System.err.println("Error al leer el spool de bitácora: " + e.getMessage());
+                }
+            }
+            return eventos;
+        }
+
+        /**
+         * Borra los segmentos y el archivo de control, y libera el bloqueo.
+         */
+        synchronized void borrar() {
+            cerrarCanal(activo);
+            activo = null;
+            for (int numero = primerSegmento; Files.exists(segmento(numero)); numero++) {
+                borrarArchivo(segmento(numero));
+            }
+            // En Windows un archivo abierto no se puede borrar: primero se suelta
+            soltar();
+            borrarArchivo(carpeta.resolve(prefijo + EXTENSION_CONTROL));
+        }
+
+        /**
+         * Libera el bloqueo sin borrar nada, para que otro proceso pueda tomar el spool.
+         */
+        synchronized void soltar() {
+            try {
+                if (bloqueo.isValid()) {
+                    bloqueo.release();
+                }
+            } catch (IOException e) {
+                System.err.println("Error al liberar el spool de bitácora: " + e.getMessage());
+            }
+            cerrarCanal(control);
+        }
+
+        private Path segmento(int numero) {
+            return carpeta.resolve(prefijo + "-" + numero + ".spool");
+        }
+
+        private FileChannel abrirSegmento(int numero) throws IOException {
+            FileChannel canal = FileChannel.open(segmento(numero), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            canal.position(canal.size());
+            return canal;
+        }
+
+        private void guardarControl(int segmento, long posicion) throws IOException {
+            ByteBuffer texto = ByteBuffer.wrap((segmento + " " + posicion + "\n").getBytes(StandardCharsets.UTF_8));
+            control.truncate(0);
+            control.position(0);
+            while (texto.hasRemaining()) {
+                control.write(texto);
+            }
+            if (FSYNC) {
+                control.force(false);
+            }
+        }
+
+        private String leerControl() throws IOException {
+            ByteBuffer contenido = ByteBuffer.allocate((int) control.size());
+            control.read(contenido, 0);
+            return new String(contenido.array(), StandardCharsets.UTF_8);
+        }
+
+        private static void borrarArchivo(Path archivo) {
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (IOException e) {
+                System.err.println("Error al borrar el spool de bitácora: " + e.getMessage());
+            }
+        }
+
+        private static void cerrarCanal(FileChannel canal) {
+            if (canal == null) {
+                return;
+            }
+            try {
+                canal.close();
+            } catch (IOException e) {
+                // El canal ya no se usa
+            }
+        }
+    }
+
+    /**
+     * Evento pendiente de escribir. En el spool se guarda como una línea separada por tabuladores.
+     */
+    private static class Evento {
+        private final int idEstudiante;
+        private final long momento;
+        private final String descripcion;
+        // Segmento del spool y posición después de su línea; -1 si no se anotó
+        private int segmento = -1;
+        private long posicion;
+
+        Evento(int idEstudiante, long momento, String descripcion) {
+            this.idEstudiante = idEstudiante;
+            this.momento = momento;
+            this.descripcion = descripcion;
+        }
+
+        String aLinea() {
+            String texto = descripcion == null ? "" : descripcion
+                    .replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+            return idEstudiante + "\t" + momento + "\t" + texto + "\n";
+        }
+
+        static Evento desdeLinea(String linea) {
+            String[] partes = linea.split("\t", 3);
+            if (partes.length < 3) {
+                return null; // Línea incompleta por un corte a mitad de escritura
+            }
+            try {
+                StringBuilder texto = new StringBuilder();
+                String escapado = partes[2];
+                for (int i = 0; i < escapado.length(); i++) {
+                    char c = escapado.charAt(i);
+                    if (c == '\\' && i + 1 < escapado.length()) {
+                        char siguiente = escapado.charAt(++i);
+                        texto.append(siguiente == 't' ? '\t' : siguiente == 'n' ? '\n' : siguiente == 'r' ? '\r' : siguiente);
+                    } else {
+                        texto.append(c);
+                    }
+                }
+                return new Evento(Integer.parseInt(partes[0]), Long.parseLong(partes[1]), texto.toString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
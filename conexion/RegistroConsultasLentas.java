@@ -0,0 +1,203 @@
+package conexion;
+
+import util.OrigenLlamada;
+
+import java.sql.Blob;
+import java.sql.Clob;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Registro de consultas lentas: toda ejecución que supera el umbral se informa con su SQL,
+ * los parámetros (ocultando los textos), el tiempo, las filas y el método del controlador
+ * y la ventana que la originaron.
+ *
+ * Las consultas se agrupan por patrón (huella del SQL + controlador + ventana): la primera
+ * de cada patrón se escribe completa y las repeticiones se resumen periódicamente en una sola
+ * línea. Así, un bucle que hace una consulta por fila (N+1) aparece como un patrón repetido
+ * muchas veces y no como cientos de consultas sueltas. Con umbral 0 se registran todas las
+ * consultas, lo que sirve para encontrar esos bucles aunque cada consulta sea rápida.
+ *
+ * Configuración (propiedades del sistema):
+ * - sige.consultasLentas.umbralMs: umbral en milisegundos; negativo desactiva el registro (250)
+ * - sige.consultasLentas.intervaloSeg: cada cuánto se resumen las repeticiones (60)
+ * - sige.consultasLentas.mostrarTextos: true muestra los parámetros de texto, salvo en consultas
+ *   que involucran contraseñas (false)
+ *
+ * @author Yonatan
+ */
+public class RegistroConsultasLentas {
+
+    private static final long UMBRAL_MS = Long.getLong("sige.consultasLentas.umbralMs", 250L);
+    private static final long INTERVALO_SEG = Long.getLong("sige.consultasLentas.intervaloSeg", 60L);
+    private static final boolean MOSTRAR_TEXTOS = Boolean.getBoolean("sige.consultasLentas.mostrarTextos");
+    private static final int MAXIMO_PATRONES = 1000;
+
+    private static final long UMBRAL_NANOS = UMBRAL_MS < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(UMBRAL_MS);
+
+    private static final Map<String, Patron> PATRONES = new ConcurrentHashMap<>();
+
+    static {
+        if (UMBRAL_MS >= 0 && INTERVALO_SEG > 0) {
+            ScheduledExecutorService resumen = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread hilo = new Thread(r, "sige-consultas-lentas");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            resumen.scheduleAtFixedRate(RegistroConsultasLentas::escribirRepeticiones,
+                    INTERVALO_SEG, INTERVALO_SEG, TimeUnit.SECONDS);
+        }
+    }
+
+    private RegistroConsultasLentas() {
+    }
+
+    /** @return true si el registro está activo */
+    static boolean estaActivo() {
+        return UMBRAL_MS >= 0;
+    }
+
+    /** @return true si la duración supera el umbral */
+    static boolean esLenta(long nanos) {
+        return nanos >= UMBRAL_NANOS;
+    }
+
+    /**
+     * Busca en la pila de llamadas el método del controlador y la ventana que originaron la consulta.
+     * Debe llamarse desde el hilo que ejecuta la consulta.
+     *
+     * @return por ejemplo "ControladorConsulta.buscarEstudiantePorId desde VentanaEditarAsistencia"
+     */
+    static String origen() {
+        String origen = OrigenLlamada.delHiloActual();
+        return origen != null ? origen : "(origen desconocido)";
+    }
+
+    /**
+     * Registra una consulta que superó el umbral.
+     *
+     * @param huella huella del SQL (ver {@link MetricasBD#huella})
+     * @param sql texto SQL ejecutado
+     * @param parametros parámetros cargados (posición 1 en el índice 1), puede ser null
+     * @param filasLote cantidad de filas del lote, o 0 si no fue un lote
+     * @param nanos duración de la ejecución
+     * @param filas filas leídas o afectadas
+     * @param origen controlador y ventana (ver {@link #origen()})
+     */
+    static void registrar(String huella, String sql, Object[] parametros, int filasLote,
+                          long nanos, long filas, String origen) {
+        String clave = origen + "|" + huella;
+        Patron patron = PATRONES.get(clave);
+        if (patron == null) {
+            if (PATRONES.size() >= MAXIMO_PATRONES) {
+                PATRONES.clear();
+            }
+            patron = PATRONES.computeIfAbsent(clave, c -> new Patron(origen, huella));
+        }
+
+        long veces = patron.sumar(nanos);
+        if (veces == 1) {
+            System.err.printf("Consulta lenta (%.1f ms, %d filas) en %s: %s%s%n",
+                    nanos / 1_000_000.0, filas, origen, compactar(sql),
+                    describirParametros(sql, parametros, filasLote));
+        }
+    }
+
+    /**
+     * Escribe una línea por cada patrón que se repitió desde el último resumen.
+     */
+    static void escribirRepeticiones() {
+        try {
+            List<Patron> repetidos = new ArrayList<>();
+            for (Patron patron : PATRONES.values()) {
+                if (patron.vecesSinInformar() > 0) {
+                    repetidos.add(patron);
+                }
+            }
+            repetidos.sort((a, b) -> Long.compare(b.totalNanos.get(), a.totalNanos.get()));
+            for (Patron patron : repetidos) {
+                long veces = patron.tomarSinInformar();
+                System.err.printf("Consulta lenta repetida %d veces más (total %d veces, %.0f ms acumulados, máx %.1f ms) en %s: %s%n",
+                        veces, patron.veces.get(), patron.totalNanos.get() / 1_000_000.0,
+                        patron.maximoNanos.get() / 1_000_000.0, patron.origen, patron.huella);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error al resumir las consultas lentas: " + e.getMessage());
+        }
+    }
+
+    private static String describirParametros(String sql, Object[] parametros, int filasLote) {
+        StringBuilder sb = new StringBuilder();
+        if (parametros != null && parametros.length > 1) {
+            boolean ocultarTextos = !MOSTRAR_TEXTOS || sql == null || sql.toLowerCase().contains("contrasenia");
+            sb.append(" | parámetros: [");
+            for (int i = 1; i < parametros.length; i++) {
+                if (i > 1) {
+                    sb.append(", ");
+                }
+                sb.append(describir(parametros[i], ocultarTextos));
+            }
+            sb.append(']');
+        }
+        if (filasLote > 0) {
+            sb.append(" | lote de ").append(filasLote).append(" filas (parámetros de la última)");
+        }
+        return sb.toString();
+    }
+
+    private static String describir(Object valor, boolean ocultarTextos) {
+        if (valor == null) {
+            return "null";
+        }
+        if (valor instanceof CharSequence) {
+            return ocultarTextos ? "<texto de " + ((CharSequence) valor).length() + " caracteres>" : "'" + valor + "'";
+        }
+        if (valor instanceof byte[] || valor instanceof Blob || valor instanceof Clob) {
+            return "<binario>";
+        }
+        return String.valueOf(valor);
+    }
+
+    private static String compactar(String sql) {
+        return sql == null ? "" : sql.replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * Consultas lentas agrupadas por huella, controlador y ventana.
+     */
+    private static class Patron {
+        private final String origen;
+        private final String huella;
+        private final AtomicLong veces = new AtomicLong();
+        private final AtomicLong informadas = new AtomicLong(1);
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+
+        Patron(String origen, String huella) {
+            this.origen = origen;
+            this.huella = huella;
+        }
+
+        long sumar(long nanos) {
+            totalNanos.addAndGet(nanos);
+            maximoNanos.accumulate(nanos);
+            return veces.incrementAndGet();
+        }
+
+        long vecesSinInformar() {
+            return veces.get() - informadas.get();
+        }
+
+        long tomarSinInformar() {
+            long total = veces.get();
+            return total - informadas.getAndSet(total);
+        }
+    }
+}
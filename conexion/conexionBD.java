@@ -6,34 +6,59 @@
 package conexion;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Clase encargada de establecer la conexión con la base de datos MySQL del sistema SIGE.
  * Esta clase puede ser reutilizada desde cualquier controlador que necesite acceder a la base.
- * 
+ *
+ * Las conexiones se obtienen de un {@link PoolConexiones} compartido, que se crea en el primer
+ * pedido. Los tamaños del pool pueden ajustarse con propiedades del sistema
+ * (por ejemplo -Dsige.pool.maximo=40) sin modificar el código.
+ *
+ * La base a usar también es configurable, por propiedades o con {@link #configurar}, lo que permite
+ * ejecutar los controladores contra otra base (por ejemplo una base embebida para pruebas de rendimiento).
+ *
  * @author Yonatan
  */
 public class conexionBD {
 
-    // Datos de conexión
-    private static final String URL = "jdbc:mysql://localhost:3306/sige";
-    private static final String USUARIO = "root";
-    private static final String CONTRASENIA = "corolla18";
+    // Datos de conexión (ajustables con -Dsige.bd.url, -Dsige.bd.usuario y -Dsige.bd.contrasenia)
+    // useServerPrepStmts: las sentencias se preparan en el servidor y el cache del pool las reutiliza
+    // rewriteBatchedStatements: un lote de INSERT viaja como un único INSERT de varias filas
+    private static String url = System.getProperty("sige.bd.url",
+            "jdbc:mysql://localhost:3306/sige?useServerPrepStmts=true&rewriteBatchedStatements=true");
+    private static String usuario = System.getProperty("sige.bd.usuario", "root");
+    private static String contrasenia = System.getProperty("sige.bd.contrasenia", "corolla18");
+
+    // Configuración del pool (valores por defecto, ajustables por propiedades del sistema)
+    private static final int POOL_MINIMO = Integer.getInteger("sige.pool.minimo", 2);
+    private static final int POOL_MAXIMO = Integer.getInteger("sige.pool.maximo", 20);
+    private static final long POOL_INACTIVIDAD_MS = Long.getLong("sige.pool.inactividadMs", 300_000L);
+    private static final long POOL_ESPERA_MS = Long.getLong("sige.pool.esperaMs", 10_000L);
+    private static final long POOL_VALIDAR_TRAS_MS = Long.getLong("sige.pool.validarTrasMs", 1_000L);
+    private static final int POOL_TIMEOUT_VALIDACION_SEG = Integer.getInteger("sige.pool.timeoutValidacionSeg", 2);
+    private static final int POOL_SENTENCIAS_POR_CONEXION = Integer.getInteger("sige.pool.sentenciasPorConexion", 64);
+
+    private static PoolConexiones pool;
+    private static boolean cierreRegistrado;
+
+    // Tareas que necesitan la base al terminar el programa; se ejecutan antes de cerrar el pool
+    private static final List<Runnable> tareasDeCierre = new ArrayList<>();
 
     /**
      * Método estático que devuelve una conexión activa con la base de datos.
      * Se puede invocar desde cualquier clase que necesite hacer una consulta o modificación.
-     * 
+     * La conexión proviene del pool: al cerrarla (por ejemplo con try-with-resources)
+     * vuelve al pool para ser reutilizada.
+     *
      * @return objeto Connection si la conexión fue exitosa, o null si hubo un error.
      */
     public static Connection obtenerConexion() {
         try {
-            // Intentamos establecer la conexión con la base de datos
-            Connection conexion = DriverManager.getConnection(URL, USUARIO, CONTRASENIA);
-            System.out.println("Conexión exitosa a la base de datos SIGE.");
-            return conexion;
+            return obtenerPool().obtenerConexion();
         } catch (SQLException e) {
             // Si hay un error, lo mostramos por consola con un mensaje claro
             System.err.println("Error al conectar con la base de datos SIGE:");
@@ -41,4 +66,86 @@ public class conexionBD {
             return null;
         }
     }
+
+    /**
+     * Devuelve el pool compartido, creándolo en el primer uso.
+     *
+     * @return pool de conexiones del sistema
+     */
+    public static synchronized PoolConexiones obtenerPool() {
+        if (pool == null) {
+            pool = new PoolConexiones(url, usuario, contrasenia,
+                    POOL_MINIMO, POOL_MAXIMO, POOL_INACTIVIDAD_MS,
+                    POOL_ESPERA_MS, POOL_VALIDAR_TRAS_MS, POOL_TIMEOUT_VALIDACION_SEG,
+                    POOL_SENTENCIAS_POR_CONEXION);
+            if (!cierreRegistrado) {
+                Runtime.getRuntime().addShutdownHook(new Thread(conexionBD::cerrarAlSalir, "sige-pool-cierre"));
+                cierreRegistrado = true;
+            }
+            System.out.println("Pool de conexiones a la base de datos SIGE iniciado (máximo " + POOL_MAXIMO + ").");
+        }
+        return pool;
+    }
+
+    /**
+     * @return el pool actual sin crearlo, o null si todavía no se pidió ninguna conexión
+     */
+    static synchronized PoolConexiones poolActual() {
+        return pool;
+    }
+
+    /**
+     * Cambia la base de datos a la que se conectan los controladores.
+     * Cierra el pool actual; el próximo pedido de conexión crea uno nuevo contra la base indicada.
+     *
+     * @param nuevaUrl URL JDBC de la base
+     * @param nuevoUsuario usuario de la base
+     * @param nuevaContrasenia contraseña del usuario
+     */
+    public static synchronized void configurar(String nuevaUrl, String nuevoUsuario, String nuevaContrasenia) {
+        cerrarPool();
+        url = nuevaUrl;
+        usuario = nuevoUsuario;
+        contrasenia = nuevaContrasenia;
+    }
+
+    /**
+     * Registra una tarea que se ejecutará al terminar el programa, antes de cerrar el pool,
+     * por ejemplo para escribir datos pendientes.
+     *
+     * @param tarea tarea a ejecutar al salir
+     */
+    public static synchronized void agregarTareaDeCierre(Runnable tarea) {
+        tareasDeCierre.add(tarea);
+    }
+
+    /**
+     * Ejecuta las tareas de cierre y luego cierra el pool. Se llama desde el hook de salida.
+     */
+    private static void cerrarAlSalir() {
+        List<Runnable> tareas;
+        synchronized (conexionBD.class) {
+            tareas = new ArrayList<>(tareasDeCierre);
+        }
+        // Fuera del bloqueo: las tareas pueden necesitar pedir conexiones
+        for (Runnable tarea : tareas) {
+            try {
+                tarea.run();
+            } catch (RuntimeException e) {
+                System.err.println("Error en una tarea de cierre: " + e.getMessage());
+            }
+        }
+        cerrarPool();
+    }
+
+    /**
+     * Cierra el pool y todas sus conexiones libres.
+     * El próximo pedido de conexión crea un pool nuevo.
+     */
+    public static synchronized void cerrarPool() {
+        if (pool != null) {
+            pool.cerrar();
+            pool = null;
+        }
+    }
 }
@@ -0,0 +1,680 @@
+package controlador;
+
+import conexion.conexionBD;
+import modelo.AsistenciaDelDia;
+import modelo.EstadoAsistencia;
+import modelo.ResumenAsistencia;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Copia en memoria, por columnas, de todas las filas de asistencia (asistencia ⋈ asistenciadetalle),
+ * para calcular porcentajes de asistencia de toda la escuela sin crear un objeto por fila.
+ *
+ * Cada fila ocupa un lugar en arreglos primitivos paralelos: día (epoch day), curso, materia
+ * (0 en la asistencia general del preceptor), estudiante, toma de asistencia y estado
+ * (código de {@link EstadoAsistencia}). Curso, materia y estudiante se guardan como índices
+ * consecutivos (0, 1, 2...) en lugar de su ID, de modo que agrupar por cualquiera de ellos usa
+ * arreglos del tamaño de las claves distintas y no del ID más grande. Los resúmenes recorren
+ * los arreglos con streams paralelos.
+ *
+ * La copia se carga recién con el primer resumen que se pide (desde la ventana de resúmenes del
+ * Directivo); las terminales que nunca piden resúmenes no la cargan. Las consultas hechas antes de
+ * que termine la carga la esperan; si la carga falla se informa por consola, se devuelven resúmenes
+ * vacíos y se reintenta en la próxima consulta.
+ *
+ * Una vez cargada, la copia se mantiene así:
+ * <ul>
+ *   <li>las asistencias que se guardan o editan en esta terminal desde {@link ControladorAsistencia}
+ *       se aplican en el momento (los cambios que llegan mientras se carga se aplican al terminar);</li>
+ *   <li>las tomas guardadas en otras terminales se leen en segundo plano, con una consulta por las
+ *       tomas de ID mayor al último leído, cuando se pide un resumen y pasó el intervalo de refresco;</li>
+ *   <li>las ediciones hechas en otras terminales aparecen con la recarga completa, que se hace en
+ *       segundo plano de la misma forma cuando pasó el intervalo de recarga.</li>
+ * </ul>
+ * Mientras se refresca o se recarga, los resúmenes se siguen respondiendo con la versión anterior.
+ *
+ * Ajustes por propiedades del sistema: sige.asistencias.filasPorPagina, filas leídas por consulta
+ * durante la carga (50000); sige.asistencias.refrescoMs (60000) y sige.asistencias.recargaMs (1800000).
+ *
+ * @author Yonatan
+ */
+public class AlmacenAsistencias {
+
+    /** Valor de filtro que acepta cualquier curso o estudiante */
+    public static final int TODOS = 0;
+
+    /** Valor de filtro de materia que acepta tanto la asistencia general como la de cualquier materia */
+    public static final int CUALQUIER_MATERIA = -1;
+
+    /** Valor de filtro de materia que acepta solo la asistencia general del preceptor */
+    public static final int SIN_MATERIA = 0;
+
+    private static final int FILAS_POR_PAGINA = Integer.getInteger("sige.asistencias.filasPorPagina", 50_000);
+    private static final long REFRESCO_NS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("sige.asistencias.refrescoMs", 60_000L));
+    private static final long RECARGA_NS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("sige.asistencias.recargaMs", 1_800_000L));
+
+    // Cada refresco vuelve a pedir las últimas tomas ya leídas, por si otra terminal confirmó
+    // una toma de ID menor después de que se leyera una de ID mayor. Las repetidas se descartan.
+    private static final int MARGEN_RELECTURA = 50;
+
+    // Cantidad de códigos de estado, incluido SIN_REGISTRO
+    private static final int CODIGOS = EstadoAsistencia.values().length + 1;
+
+    // Con más claves distintas que esto se agrupa con un mapa en lugar de un arreglo denso
+    private static final int MAXIMO_CLAVES_DENSAS = 65_536;
+
+    // Índice de filtro que acepta cualquier valor, y el de un ID que no aparece en ninguna fila
+    private static final int CUALQUIERA = -1;
+    private static final int NINGUNO = -2;
+
+    private static final Object CERROJO = new Object();
+
+    // Escritura: solo con CERROJO. Null hasta que termina la carga inicial.
+    private static Tabla tabla;
+    private static CompletableFuture<Void> carga;
+    private static CompletableFuture<Void> refresco;
+    private static long ultimaCarga;
+    private static long ultimoRefresco;
+    // Cambios hechos mientras corre una carga completa, que se vuelven a aplicar sobre la tabla nueva
+    private static final List<Runnable> PENDIENTES = new ArrayList<>();
+
+    // Lectura: última versión publicada de las columnas
+    private static volatile Columnas columnas;
+
+    private AlmacenAsistencias() {
+    }
+
+    // ===================== CARGA =====================
+
+    /**
+     * Empieza a cargar la copia en segundo plano, si no se cargó ni se está cargando.
+     */
+    public static void iniciarCarga() {
+        synchronized (CERROJO) {
+            if (tabla != null || carga != null) {
+                return;
+            }
+            carga = enSegundoPlano(AlmacenAsistencias::cargar, "sige-carga-asistencias");
+        }
+    }
+
+    /**
+     * @return columnas actuales, esperando la carga inicial si hace falta; null si la carga falló
+     */
+    private static Columnas columnasCargadas() {
+        Columnas actuales = columnas;
+        if (actuales != null) {
+            mantenerAlDia();
+            return actuales;
+        }
+        iniciarCarga();
+        CompletableFuture<Void> enCurso;
+        synchronized (CERROJO) {
+            enCurso = carga;
+        }
+        if (enCurso != null) {
+            try {
+                enCurso.join();
+            } catch (RuntimeException e) {
+                // Ya se informó al fallar la carga
+            }
+        }
+        return columnas;
+    }
+
+    /**
+     * Si pasó el intervalo correspondiente, lanza en segundo plano la recarga completa
+     * o el refresco de las tomas nuevas. No espera a que terminen.
+     */
+    private static void mantenerAlDia() {
+        synchronized (CERROJO) {
+            if (tabla == null || carga != null || refresco != null) {
+                return;
+            }
+            long ahora = System.nanoTime();
+            if (ahora - ultimaCarga >= RECARGA_NS) {
+                carga = enSegundoPlano(AlmacenAsistencias::cargar, "sige-carga-asistencias");
+            } else if (ahora - ultimoRefresco >= REFRESCO_NS) {
+                refresco = enSegundoPlano(AlmacenAsistencias::refrescar, "sige-refresco-asistencias");
+            }
+        }
+    }
+
+    private static CompletableFuture<Void> enSegundoPlano(Runnable tarea, String nombreHilo) {
+        return CompletableFuture.runAsync(tarea, r -> {
+            Thread hilo = new Thread(r, nombreHilo);
+            hilo.setDaemon(true);
+            hilo.start();
+        });
+    }
+
+    /**
+     * Lee todas las filas y reemplaza la tabla. Sirve tanto para la carga inicial como para la recarga.
+     */
+    private static void cargar() {
+        Tabla cargada = new Tabla(FILAS_POR_PAGINA);
+        String sql = """
+            SELECT d.idDetalle, d.idAsistencia, d.idEstudiante, d.estado, a.fecha, a.idCurso, a.idMateria
+            FROM asistenciadetalle d
+            JOIN asistencia a ON d.idAsistencia = a.idAsistencia
+            WHERE d.idDetalle > ?
+            ORDER BY d.idDetalle
+            LIMIT ?
+        """;
+
+        try (Connection conn = conexionBD.obtenerConexion();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int ultimoDetalle = 0;
+            int leidas;
+            do {
+                stmt.setInt(1, ultimoDetalle);
+                stmt.setInt(2, FILAS_POR_PAGINA);
+                leidas = 0;
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ultimoDetalle = rs.getInt("idDetalle");
+                        leidas++;
+                        leerFila(rs, cargada);
+                    }
+                }
+            } while (leidas == FILAS_POR_PAGINA);
+
+        } catch (SQLException e) {
+            System.err.println("Error al cargar las asistencias en memoria: " + e.getMessage());
+            synchronized (CERROJO) {
+                carga = null; // Se reintenta en la próxima consulta
+                PENDIENTES.clear(); // La próxima carga los lee de la base
+            }
+            throw new IllegalStateException(e);
+        }
+
+        synchronized (CERROJO) {
+            tabla = cargada;
+            for (Runnable cambio : PENDIENTES) {
+                cambio.run();
+            }
+            PENDIENTES.clear();
+            columnas = tabla.publicar();
+            carga = null;
+            ultimaCarga = System.nanoTime();
+            ultimoRefresco = ultimaCarga;
+        }
+    }
+
+    /**
+     * Agrega las tomas guardadas en otras terminales desde la última lectura.
+     */
+    private static void refrescar() {
+        int desde;
+        synchronized (CERROJO) {
+            desde = Math.max(0, tabla.ultimaLeida - MARGEN_RELECTURA);
+        }
+        Tabla nuevas = new Tabla(1024);
+        String sql = """
+            SELECT d.idAsistencia, d.idEstudiante, d.estado, a.fecha, a.idCurso, a.idMateria
+            FROM asistencia a
+            JOIN asistenciadetalle d ON d.idAsistencia = a.idAsistencia
+            WHERE a.idAsistencia > ?
+            ORDER BY a.idAsistencia, d.idDetalle
+        """;
+
+        try (Connection conn = conexionBD.obtenerConexion();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, desde);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    leerFila(rs, nuevas);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al refrescar las asistencias en memoria: " + e.getMessage());
+        }
+
+        synchronized (CERROJO) {
+            // La tabla pudo haber sido reemplazada por una recarga mientras tanto; las tomas repetidas se descartan
+            if (tabla.agregarTomasNuevas(nuevas)) {
+                columnas = tabla.publicar();
+            }
+            refresco = null;
+            ultimoRefresco = System.nanoTime();
+        }
+    }
+
+    private static void leerFila(ResultSet rs, Tabla destino) throws SQLException {
+        int idAsistencia = rs.getInt("idAsistencia");
+        destino.ultimaLeida = Math.max(destino.ultimaLeida, idAsistencia);
+        EstadoAsistencia estado = EstadoAsistencia.buscar(rs.getString("estado"));
+        if (estado == null) {
+            return; // Texto que no corresponde a ningún estado: no cuenta en los porcentajes
+        }
+        destino.agregar(idAsistencia, (int) rs.getDate("fecha").toLocalDate().toEpochDay(),
+                rs.getInt("idCurso"), rs.getInt("idMateria"), rs.getInt("idEstudiante"), estado.getCodigo());
+    }
+
+    // ===================== MANTENIMIENTO =====================
+
+    /**
+     * Agrega las filas de una toma de asistencia recién guardada.
+     *
+     * @param idAsistencia ID generado de la toma
+     * @param fecha fecha de la toma
+     * @param idCurso curso
+     * @param idMateria materia, o 0 para la asistencia general
+     * @param estados estado de cada estudiante
+     */
+    static void registrar(int idAsistencia, LocalDate fecha, int idCurso, int idMateria, AsistenciaDelDia estados) {
+        int dia = (int) fecha.toEpochDay();
+        Runnable cambio = () -> {
+            // Si la carga o un refresco ya leyeron esta toma no se agrega dos veces
+            if (tabla.contieneAsistencia(idAsistencia)) {
+                return;
+            }
+            for (int i = 0; i < estados.getCantidad(); i++) {
+                tabla.agregar(idAsistencia, dia, idCurso, idMateria, estados.getIdEstudiante(i),
+                        estados.getEstado(i).getCodigo());
+            }
+        };
+        aplicar(cambio);
+    }
+
+    /**
+     * Actualiza el estado de los estudiantes de una toma de asistencia editada.
+     *
+     * @param idAsistencia ID de la toma
+     * @param nuevosEstados nuevo estado de cada estudiante
+     */
+    static void actualizar(int idAsistencia, AsistenciaDelDia nuevosEstados) {
+        aplicar(() -> tabla.cambiarEstados(idAsistencia, nuevosEstados));
+    }
+
+    /**
+     * Aplica el cambio a la tabla cargada y, si hay una carga en curso, lo guarda para aplicarlo
+     * también sobre la tabla nueva. Si la copia nunca se cargó no hace nada: la carga lo leerá de la base.
+     */
+    private static void aplicar(Runnable cambio) {
+        synchronized (CERROJO) {
+            if (carga != null) {
+                PENDIENTES.add(cambio);
+            }
+            if (tabla != null) {
+                cambio.run();
+                columnas = tabla.publicar();
+            }
+        }
+    }
+
+    // ===================== RESÚMENES =====================
+
+    /**
+     * Resume las filas que cumplen todos los filtros.
+     *
+     * @param desde primer día incluido, o null para no limitar
+     * @param hasta último día incluido, o null para no limitar
+     * @param idCurso curso, o {@link #TODOS}
+     * @param idMateria materia, {@link #SIN_MATERIA} o {@link #CUALQUIER_MATERIA}
+     * @param idEstudiante estudiante, o {@link #TODOS}
+     * @return cantidad de registros por estado
+     */
+    public static ResumenAsistencia resumir(LocalDate desde, LocalDate hasta, int idCurso, int idMateria, int idEstudiante) {
+        Columnas c = columnasCargadas();
+        if (c == null) {
+            return new ResumenAsistencia(new long[CODIGOS]);
+        }
+        Filtro filtro = new Filtro(c, desde, hasta, idCurso, idMateria, idEstudiante);
+        long[] cuentas = IntStream.range(0, c.cantidad).parallel()
+                .filter(i -> filtro.acepta(c, i))
+                .collect(() -> new long[CODIGOS], (acumulado, i) -> acumulado[c.estados[i]]++, AlmacenAsistencias::sumar);
+        return new ResumenAsistencia(cuentas);
+    }
+
+    /**
+     * @return resumen de cada curso en el período, ordenado por ID de curso
+     */
+    public static Map<Integer, ResumenAsistencia> resumirPorCurso(LocalDate desde, LocalDate hasta, int idMateria) {
+        Columnas c = columnasCargadas();
+        if (c == null) {
+            return new TreeMap<>();
+        }
+        return agrupar(c, c.cursos, c.idsCurso, new Filtro(c, desde, hasta, TODOS, idMateria, TODOS));
+    }
+
+    /**
+     * @return resumen de cada estudiante en el período (de un curso o de todos), ordenado por ID de estudiante
+     */
+    public static Map<Integer, ResumenAsistencia> resumirPorEstudiante(int idCurso, LocalDate desde, LocalDate hasta, int idMateria) {
+        Columnas c = columnasCargadas();
+        if (c == null) {
+            return new TreeMap<>();
+        }
+        return agrupar(c, c.estudiantes, c.idsEstudiante, new Filtro(c, desde, hasta, idCurso, idMateria, TODOS));
+    }
+
+    /**
+     * @return resumen de cada materia en el período (de un curso o de todos), ordenado por ID de materia;
+     *         la clave 0 es la asistencia general del preceptor
+     */
+    public static Map<Integer, ResumenAsistencia> resumirPorMateria(int idCurso, LocalDate desde, LocalDate hasta) {
+        Columnas c = columnasCargadas();
+        if (c == null) {
+            return new TreeMap<>();
+        }
+        return agrupar(c, c.materias, c.idsMateria, new Filtro(c, desde, hasta, idCurso, CUALQUIER_MATERIA, TODOS));
+    }
+
+    /**
+     * @return cantidad de filas en memoria (0 si todavía no se cargaron)
+     */
+    public static int getCantidadFilas() {
+        Columnas c = columnas;
+        return c == null ? 0 : c.cantidad;
+    }
+
+    /**
+     * Cuenta las filas aceptadas por clave y estado.
+     *
+     * @param clave columna con el índice de la clave de cada fila
+     * @param claves IDs que corresponden a esos índices
+     */
+    private static Map<Integer, ResumenAsistencia> agrupar(Columnas c, int[] clave, Claves claves, Filtro filtro) {
+        Map<Integer, ResumenAsistencia> resultado = new TreeMap<>();
+
+        if (claves.cantidad <= MAXIMO_CLAVES_DENSAS) {
+            // Un contador por clave y estado en un único arreglo: no se crea ningún objeto por fila.
+            // Las filas se reparten en un tramo por hilo, así se crea un solo arreglo por tramo.
+            int largo = claves.cantidad * CODIGOS;
+            int tramos = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism(), c.cantidad / 10_000));
+            long[] cuentas = IntStream.range(0, tramos).parallel()
+                    .mapToObj(t -> {
+                        long[] acumulado = new long[largo];
+                        int fin = (int) ((long) c.cantidad * (t + 1) / tramos);
+                        for (int i = (int) ((long) c.cantidad * t / tramos); i < fin; i++) {
+                            if (filtro.acepta(c, i)) {
+                                acumulado[clave[i] * CODIGOS + c.estados[i]]++;
+                            }
+                        }
+                        return acumulado;
+                    })
+                    .reduce((a, b) -> {
+                        sumar(a, b);
+                        return a;
+                    })
+                    .orElseGet(() -> new long[largo]);
+            for (int k = 0; k < claves.cantidad; k++) {
+                int inicio = k * CODIGOS;
+                long total = 0;
+                for (int e = 0; e < CODIGOS; e++) {
+                    total += cuentas[inicio + e];
+                }
+                if (total > 0) {
+                    resultado.put(claves.ids[k], new ResumenAsistencia(Arrays.copyOfRange(cuentas, inicio, inicio + CODIGOS)));
+                }
+            }
+        } else {
+            Map<Integer, long[]> cuentas = IntStream.range(0, c.cantidad).parallel()
+                    .filter(i -> filtro.acepta(c, i))
+                    .collect(HashMap::new,
+                            (acumulado, i) -> acumulado.computeIfAbsent(clave[i], k -> new long[CODIGOS])[c.estados[i]]++,
+                            (a, b) -> b.forEach((k, v) -> a.merge(k, v, (x, y) -> {
+                                sumar(x, y);
+                                return x;
+                            })));
+            cuentas.forEach((k, v) -> resultado.put(claves.ids[k], new ResumenAsistencia(v)));
+        }
+        return resultado;
+    }
+
+    private static void sumar(long[] a, long[] b) {
+        for (int i = 0; i < a.length; i++) {
+            a[i] += b[i];
+        }
+    }
+
+    // ===================== ESTRUCTURAS =====================
+
+    /**
+     * Criterio de selección de filas. Los límites de fecha se pasan a epoch day y los IDs
+     * a índices de las columnas una sola vez.
+     */
+    private static final class Filtro {
+        private final int desde;
+        private final int hasta;
+        private final int curso;
+        private final int materia;
+        private final int estudiante;
+
+        Filtro(Columnas c, LocalDate desde, LocalDate hasta, int idCurso, int idMateria, int idEstudiante) {
+            this.desde = desde == null ? Integer.MIN_VALUE : (int) desde.toEpochDay();
+            this.hasta = hasta == null ? Integer.MAX_VALUE : (int) hasta.toEpochDay();
+            this.curso = idCurso == TODOS ? CUALQUIERA : c.idsCurso.indiceDe(idCurso);
+            this.materia = idMateria == CUALQUIER_MATERIA ? CUALQUIERA : c.idsMateria.indiceDe(idMateria);
+            this.estudiante = idEstudiante == TODOS ? CUALQUIERA : c.idsEstudiante.indiceDe(idEstudiante);
+        }
+
+        boolean acepta(Columnas c, int i) {
+            int dia = c.dias[i];
+            return dia >= desde && dia <= hasta
+                    && (curso == CUALQUIERA || c.cursos[i] == curso)
+                    && (materia == CUALQUIERA || c.materias[i] == materia)
+                    && (estudiante == CUALQUIERA || c.estudiantes[i] == estudiante);
+        }
+    }
+
+    /**
+     * IDs de una columna de claves en una versión publicada: el índice i corresponde a {@code ids[i]}.
+     */
+    private static final class Claves {
+        private final int[] ids;
+        private final int cantidad;
+
+        Claves(int[] ids, int cantidad) {
+            this.ids = ids;
+            this.cantidad = cantidad;
+        }
+
+        /** @return índice del ID, o {@link #NINGUNO} si no aparece en ninguna fila */
+        int indiceDe(int id) {
+            for (int i = 0; i < cantidad; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return NINGUNO;
+        }
+    }
+
+    /**
+     * Asigna a cada ID un índice consecutivo en el orden en que aparece. Los IDs solo se agregan
+     * al final, así que una versión publicada sigue siendo válida con la cantidad que tenía.
+     */
+    private static final class Diccionario {
+        private final Map<Integer, Integer> indices = new HashMap<>();
+        private int[] ids = new int[64];
+        private int cantidad;
+        // Las filas llegan agrupadas por toma: casi siempre se repite el último curso y la última materia
+        private int ultimoId = -1;
+        private int ultimoIndice = -1;
+
+        /** @return índice del ID, asignándole uno nuevo si no lo tenía */
+        int indice(int id) {
+            if (id == ultimoId) {
+                return ultimoIndice;
+            }
+            Integer indice = indices.get(id);
+            if (indice == null) {
+                if (cantidad == ids.length) {
+                    ids = Arrays.copyOf(ids, cantidad * 2);
+                }
+                ids[cantidad] = id;
+                indice = cantidad++;
+                indices.put(id, indice);
+            }
+            ultimoId = id;
+            ultimoIndice = indice;
+            return indice;
+        }
+
+        int id(int indice) {
+            return ids[indice];
+        }
+
+        Claves publicar() {
+            return new Claves(ids, cantidad);
+        }
+    }
+
+    /**
+     * Versión publicada de las columnas: las primeras {@code cantidad} posiciones de cada arreglo.
+     * Las filas nuevas se escriben después de esa cantidad y los cambios de estado se hacen sobre
+     * una copia del arreglo de estados, por lo que no afectan a quien la esté leyendo.
+     */
+    private static final class Columnas {
+        private final int[] asistencias;
+        private final int[] dias;
+        private final int[] cursos;
+        private final int[] materias;
+        private final int[] estudiantes;
+        private final byte[] estados;
+        private final int cantidad;
+        private final Claves idsCurso;
+        private final Claves idsMateria;
+        private final Claves idsEstudiante;
+
+        Columnas(Tabla t) {
+            this.asistencias = t.asistencias;
+            this.dias = t.dias;
+            this.cursos = t.cursos;
+            this.materias = t.materias;
+            this.estudiantes = t.estudiantes;
+            this.estados = t.estados;
+            this.cantidad = t.cantidad;
+            this.idsCurso = t.idsCurso.publicar();
+            this.idsMateria = t.idsMateria.publicar();
+            this.idsEstudiante = t.idsEstudiante.publicar();
+        }
+    }
+
+    /**
+     * Columnas que crecen a medida que se agregan filas.
+     */
+    private static final class Tabla {
+        // Tomas con al menos una fila, para no agregar dos veces la misma
+        private final BitSet tomas = new BitSet();
+        // Mayor ID de toma leído de la base (no cuenta las agregadas desde esta terminal)
+        private int ultimaLeida;
+        private int[] asistencias;
+        private int[] dias;
+        // Índices en idsCurso, idsMateria e idsEstudiante
+        private int[] cursos;
+        private int[] materias;
+        private int[] estudiantes;
+        private byte[] estados;
+        private int cantidad;
+        private final Diccionario idsCurso = new Diccionario();
+        private final Diccionario idsMateria = new Diccionario();
+        private final Diccionario idsEstudiante = new Diccionario();
+
+        Tabla(int capacidad) {
+            asistencias = new int[capacidad];
+            dias = new int[capacidad];
+            cursos = new int[capacidad];
+            materias = new int[capacidad];
+            estudiantes = new int[capacidad];
+            estados = new byte[capacidad];
+        }
+
+        void agregar(int idAsistencia, int dia, int idCurso, int idMateria, int idEstudiante, byte estado) {
+            if (cantidad == dias.length) {
+                int nuevoLargo = Math.max(1024, cantidad + (cantidad >> 1));
+                asistencias = Arrays.copyOf(asistencias, nuevoLargo);
+                dias = Arrays.copyOf(dias, nuevoLargo);
+                cursos = Arrays.copyOf(cursos, nuevoLargo);
+                materias = Arrays.copyOf(materias, nuevoLargo);
+                estudiantes = Arrays.copyOf(estudiantes, nuevoLargo);
+                estados = Arrays.copyOf(estados, nuevoLargo);
+            }
+            asistencias[cantidad] = idAsistencia;
+            dias[cantidad] = dia;
+            cursos[cantidad] = idsCurso.indice(idCurso);
+            materias[cantidad] = idsMateria.indice(idMateria);
+            estudiantes[cantidad] = idsEstudiante.indice(idEstudiante);
+            estados[cantidad] = estado;
+            cantidad++;
+            tomas.set(idAsistencia);
+        }
+
+        boolean contieneAsistencia(int idAsistencia) {
+            return tomas.get(idAsistencia);
+        }
+
+        /**
+         * Agrega las filas de las tomas que todavía no están. Las filas de cada toma vienen juntas.
+         *
+         * @return true si se agregó alguna fila
+         */
+        boolean agregarTomasNuevas(Tabla nuevas) {
+            int antes = cantidad;
+            int tomaActual = -1;
+            boolean repetida = false;
+            for (int i = 0; i < nuevas.cantidad; i++) {
+                int idAsistencia = nuevas.asistencias[i];
+                if (idAsistencia != tomaActual) {
+                    tomaActual = idAsistencia;
+                    repetida = contieneAsistencia(idAsistencia);
+                }
+                if (!repetida) {
+                    agregar(idAsistencia, nuevas.dias[i], nuevas.idsCurso.id(nuevas.cursos[i]),
+                            nuevas.idsMateria.id(nuevas.materias[i]), nuevas.idsEstudiante.id(nuevas.estudiantes[i]),
+                            nuevas.estados[i]);
+                }
+            }
+            ultimaLeida = Math.max(ultimaLeida, nuevas.ultimaLeida);
+            return cantidad > antes;
+        }
+
+        /**
+         * Cambia los estados de una toma sobre una copia del arreglo de estados, para que
+         * las versiones ya publicadas no cambien mientras alguien las recorre.
+         */
+        void cambiarEstados(int idAsistencia, AsistenciaDelDia nuevosEstados) {
+            if (!contieneAsistencia(idAsistencia)) {
+                return;
+            }
+            estados = Arrays.copyOf(estados, estados.length);
+            for (int i = 0; i < cantidad; i++) {
+                if (asistencias[i] != idAsistencia) {
+                    continue;
+                }
+                int idEstudiante = idsEstudiante.id(estudiantes[i]);
+                for (int j = 0; j < nuevosEstados.getCantidad(); j++) {
+                    if (nuevosEstados.getIdEstudiante(j) == idEstudiante) {
+                        estados[i] = nuevosEstados.getEstado(j).getCodigo();
+                        break;
+                    }
+                }
+            }
+        }
+
+        Columnas publicar() {
+            return new Columnas(this);
+        }
+    }
+}
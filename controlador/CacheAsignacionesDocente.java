@@ -0,0 +1,154 @@
+package controlador;
+
+import conexion.conexionBD;
+import modelo.AsignacionesDocente;
+import modelo.Curso;
+import modelo.Materia;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache por sesión de las asignaciones docente_materia_curso de cada usuario.
+ *
+ * Las ventanas del docente consultan sus cursos y materias cada vez que se abren o cambia
+ * un combo. Con este cache todas las asignaciones del usuario se leen una sola vez por sesión,
+ * con una consulta, y se responden desde un {@link AsignacionesDocente} indexado.
+ *
+ * Al iniciar sesión se descartan las asignaciones del usuario y se vuelven a leer en segundo plano.
+ * Los refrescos posteriores, en cambio, no las descartan: se siguen entregando las anteriores
+ * hasta que termina la lectura nueva.
+ * Quien modifique docente_materia_curso debe llamar a {@link #invalidar(int)}.
+ * Si la lectura falla no se guarda nada y se entregan asignaciones vacías.
+ *
+ * @author Yonatan
+ */
+public class CacheAsignacionesDocente {
+
+    private static final Map<Integer, AsignacionesDocente> ASIGNACIONES = new ConcurrentHashMap<>();
+    private static final Map<Integer, CompletableFuture<AsignacionesDocente>> LECTURAS_EN_CURSO = new ConcurrentHashMap<>();
+
+    private CacheAsignacionesDocente() {
+    }
+
+    /**
+     * @param idUsuario ID del usuario
+     * @return asignaciones del usuario; vacías si no se pudieron leer
+     */
+    public static AsignacionesDocente obtener(int idUsuario) {
+        AsignacionesDocente asignaciones = ASIGNACIONES.get(idUsuario);
+        if (asignaciones != null) {
+            return asignaciones;
+        }
+        return leer(idUsuario, false).join();
+    }
+
+    /**
+     * Descarta las asignaciones guardadas del usuario que inicia sesión y las lee en segundo plano,
+     * para que estén listas cuando abra la primera ventana.
+     *
+     * @param idUsuario ID del usuario que inició sesión
+     */
+    public static void iniciarSesion(int idUsuario) {
+        invalidar(idUsuario);
+        leer(idUsuario, true);
+    }
+
+    /**
+     * Vuelve a leer las asignaciones del usuario y, al terminar, reemplaza las guardadas.
+     * Mientras se lee, {@link #obtener(int)} sigue respondiendo con las anteriores.
+     *
+     * @param idUsuario ID del usuario
+     * @return asignaciones leídas; vacías si no se pudieron leer, en cuyo caso se conservan las anteriores
+     */
+    public static AsignacionesDocente refrescar(int idUsuario) {
+        return leer(idUsuario, false).join();
+    }
+
+    /** @param idUsuario usuario cuyas asignaciones cambiaron */
+    public static void invalidar(int idUsuario) {
+        ASIGNACIONES.remove(idUsuario);
+        LECTURAS_EN_CURSO.remove(idUsuario);
+    }
+
+    /** Vacía el cache, por ejemplo tras reasignar materias a varios docentes. */
+    public static void invalidarTodo() {
+        ASIGNACIONES.clear();
+        LECTURAS_EN_CURSO.clear();
+    }
+
+    /**
+     * Inicia la lectura, salvo que ya haya una en curso para el usuario, en cuyo caso devuelve esa.
+     */
+    private static CompletableFuture<AsignacionesDocente> leer(int idUsuario, boolean enSegundoPlano) {
+        CompletableFuture<AsignacionesDocente> nueva = new CompletableFuture<>();
+        CompletableFuture<AsignacionesDocente> enCurso = LECTURAS_EN_CURSO.putIfAbsent(idUsuario, nueva);
+        if (enCurso != null) {
+            return enCurso;
+        }
+
+        Runnable lectura = () -> {
+            try {
+                AsignacionesDocente leidas = consultar(idUsuario);
+                // Solo se guarda si nadie invalidó al usuario mientras se leía
+                if (leidas != null && LECTURAS_EN_CURSO.get(idUsuario) == nueva) {
+                    ASIGNACIONES.put(idUsuario, leidas);
+                }
+                nueva.complete(leidas != null ? leidas : AsignacionesDocente.vacias(idUsuario));
+            } finally {
+                LECTURAS_EN_CURSO.remove(idUsuario, nueva);
+            }
+        };
+
+        if (enSegundoPlano) {
+            Thread hilo = new Thread(lectura, "sige-asignaciones-docente");
+            hilo.setDaemon(true);
+            hilo.start();
+        } else {
+            lectura.run();
+        }
+        return nueva;
+    }
+
+    /**
+     * @return todas las asignaciones del usuario, con cualquier rol, o null si hubo un error
+     */
+    private static AsignacionesDocente consultar(int idUsuario) {
+        List<AsignacionesDocente.Asignacion> asignaciones = new ArrayList<>();
+        String sql = """
+            SELECT c.idCurso, c.nombreCurso, c.anio, dmc.idMateria, m.nombre_materia, ur.idRol
+            FROM docente_materia_curso dmc
+            JOIN usuarios_rol ur ON dmc.idUsuarioRol = ur.idUsuarioRol
+            JOIN curso c ON dmc.idCurso = c.idCurso
+            LEFT JOIN materia m ON dmc.idMateria = m.idMateria
+            WHERE ur.idUsuario = ?
+        """;
+
+        try (Connection conn = conexionBD.obtenerConexion();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idUsuario);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    asignaciones.add(new AsignacionesDocente.Asignacion(
+                            new Curso(rs.getInt("idCurso"), rs.getString("nombreCurso"), rs.getInt("anio")),
+                            new Materia(rs.getInt("idMateria"), rs.getString("nombre_materia")),
+                            rs.getInt("idRol")
+                    ));
+                }
+            }
+            return new AsignacionesDocente(idUsuario, asignaciones);
+
+        } catch (SQLException e) {
+            System.err.println("Error al obtener las asignaciones del docente: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package controlador;
+
+import conexion.MetricasBD;
+import conexion.conexionBD;
+import modelo.Curso;
+import modelo.Materia;
+import modelo.Usuario;
+import util.CacheTemporal;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache compartido de datos de referencia del sistema SIGE: cursos, materias y usuarios.
+ * Son datos que cambian pocas veces al año pero que las vistas consultan una y otra vez
+ * al dibujar listados (nombre del curso, de la materia o del docente de cada fila).
+ *
+ * Se precarga completo al iniciar sesión y cada entrada vence según el tiempo de vida
+ * configurado. La precarga guarda además la lista completa de cursos, que se conserva hasta
+ * la próxima precarga ({@link ContextoSesion} la repite periódicamente). Quien modifique alguno
+ * de estos datos debe invalidar la entrada correspondiente para que la próxima consulta vuelva a la base.
+ *
+ * Los objetos guardados se comparten entre todas las ventanas y no deben modificarse:
+ * {@link ControladorConsulta} entrega copias hechas con los métodos copia de esta clase.
+ *
+ * Los aciertos de los tres caches se publican en {@link MetricasBD} (MBean sige:type=MetricasBD).
+ *
+ * Ajustes por propiedades del sistema: sige.cache.referencia.ttlMs y sige.cache.referencia.maximo.
+ *
+ * @author Yonatan
+ */
+public class CacheDatosReferencia {
+
+    private static final long TTL_MS = Long.getLong("sige.cache.referencia.ttlMs", 600_000L);
+    private static final int MAXIMO = Integer.getInteger("sige.cache.referencia.maximo", 5_000);
+
+    private static final CacheTemporal<Integer, Curso> CURSOS = new CacheTemporal<>("cursos", TTL_MS, MAXIMO);
+    private static final CacheTemporal<Integer, Materia> MATERIAS = new CacheTemporal<>("materias", TTL_MS, MAXIMO);
+    private static final CacheTemporal<Integer, Usuario> USUARIOS = new CacheTemporal<>("usuarios", TTL_MS, MAXIMO);
+
+    // Todos los cursos ordenados por ID, o null si no se precargaron o se invalidaron
+    private static volatile List<Curso> listaCursos;
+
+    static {
+        MetricasBD.registrarCache("referencia", CacheDatosReferencia::resumenEstadisticas);
+    }
+
+    private CacheDatosReferencia() {
+    }
+
+    /** @return cache de cursos por idCurso */
+    public static CacheTemporal<Integer, Curso> getCursos() {
+        return CURSOS;
+    }
+
+    /** @return cache de materias por idMateria */
+    public static CacheTemporal<Integer, Materia> getMaterias() {
+        return MATERIAS;
+    }
+
+    /** @return cache de usuarios (nombre, apellido y email) por idUsuario */
+    public static CacheTemporal<Integer, Usuario> getUsuarios() {
+        return USUARIOS;
+    }
+
+    /**
+     * @return lista no modificable de todos los cursos ordenados por ID,
+     *         o null si todavía no se precargó o se invalidó algún curso
+     */
+    public static List<Curso> getListaCursos() {
+        return listaCursos;
+    }
+
+    // ===================== PRECARGA =====================
+
+    /**
+     * Carga de una vez todos los cursos, materias y usuarios, con una consulta por tabla.
+     */
+    public static void precargar() {
+        try (Connection conn = conexionBD.obtenerConexion();
+             Statement stmt = conn.createStatement()) {
+
+            Map<Integer, Curso> cursos = new HashMap<>();
+            List<Curso> todos = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT idCurso, nombreCurso, anio FROM curso ORDER BY idCurso")) {
+                while (rs.next()) {
+                    int id = rs.getInt("idCurso");
+                    Curso curso = new Curso(id, rs.getString("nombreCurso"), rs.getInt("anio"));
+                    cursos.put(id, curso);
+                    todos.add(curso);
+                }
+            }
+            CURSOS.ponerTodos(cursos);
+            listaCursos = List.copyOf(todos);
+
+            Map<Integer, Materia> materias = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT idMateria, nombre_materia FROM materia")) {
+                while (rs.next()) {
+                    int id = rs.getInt("idMateria");
+                    materias.put(id, new Materia(id, rs.getString("nombre_materia")));
+                }
+            }
+            MATERIAS.ponerTodos(materias);
+
+            Map<Integer, Usuario> usuarios = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery("SELECT idUsuario, nombre, apellido, email FROM usuario")) {
+                while (rs.next()) {
+                    int id = rs.getInt("idUsuario");
+                    usuarios.put(id, new Usuario(id, rs.getString("nombre"), rs.getString("apellido"), rs.getString("email")));
+                }
+            }
+            USUARIOS.ponerTodos(usuarios);
+
+        } catch (SQLException e) {
+            System.err.println("Error al precargar datos de referencia: " + e.getMessage());
+        }
+    }
+
+    // ===================== INVALIDACIÓN =====================
+
+    /** @param idCurso curso modificado o eliminado */
+    public static void invalidarCurso(int idCurso) {
+        CURSOS.invalidar(idCurso);
+        listaCursos = null;
+    }
+
+    /** @param idMateria materia modificada o eliminada */
+    public static void invalidarMateria(int idMateria) {
+        MATERIAS.invalidar(idMateria);
+    }
+
+    /** @param idUsuario usuario modificado o eliminado */
+    public static void invalidarUsuario(int idUsuario) {
+        USUARIOS.invalidar(idUsuario);
+    }
+
+    /**
+     * Vacía los tres caches, por ejemplo al cerrar sesión o tras una carga masiva de datos.
+     */
+    public static void invalidarTodo() {
+        CURSOS.invalidarTodo();
+        MATERIAS.invalidarTodo();
+        USUARIOS.invalidarTodo();
+        listaCursos = null;
+    }
+
+    // ===================== COPIAS =====================
+
+    /** @return copia del curso guardado, o null si es null */
+    static Curso copia(Curso curso) {
+        return curso == null ? null : new Curso(curso.getIdCurso(), curso.getNombre(), curso.getAnio());
+    }
+
+    /** @return copia de la materia guardada, o null si es null */
+    static Materia copia(Materia materia) {
+        return materia == null ? null : new Materia(materia.getIdMateria(), materia.getNombre());
+    }
+
+    /** @return copia del usuario guardado (nombre, apellido y email), o null si es null */
+    static Usuario copia(Usuario usuario) {
+        return usuario == null ? null
+                : new Usuario(usuario.getIdUsuario(), usuario.getNombre(), usuario.getApellido(), usuario.getEmail());
+    }
+
+    /**
+     * @return estadísticas de los tres caches, separadas por punto y coma
+     */
+    public static String resumenEstadisticas() {
+        return CURSOS + "; " + MATERIAS + "; " + USUARIOS;
+    }
+}
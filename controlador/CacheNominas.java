@@ -0,0 +1,294 @@
+package controlador;
+
+import conexion.MetricasBD;
+import conexion.conexionBD;
+import modelo.Estudiante;
+import modelo.NominaCurso;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache compartido de nóminas de estudiantes por curso. Casi todas las ventanas leen la nómina
+ * del curso al abrirse o al cambiar el curso elegido, y la nómina cambia muy pocas veces en el año.
+ *
+ * - Cada curso se guarda como una {@link NominaCurso} inmutable que comparten todas las ventanas.
+ * - La primera consulta de un curso lee la base; si varias ventanas piden el mismo curso a la vez,
+ *   se hace una sola lectura y todas esperan su resultado.
+ * - Pasado el tiempo de refresco se sigue entregando la nómina guardada y se vuelve a leer
+ *   en segundo plano, sin demorar a la ventana.
+ * - Quien inscriba, cambie de curso o dé de baja a un estudiante debe avisarlo con
+ *   {@link #registrarAlta}, {@link #registrarCambioDeCurso} o {@link #registrarBaja}: se descarta
+ *   solo la nómina de los cursos afectados y se vuelve a leer en segundo plano.
+ * - Los {@link Oyente}s registrados se enteran cuando cambia la nómina de un curso.
+ *
+ * Si la lectura falla no se guarda nada y se entrega una nómina vacía.
+ * Los aciertos se publican en {@link MetricasBD} (MBean sige:type=MetricasBD).
+ *
+ * Ajuste por propiedad del sistema: sige.cache.nominas.refrescoMs (300000).
+ *
+ * @author Yonatan
+ */
+public class CacheNominas {
+
+    private static final long REFRESCO_MS = Long.getLong("sige.cache.nominas.refrescoMs", 300_000L);
+
+    private static final Map<Integer, NominaCurso> NOMINAS = new ConcurrentHashMap<>();
+    private static final Map<Integer, CompletableFuture<NominaCurso>> LECTURAS_EN_CURSO = new ConcurrentHashMap<>();
+
+    // Se incrementa en cada invalidación: una lectura que empezó antes no debe guardarse
+    private static final Map<Integer, Long> VERSIONES = new ConcurrentHashMap<>();
+
+    private static final List<Oyente> OYENTES = new CopyOnWriteArrayList<>();
+
+    private static final ExecutorService REFRESCO = Executors.newSingleThreadExecutor(r -> {
+        Thread hilo = new Thread(r, "sige-nominas");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private static final AtomicLong aciertos = new AtomicLong();
+    private static final AtomicLong fallos = new AtomicLong();
+    private static final AtomicLong refrescos = new AtomicLong();
+    private static final AtomicLong invalidaciones = new AtomicLong();
+
+    /**
+     * Recibe los cambios de nómina. Se llama desde un hilo de fondo: las ventanas deben
+     * pasar al EDT (SwingUtilities.invokeLater) antes de tocar sus componentes.
+     */
+    public interface Oyente {
+        /**
+         * @param idCurso curso cuya nómina cambió
+         * @param nomina nómina nueva
+         */
+        void nominaCambiada(int idCurso, NominaCurso nomina);
+    }
+
+    static {
+        MetricasBD.registrarCache("nominas", CacheNominas::resumenEstadisticas);
+    }
+
+    private CacheNominas() {
+    }
+
+    // ===================== CONSULTA =====================
+
+    /**
+     * @param idCurso ID del curso
+     * @return nómina del curso; vacía si no se pudo leer
+     */
+    public static NominaCurso obtener(int idCurso) {
+        NominaCurso nomina = NOMINAS.get(idCurso);
+        if (nomina != null) {
+            aciertos.incrementAndGet();
+            if (System.currentTimeMillis() - nomina.getCargadaEn() > REFRESCO_MS) {
+                leer(idCurso, true);
+            }
+            return nomina;
+        }
+        fallos.incrementAndGet();
+        return leer(idCurso, false).join();
+    }
+
+    /**
+     * Inicia la lectura del curso, salvo que ya haya una en curso, en cuyo caso devuelve esa.
+     *
+     * @param enSegundoPlano true para leer en el hilo de refresco, false para leer en el hilo actual
+     */
+    private static CompletableFuture<NominaCurso> leer(int idCurso, boolean enSegundoPlano) {
+        CompletableFuture<NominaCurso> nueva = new CompletableFuture<>();
+        CompletableFuture<NominaCurso> enCurso = LECTURAS_EN_CURSO.putIfAbsent(idCurso, nueva);
+        if (enCurso != null) {
+            return enCurso;
+        }
+
+        long version = VERSIONES.getOrDefault(idCurso, 0L);
+        Runnable lectura = () -> {
+            try {
+                NominaCurso leida = consultar(idCurso);
+                nueva.complete(leida != null ? leida : NominaCurso.vacia(idCurso));
+                if (leida != null) {
+                    guardar(leida, version);
+                }
+            } finally {
+                LECTURAS_EN_CURSO.remove(idCurso, nueva);
+            }
+        };
+
+        if (enSegundoPlano) {
+            refrescos.incrementAndGet();
+            REFRESCO.execute(lectura);
+        } else {
+            lectura.run();
+        }
+        return nueva;
+    }
+
+    /**
+     * Guarda la nómina leída si no hubo una invalidación del curso mientras se leía,
+     * y avisa a los oyentes si los estudiantes son distintos de los que había.
+     */
+    private static void guardar(NominaCurso leida, long version) {
+        int idCurso = leida.getIdCurso();
+        NominaCurso[] anterior = new NominaCurso[1];
+        boolean[] guardada = new boolean[1];
+
+        VERSIONES.compute(idCurso, (id, actual) -> {
+            if ((actual == null ? 0L : actual) == version) {
+                anterior[0] = NOMINAS.put(id, leida);
+                guardada[0] = true;
+            }
+            return actual;
+        });
+
+        if (guardada[0] && (anterior[0] == null || !mismosEstudiantes(anterior[0], leida))) {
+            avisar(leida);
+        }
+    }
+
+    private static boolean mismosEstudiantes(NominaCurso a, NominaCurso b) {
+        List<Estudiante> x = a.getEstudiantes();
+        List<Estudiante> y = b.getEstudiantes();
+        if (x.size() != y.size()) {
+            return false;
+        }
+        for (int i = 0; i < x.size(); i++) {
+            Estudiante e1 = x.get(i);
+            Estudiante e2 = y.get(i);
+            if (e1.getIdEstudiante() != e2.getIdEstudiante()
+                    || !Objects.equals(e1.getNombre(), e2.getNombre())
+                    || !Objects.equals(e1.getApellido(), e2.getApellido())
+                    || !Objects.equals(e1.getDni(), e2.getDni())
+                    || !Objects.equals(e1.getTelefono(), e2.getTelefono())
+                    || !Objects.equals(e1.getResponsable(), e2.getResponsable())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return nómina leída de la base, o null si hubo un error
+     */
+    private static NominaCurso consultar(int idCurso) {
+        List<Estudiante> estudiantes = new ArrayList<>();
+        String sql = "SELECT idEstudiante, nombre, apellido, dni, telefono, responsable " +
+                     "FROM estudiante WHERE idCurso = ? ORDER BY apellido, nombre";
+
+        try (Connection conn = conexionBD.obtenerConexion();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idCurso);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    estudiantes.add(new Estudiante(
+                            rs.getInt("idEstudiante"),
+                            rs.getString("nombre"),
+                            rs.getString("apellido"),
+                            rs.getString("dni"),
+                            rs.getString("telefono"),
+                            rs.getString("responsable"),
+                            idCurso
+                    ));
+                }
+            }
+            return new NominaCurso(idCurso, estudiantes, System.currentTimeMillis());
+
+        } catch (SQLException e) {
+            System.err.println("Error al obtener la nómina del curso " + idCurso + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ===================== INVALIDACIÓN =====================
+
+    /** @param idCurso curso en el que se inscribió un estudiante */
+    public static void registrarAlta(int idCurso) {
+        invalidar(idCurso);
+    }
+
+    /**
+     * @param idCursoAnterior curso que dejó el estudiante
+     * @param idCursoNuevo curso al que pasó
+     */
+    public static void registrarCambioDeCurso(int idCursoAnterior, int idCursoNuevo) {
+        invalidar(idCursoAnterior, idCursoNuevo);
+    }
+
+    /** @param idCurso curso del estudiante dado de baja */
+    public static void registrarBaja(int idCurso) {
+        invalidar(idCurso);
+    }
+
+    /**
+     * Descarta la nómina de los cursos indicados y la vuelve a leer en segundo plano.
+     * Las lecturas que estaban en curso ya no se guardan.
+     *
+     * @param idCursos cursos cuya nómina cambió
+     */
+    public static void invalidar(int... idCursos) {
+        for (int idCurso : idCursos) {
+            invalidaciones.incrementAndGet();
+            VERSIONES.compute(idCurso, (id, actual) -> {
+                NOMINAS.remove(id);
+                return actual == null ? 1L : actual + 1;
+            });
+            LECTURAS_EN_CURSO.remove(idCurso);
+            leer(idCurso, true);
+        }
+    }
+
+    /**
+     * Vacía el cache, por ejemplo tras una carga masiva de estudiantes.
+     */
+    public static void invalidarTodo() {
+        for (Integer idCurso : new ArrayList<>(NOMINAS.keySet())) {
+            invalidaciones.incrementAndGet();
+            VERSIONES.merge(idCurso, 1L, Long::sum);
+            NOMINAS.remove(idCurso);
+        }
+        LECTURAS_EN_CURSO.clear();
+    }
+
+    // ===================== OYENTES =====================
+
+    public static void agregarOyente(Oyente oyente) {
+        OYENTES.add(oyente);
+    }
+
+    public static void quitarOyente(Oyente oyente) {
+        OYENTES.remove(oyente);
+    }
+
+    private static void avisar(NominaCurso nomina) {
+        for (Oyente oyente : OYENTES) {
+            try {
+                oyente.nominaCambiada(nomina.getIdCurso(), nomina);
+            } catch (RuntimeException e) {
+                System.err.println("Error al avisar el cambio de nómina: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return estadísticas del cache en una línea
+     */
+    public static String resumenEstadisticas() {
+        long total = aciertos.get() + fallos.get();
+        return String.format("Cache nominas: %d cursos, %d aciertos, %d fallos (%.1f%% aciertos), %d refrescos, %d invalidaciones",
+                NOMINAS.size(), aciertos.get(), fallos.get(),
+                total == 0 ? 0.0 : aciertos.get() * 100.0 / total, refrescos.get(), invalidaciones.get());
+    }
+}
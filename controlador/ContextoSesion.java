@@ -0,0 +1,111 @@
+package controlador;
+
+import modelo.Curso;
+import modelo.NominaCurso;
+import modelo.Usuario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Datos de la sesión del usuario que inició sesión, precargados para que los menús y las
+ * ventanas que abren no empiecen en frío.
+ *
+ * Al iniciar la sesión se cargan a la vez, en segundo plano:
+ * - los datos de referencia (cursos, materias y usuarios) en {@link CacheDatosReferencia};
+ * - las asignaciones docente_materia_curso del usuario en {@link CacheAsignacionesDocente};
+ * - y, apenas se conocen esas asignaciones, la nómina de cada curso asignado en {@link CacheNominas}.
+ *
+ * Los roles ya llegan cargados en el {@link Usuario} desde el login. Mientras dura la sesión la
+ * precarga se repite cada cierto tiempo, también en segundo plano, para que los datos no envejezcan.
+ * Al cerrar la sesión se detiene el refresco.
+ *
+ * Las ventanas no usan el contexto directamente: leen de esos mismos caches, que el contexto
+ * mantiene cargados. {@code SIGEAppSwing} guarda el contexto de la sesión actual solo para
+ * cerrarlo al volver al login.
+ *
+ * Ajustes por propiedades del sistema: sige.sesion.refrescoMs (600000) y sige.sesion.hilos (4).
+ *
+ * @author Yonatan
+ */
+public class ContextoSesion {
+
+    private static final long REFRESCO_MS = Long.getLong("sige.sesion.refrescoMs", 600_000L);
+    private static final int HILOS = Integer.getInteger("sige.sesion.hilos", 4);
+
+    private final Usuario usuario;
+    private final ScheduledExecutorService tareas;
+
+    private ContextoSesion(Usuario usuario) {
+        this.usuario = usuario;
+        AtomicInteger numero = new AtomicInteger();
+        ScheduledThreadPoolExecutor ejecutor = new ScheduledThreadPoolExecutor(HILOS, r -> {
+            Thread hilo = new Thread(r, "sige-sesion-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        ejecutor.setRemoveOnCancelPolicy(true);
+        this.tareas = ejecutor;
+    }
+
+    /**
+     * Crea el contexto del usuario que acaba de iniciar sesión y lanza la precarga en segundo plano.
+     *
+     * @param usuario usuario autenticado, con sus roles cargados
+     * @return contexto de la sesión
+     */
+    public static ContextoSesion iniciar(Usuario usuario) {
+        ContextoSesion contexto = new ContextoSesion(usuario);
+        contexto.precargar(true);
+        contexto.tareas.scheduleWithFixedDelay(() -> contexto.precargar(false),
+                REFRESCO_MS, REFRESCO_MS, TimeUnit.MILLISECONDS);
+        return contexto;
+    }
+
+    /**
+     * Carga en paralelo los datos de referencia y las asignaciones; las nóminas de los cursos
+     * asignados se piden en cuanto se conocen las asignaciones.
+     *
+     * @param inicioDeSesion true para descartar las asignaciones que hubiera de una sesión anterior
+     */
+    private void precargar(boolean inicioDeSesion) {
+        int idUsuario = usuario.getIdUsuario();
+
+        CompletableFuture<Void> referencia = CompletableFuture.runAsync(CacheDatosReferencia::precargar, tareas);
+
+        CompletableFuture<Void> nominas = CompletableFuture.supplyAsync(() -> {
+            if (inicioDeSesion) {
+                CacheAsignacionesDocente.iniciarSesion(idUsuario);
+                return CacheAsignacionesDocente.obtener(idUsuario);
+            }
+            // En los refrescos las ventanas siguen viendo las asignaciones anteriores hasta tener las nuevas
+            return CacheAsignacionesDocente.refrescar(idUsuario);
+        }, tareas).thenCompose(leidas -> {
+            List<CompletableFuture<NominaCurso>> lecturas = new ArrayList<>();
+            for (Curso curso : leidas.getCursos(false)) {
+                lecturas.add(CompletableFuture.supplyAsync(() -> CacheNominas.obtener(curso.getIdCurso()), tareas));
+            }
+            return CompletableFuture.allOf(lecturas.toArray(new CompletableFuture<?>[0]));
+        });
+
+        CompletableFuture.allOf(referencia, nominas).whenComplete((v, error) -> {
+            if (error != null) {
+                System.err.println("Error al precargar los datos de la sesión: " + error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Detiene el refresco periódico y descarta las asignaciones del usuario.
+     * Se llama al cerrar la sesión.
+     */
+    public void cerrar() {
+        tareas.shutdownNow();
+        CacheAsignacionesDocente.invalidar(usuario.getIdUsuario());
+    }
+}
@@ -5,6 +5,9 @@ import java.time.format.DateTimeFormatter;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.*;
+import modelo.AsignacionesDocente;
+import modelo.Curso;
+import modelo.Materia;
 
 /**
  * Controlador responsable de gestionar todas las operaciones
@@ -59,42 +62,24 @@ public class ControladorActividad {
 
         /**
      * Obtiene el listado de cursos y materias que tiene asignado un docente.
-     * Utiliza la tabla  `docente_materia_curso`, que relaciona cursos, materias y el id del usuario con rol docente.
+     * Se responde desde las asignaciones de la sesión ({@link CacheAsignacionesDocente}), con cualquier rol.
      * Devuelve un mapa con los nombres de cursos como claves y las materias correspondientes como listas de valores.
      *
      * @param idDocente ID del usuario con rol Docente (de la tabla usuario)
-     * @return Mapa con cursos como clave y lista de materias como valor
+     * @return Mapa con cursos como clave y lista de materias como valor, ambos ordenados por nombre
      */
     public Map<String, List<String>> obtenerCursosYMateriasDelDocente(int idDocente) {
-        Map<String, List<String>> mapa = new HashMap<>();
+        Map<String, List<String>> mapa = new LinkedHashMap<>();
+        AsignacionesDocente asignaciones = CacheAsignacionesDocente.obtener(idDocente);
 
-        // Consulta cursos y materias según el usuario
-        String sql = "SELECT c.nombreCurso AS curso, m.nombre_materia AS materia " +
-                     "FROM docente_materia_curso dmc " +
-                     "JOIN usuarios_rol ur ON dmc.idUsuarioRol = ur.idUsuarioRol " +
-                     "JOIN curso c ON dmc.idCurso = c.idCurso " +
-                     "JOIN materia m ON dmc.idMateria = m.idMateria " +
-                     "WHERE ur.idUsuario = ?";
-
-        try (Connection conn = conexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, idDocente);  // usa el id del usuario con rol docente
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                String curso = rs.getString("curso");
-                String materia = rs.getString("materia");
-
-                // Si el curso no está en el mapa, se agrega con una lista vacía
-                mapa.putIfAbsent(curso, new ArrayList<>());
-
-                // Agrega la materia a la lista del curso correspondiente
-                mapa.get(curso).add(materia);
+        for (Curso curso : asignaciones.getCursos(false)) {
+            List<String> materias = new ArrayList<>();
+            for (Materia materia : asignaciones.getMaterias(curso.getIdCurso(), false)) {
+                materias.add(materia.getNombre());
+            }
+            if (!materias.isEmpty()) {
+                mapa.put(curso.getNombre(), materias);
             }
-
-        } catch (SQLException e) {
-            System.err.println("Error al consultar cursos y materias del docente:");
         }
 
         return mapa;
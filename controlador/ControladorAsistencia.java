@@ -11,11 +11,15 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Date;
 import java.util.Map;
+import java.util.LinkedHashMap;
 import conexion.conexionBD;
 import java.util.List;
 import java.util.ArrayList;
 import java.time.LocalDate;
+import excepciones.EstadoAsistenciaInvalidoException;
 import excepciones.FechaInvalidaException;
+import modelo.AsistenciaDelDia;
+import modelo.EstadoAsistencia;
 
 /**
  * Controlador que gestiona la lógica y las operaciones relacionadas con
@@ -64,9 +68,27 @@ public class ControladorAsistencia {
      * @param idCurso Curso al que pertenece la asistencia
      * @param fecha Fecha en que se toma la asistencia
      * @param estadosPorEstudiante Mapa que relaciona ID de estudiante con su estado (Presente, Ausente, etc.)
+     * @return true si todo fue guardado correctamente, false si hubo error
+     * @throws IllegalArgumentException si algún estado no es válido
      */
-    public void registrarAsistencia(Usuario usuario, int idCurso, LocalDate fecha,
-                                    Map<Integer, String> estadosPorEstudiante) throws FechaInvalidaException {
+    public boolean registrarAsistencia(Usuario usuario, int idCurso, LocalDate fecha,
+                                       Map<Integer, String> estadosPorEstudiante) throws FechaInvalidaException {
+        return registrarAsistencia(usuario, idCurso, fecha, convertirEstados(estadosPorEstudiante));
+    }
+
+        /**
+     * Registra una nueva asistencia general tomada por el Preceptor.
+     * Guarda la asistencia en la tabla 'asistencia', registra los estados de cada estudiante
+     * y además agrega un evento en la bitácora si el estado no es "Presente".
+     * 
+     * @param usuario Usuario que toma la asistencia (Preceptor)
+     * @param idCurso Curso al que pertenece la asistencia
+     * @param fecha Fecha en que se toma la asistencia
+     * @param estados Estado de cada estudiante del curso
+     * @return true si todo fue guardado correctamente, false si hubo error
+     */
+    public boolean registrarAsistencia(Usuario usuario, int idCurso, LocalDate fecha,
+                                       AsistenciaDelDia estados) throws FechaInvalidaException {
 
         // Validamos que la fecha no sea nula ni futura
         if (fecha == null || fecha.isAfter(LocalDate.now())) {
@@ -119,19 +141,19 @@ public class ControladorAsistencia {
             stmtBitacora = conn.prepareStatement(insertBitacoraSQL);
 
             // Recorremos todos los estudiantes del curso y registramos su estado
-            for (Map.Entry<Integer, String> entrada : estadosPorEstudiante.entrySet()) {
-                int idEstudiante = entrada.getKey();
-                String estado = entrada.getValue();
+            for (int i = 0; i < estados.getCantidad(); i++) {
+                int idEstudiante = estados.getIdEstudiante(i);
+                EstadoAsistencia estado = estados.getEstado(i);
 
                 // Insertamos en asistenciadetalle
                 stmtDetalle.setInt(1, idAsistencia);
                 stmtDetalle.setInt(2, idEstudiante);
-                stmtDetalle.setString(3, estado);
+                stmtDetalle.setString(3, estado.getTexto());
                 stmtDetalle.addBatch(); // Acumulamos todos los inserts para ejecutarlos juntos
 
                 // Si el estado no fue "Presente", también lo registramos en la bitácora
-                if (!estado.equalsIgnoreCase("Presente")) {
-                    String descripcion = "Estado de asistencia: " + estado;
+                if (estado.esInasistencia()) {
+                    String descripcion = "Estado de asistencia: " + estado.getTexto();
 
                     stmtBitacora.setInt(1, idEstudiante);
                     stmtBitacora.setString(2, descripcion);
@@ -150,6 +172,10 @@ public class ControladorAsistencia {
             // Confirmamos toda la transacción: encabezado + detalles + bitácora
             conn.commit();
 
+            // Sumamos la toma a la copia en memoria que usan los resúmenes de asistencia
+            AlmacenAsistencias.registrar(idAsistencia, fecha, idCurso, AlmacenAsistencias.SIN_MATERIA, estados);
+            return true;
+
         } catch (SQLException e) {
             // Si ocurre un error, deshacemos todos los cambios realizados
             if (conn != null) {
@@ -159,7 +185,8 @@ public class ControladorAsistencia {
                     rollbackEx.printStackTrace();
                 }
             }
-            throw new RuntimeException("Error al registrar la asistencia: " + e.getMessage(), e);
+            System.err.println("Error al registrar la asistencia: " + e.getMessage());
+            return false;
         } finally {
             // Cerramos todos los recursos utilizados
             try {
@@ -177,6 +204,20 @@ public class ControladorAsistencia {
 
 
  
+    /**
+     * Convierte los estados escritos como texto, para los métodos que todavía los reciben así.
+     *
+     * @throws IllegalArgumentException si algún estado no es válido
+     */
+    private static AsistenciaDelDia convertirEstados(Map<Integer, String> estadosPorEstudiante) {
+        try {
+            return AsistenciaDelDia.desdeTextos(estadosPorEstudiante);
+        } catch (EstadoAsistenciaInvalidoException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+
             /**
       * Guarda una asistencia por materia tomada por un docente.
       * Registra un encabezado en la tabla asistencia, luego un detalle por cada estudiante,
@@ -186,9 +227,31 @@ public class ControladorAsistencia {
       * @param idCurso Curso al que pertenece la asistencia
       * @param idMateria Materia específica donde se tomó la asistencia
       * @param asistencias Mapa con ID de estudiante y su estado ("Presente", "Ausente", etc.)
-      * @return true si todo fue guardado correctamente, false si hubo error
+      * @return true si todo fue guardado correctamente, false si hubo error o algún estado no es válido
       */
      public static boolean guardarAsistenciaPorMateria(int idUsuario, int idCurso, int idMateria, LocalDate fecha, Map<Integer, String> asistencias){
+         AsistenciaDelDia estados;
+         try {
+             estados = AsistenciaDelDia.desdeTextos(asistencias);
+         } catch (EstadoAsistenciaInvalidoException e) {
+             System.err.println("Error al guardar asistencia por materia: " + e.getMessage());
+             return false;
+         }
+         return guardarAsistenciaPorMateria(idUsuario, idCurso, idMateria, fecha, estados);
+     }
+
+            /**
+      * Guarda una asistencia por materia tomada por un docente.
+      * Registra un encabezado en la tabla asistencia, luego un detalle por cada estudiante,
+      * inserta en bitácora si el estado no es "Presente".
+      *
+      * @param idUsuario ID del docente que toma la asistencia
+      * @param idCurso Curso al que pertenece la asistencia
+      * @param idMateria Materia específica donde se tomó la asistencia
+      * @param estados Estado de cada estudiante del curso
+      * @return true si todo fue guardado correctamente, false si hubo error
+      */
+     public static boolean guardarAsistenciaPorMateria(int idUsuario, int idCurso, int idMateria, LocalDate fecha, AsistenciaDelDia estados){
          Connection conn = null;
          PreparedStatement psAsistencia = null;
          PreparedStatement psDetalle = null;
@@ -230,20 +293,20 @@ public class ControladorAsistencia {
              """;
              psBitacora = conn.prepareStatement(sqlBitacora);
 
-             for (Map.Entry<Integer, String> entry : asistencias.entrySet()) {
-                 int idEstudiante = entry.getKey();
-                 String estado = entry.getValue();
+             for (int i = 0; i < estados.getCantidad(); i++) {
+                 int idEstudiante = estados.getIdEstudiante(i);
+                 EstadoAsistencia estado = estados.getEstado(i);
 
                  // Detalle de asistencia
                  psDetalle.setInt(1, idAsistencia);
                  psDetalle.setInt(2, idEstudiante);
-                 psDetalle.setString(3, estado);
+                 psDetalle.setString(3, estado.getTexto());
                  psDetalle.setInt(4, idMateria);
                  psDetalle.addBatch();
 
                  // Registro en bitácora si no fue "Presente"
-                 if (!estado.equalsIgnoreCase("Presente")) {
-                     String descripcion = "Estado de asistencia: " + estado;
+                 if (estado.esInasistencia()) {
+                     String descripcion = "Estado de asistencia: " + estado.getTexto();
 
                      psBitacora.setInt(1, idEstudiante);
                      psBitacora.setString(2, descripcion);
@@ -260,6 +323,7 @@ public class ControladorAsistencia {
 
              // Confirmamos la transacción
              conn.commit();
+             AlmacenAsistencias.registrar(idAsistencia, fecha, idCurso, idMateria, estados);
              return true;
 
          } catch (SQLException e) {
@@ -295,84 +359,185 @@ public class ControladorAsistencia {
      * @param nuevosEstados Mapa de ID del estudiante a nuevo estado de asistencia
      */
     public void editarAsistencia(int idAsistencia, Map<Integer, String> nuevosEstados) {
+        try {
+            editarAsistencia(idAsistencia, AsistenciaDelDia.desdeTextos(nuevosEstados));
+        } catch (EstadoAsistenciaInvalidoException e) {
+            System.err.println("Error al editar asistencia: " + e.getMessage());
+        }
+    }
+
+        /**
+     * Permite modificar los estados de asistencia existentes para una asistencia ya registrada.
+     * 
+     * @param idAsistencia ID de la asistencia a modificar
+     * @param nuevosEstados Nuevo estado de cada estudiante
+     */
+    public void editarAsistencia(int idAsistencia, AsistenciaDelDia nuevosEstados) {
         String sql = "UPDATE asistenciadetalle SET estado = ? WHERE idAsistencia = ? AND idEstudiante = ?";
 
-        try (Connection conn = conexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = conexionBD.obtenerConexion()) {
 
             conn.setAutoCommit(false); // Iniciamos transacción
 
-            for (Map.Entry<Integer, String> entry : nuevosEstados.entrySet()) {
-                int idEstudiante = entry.getKey();
-                String estado = entry.getValue();
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < nuevosEstados.getCantidad(); i++) {
+                    stmt.setString(1, nuevosEstados.getEstado(i).getTexto());
+                    stmt.setInt(2, idAsistencia);
+                    stmt.setInt(3, nuevosEstados.getIdEstudiante(i));
+                    stmt.addBatch();
+                }
 
-                stmt.setString(1, estado);
-                stmt.setInt(2, idAsistencia);
-                stmt.setInt(3, idEstudiante);
-                stmt.addBatch();
-            }
+                stmt.executeBatch(); // Ejecutamos todos los updates en bloque
+                conn.commit(); // Confirmamos los cambios
+                AlmacenAsistencias.actualizar(idAsistencia, nuevosEstados);
 
-            stmt.executeBatch(); // Ejecutamos todos los updates en bloque
-            conn.commit(); // Confirmamos los cambios
+            } catch (SQLException e) {
+                // El rollback se hace sobre la misma conexión de la transacción
+                System.err.println("Error al editar asistencia: " + e.getMessage());
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    System.err.println("Error al hacer rollback: " + ex.getMessage());
+                }
+            } finally {
+                conn.setAutoCommit(true);
+            }
 
         } catch (SQLException e) {
             System.err.println("Error al editar asistencia: " + e.getMessage());
-            try {
-                if (conexionBD.obtenerConexion() != null) {
-                    conexionBD.obtenerConexion().rollback();
-                }
-            } catch (SQLException ex) {
-                System.err.println("Error al hacer rollback: " + ex.getMessage());
-            }
         }
     }
 
+    /**
+     * Devuelve el porcentaje de asistencia de cada curso en un período, contando la asistencia
+     * general y la de todas las materias. Se calcula sobre la copia en memoria de las asistencias
+     * ({@link AlmacenAsistencias}), sin consultar la base.
+     *
+     * @param desde primer día del período, o null para no limitar
+     * @param hasta último día del período, o null para no limitar
+     * @return resumen por ID de curso; vacío si no se pudieron cargar las asistencias
+     */
+    public Map<Integer, modelo.ResumenAsistencia> obtenerResumenPorCurso(LocalDate desde, LocalDate hasta) {
+        return AlmacenAsistencias.resumirPorCurso(desde, hasta, AlmacenAsistencias.CUALQUIER_MATERIA);
+    }
+
+    /**
+     * Devuelve el porcentaje de asistencia de cada estudiante de un curso en un período.
+     *
+     * @param idCurso ID del curso
+     * @param desde primer día del período, o null para no limitar
+     * @param hasta último día del período, o null para no limitar
+     * @return resumen por ID de estudiante; vacío si no se pudieron cargar las asistencias
+     */
+    public Map<Integer, modelo.ResumenAsistencia> obtenerResumenPorEstudiante(int idCurso, LocalDate desde, LocalDate hasta) {
+        return AlmacenAsistencias.resumirPorEstudiante(idCurso, desde, hasta, AlmacenAsistencias.CUALQUIER_MATERIA);
+    }
+
 
             /**
       * Devuelve la lista completa de asistencias registradas en el sistema,
       * ordenadas por fecha descendente. Incluye asistencias generales y por materia.
       * Ahora también se cargan los detalles de cada asistencia (estado por estudiante).
+      * Encabezados y detalles se traen en una sola consulta y se arman en memoria.
       * 
       * @return Lista de objetos Asistencia con sus detalles cargados.
       */
      public List<modelo.Asistencia> obtenerAsistencias() {
-         List<modelo.Asistencia> lista = new ArrayList<>();
-
-         String sql = "SELECT idAsistencia, idCurso, idUsuario, fecha, idMateria FROM asistencia ORDER BY fecha DESC";
+         String sql = """
+             SELECT a.idAsistencia, a.idCurso, a.idUsuario, a.fecha, a.idMateria,
+                    d.idEstudiante, d.estado, d.idMateria AS idMateriaDetalle
+             FROM asistencia a
+             LEFT JOIN asistenciadetalle d ON d.idAsistencia = a.idAsistencia
+             ORDER BY a.fecha DESC, a.idAsistencia
+         """;
 
          try (Connection conn = conexionBD.obtenerConexion();
               PreparedStatement stmt = conn.prepareStatement(sql);
               ResultSet rs = stmt.executeQuery()) {
 
-             while (rs.next()) {
-                 modelo.Asistencia asistencia = new modelo.Asistencia();
-
-                 // Cargo los datos básicos de la asistencia
-                 asistencia.setIdAsistencia(rs.getInt("idAsistencia"));
-                 asistencia.setIdCurso(rs.getInt("idCurso"));
-                 asistencia.setIdUsuario(rs.getInt("idUsuario"));
-                 asistencia.setFecha(rs.getDate("fecha").toLocalDate());
-
-                 try {
-                     asistencia.setIdMateria(rs.getInt("idMateria")); // Puede ser 0 o -1 si es general
-                 } catch (Exception e) {
-                     asistencia.setIdMateria(-1);
-                 }
-
-                 // Cargamos también los detalles de esta asistencia
-                 List<modelo.AsistenciaDetalle> detalles = obtenerDetallesPorAsistencia(asistencia.getIdAsistencia());
-                 asistencia.setDetalles(detalles);
-
-                 lista.add(asistencia);
-             }
+             return armarAsistenciasConDetalles(rs);
 
          } catch (SQLException e) {
              System.err.println("Error al obtener todas las asistencias: " + e.getMessage());
          }
 
-         return lista;
+         return new ArrayList<>();
      }
 
+    /**
+     * Devuelve las asistencias (generales y por materia) de un curso con sus detalles cargados,
+     * ordenadas por fecha descendente. Encabezados y detalles se traen en una sola consulta.
+     *
+     * @param idCurso ID del curso
+     * @return Lista de objetos Asistencia con sus detalles
+     */
+    public List<modelo.Asistencia> obtenerAsistenciasConDetallesPorCurso(int idCurso) {
+        String sql = """
+            SELECT a.idAsistencia, a.idCurso, a.idUsuario, a.fecha, a.idMateria,
+                   d.idEstudiante, d.estado, d.idMateria AS idMateriaDetalle
+            FROM asistencia a
+            LEFT JOIN asistenciadetalle d ON d.idAsistencia = a.idAsistencia
+            WHERE a.idCurso = ?
+            ORDER BY a.fecha DESC, a.idAsistencia
+        """;
+
+        try (Connection conn = conexionBD.obtenerConexion();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idCurso);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return armarAsistenciasConDetalles(rs);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al obtener asistencias con detalles por curso: " + e.getMessage());
+        }
+
+        return new ArrayList<>();
+    }
+
+    /**
+     * Arma las asistencias con sus detalles a partir de un resultado de asistencia
+     * unida con asistenciadetalle. Cada fila trae un detalle; las filas de una misma
+     * asistencia se agrupan respetando el orden de la consulta.
+     *
+     * @param rs resultado con las columnas de asistencia y de su detalle
+     * @return Lista de asistencias con sus detalles
+     * @throws SQLException si falla la lectura del resultado
+     */
+    private List<modelo.Asistencia> armarAsistenciasConDetalles(ResultSet rs) throws SQLException {
+        Map<Integer, modelo.Asistencia> asistencias = new LinkedHashMap<>();
+
+        while (rs.next()) {
+            int idAsistencia = rs.getInt("idAsistencia");
+            modelo.Asistencia asistencia = asistencias.get(idAsistencia);
+
+            if (asistencia == null) {
+                // Primera fila de esta asistencia: cargo los datos básicos
+                asistencia = new modelo.Asistencia();
+                asistencia.setIdAsistencia(idAsistencia);
+                asistencia.setIdCurso(rs.getInt("idCurso"));
+                asistencia.setIdUsuario(rs.getInt("idUsuario"));
+                asistencia.setFecha(rs.getDate("fecha").toLocalDate());
+                asistencia.setIdMateria(rs.getInt("idMateria")); // Puede ser 0 si es general
+                asistencias.put(idAsistencia, asistencia);
+            }
+
+            // Con LEFT JOIN, una asistencia sin detalles trae idEstudiante en NULL
+            int idEstudiante = rs.getInt("idEstudiante");
+            if (!rs.wasNull()) {
+                modelo.AsistenciaDetalle detalle = new modelo.AsistenciaDetalle();
+                detalle.setIdEstudiante(idEstudiante);
+                detalle.setEstado(rs.getString("estado"));
+                detalle.setIdMateria(rs.getInt("idMateriaDetalle"));
+                detalle.setIdAsistencia(idAsistencia);
+                asistencia.getDetalles().add(detalle);
+            }
+        }
+
+        return new ArrayList<>(asistencias.values());
+    }
+
 
         /**
      * Devuelve las asistencias generales registradas para un curso específico.
@@ -414,6 +579,8 @@ public class ControladorAsistencia {
       * Devuelve las asistencias registradas por un docente,
       * filtradas para incluir solo aquellas que pertenecen a cursos y materias
       * donde está asignado activamente según la tabla docente_materia_curso.
+      * Las asignaciones se toman de la sesión ({@link CacheAsignacionesDocente}), solo con rol Docente,
+      * y la base solo devuelve las asistencias de esos pares curso y materia.
       *
       * @param idDocente ID del usuario con rol Docente
       * @return Lista de objetos Asistencia válidos para ese docente
@@ -421,37 +588,45 @@ public class ControladorAsistencia {
      public List<modelo.Asistencia> obtenerAsistenciasPorDocente(int idDocente) {
          List<modelo.Asistencia> lista = new ArrayList<>();
 
-         // Consulta SQL que une asistencia con docente_materia_curso
-         // y usuarios_rol para validar asignación actual de cursos del docente
-         String sql = """
-             SELECT a.idAsistencia, a.idCurso, a.idUsuario, a.fecha, a.idMateria
-             FROM asistencia a
-             JOIN docente_materia_curso dmc ON a.idCurso = dmc.idCurso AND a.idMateria = dmc.idMateria
-             JOIN usuarios_rol ur ON dmc.idUsuarioRol = ur.idUsuarioRol
-             WHERE ur.idUsuario = ? AND ur.idRol = 1
-             ORDER BY a.fecha DESC
-         """;
+         modelo.AsignacionesDocente asignaciones = CacheAsignacionesDocente.obtener(idDocente);
+
+         // Un par (curso, materia) por asignación: el filtro se resuelve en la base
+         List<Integer> parametros = new ArrayList<>();
+         StringBuilder condiciones = new StringBuilder();
+         for (modelo.Curso curso : asignaciones.getCursos(true)) {
+             for (modelo.Materia materia : asignaciones.getMaterias(curso.getIdCurso(), true)) {
+                 condiciones.append(parametros.isEmpty() ? "" : " OR ").append("(idCurso = ? AND idMateria = ?)");
+                 parametros.add(curso.getIdCurso());
+                 parametros.add(materia.getIdMateria());
+             }
+         }
+         if (parametros.isEmpty()) {
+             return lista;
+         }
+
+         String sql = "SELECT idAsistencia, idCurso, idUsuario, fecha, idMateria FROM asistencia WHERE "
+                 + condiciones + " ORDER BY fecha DESC";
 
          try (Connection conn = conexionBD.obtenerConexion();
               PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-             stmt.setInt(1, idDocente);  // ID del docente como parámetro
+             for (int i = 0; i < parametros.size(); i++) {
+                 stmt.setInt(i + 1, parametros.get(i));
+             }
              ResultSet rs = stmt.executeQuery();
 
              while (rs.next()) {
+                 int idCurso = rs.getInt("idCurso");
+                 int idMateria = rs.getInt("idMateria");
+
                  modelo.Asistencia asistencia = new modelo.Asistencia();
 
                  // Cargamos los campos principales de la asistencia
                  asistencia.setIdAsistencia(rs.getInt("idAsistencia"));
-                 asistencia.setIdCurso(rs.getInt("idCurso"));
+                 asistencia.setIdCurso(idCurso);
                  asistencia.setIdUsuario(rs.getInt("idUsuario"));
                  asistencia.setFecha(rs.getDate("fecha").toLocalDate());
-
-                 try {
-                     asistencia.setIdMateria(rs.getInt("idMateria"));
-                 } catch (Exception ignored) {
-                     asistencia.setIdMateria(0); // Si no tiene materia, puede ser general
-                 }
+                 asistencia.setIdMateria(idMateria);
 
                  lista.add(asistencia); // Agregamos la asistencia filtrada a la lista
              }
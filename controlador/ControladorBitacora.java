@@ -3,11 +3,13 @@ package controlador;
 import conexion.conexionBD;
 import modelo.Bitacora;
 import modelo.Estudiante;
+import modelo.PaginaBitacora;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.time.LocalDate;
@@ -28,6 +30,7 @@ public class ControladorBitacora {
     /**
      * Obtiene la lista completa de eventos en la bitácora,
      * ordenada por fecha descendente (más recientes primero).
+     * Para mostrar la bitácora completa conviene {@link #obtenerBitacoraPagina}, que no carga toda la tabla.
      * 
      * @return Lista de objetos Bitacora
      */
@@ -58,6 +61,64 @@ public class ControladorBitacora {
         return eventos;
     }
 
+    /**
+     * Obtiene una página de la bitácora general, ordenada por fecha e ID descendentes.
+     * Usa paginación por clave: la página siguiente empieza después del último evento
+     * de la anterior, por lo que el costo no crece con el número de página como con OFFSET.
+     * Para que la consulta use índice conviene tener uno sobre bitacora (fecha, idBitacora).
+     *
+     * @param despuesDeFecha fecha y hora del último evento de la página anterior, o null para la primera página
+     * @param despuesDeId ID del último evento de la página anterior (se ignora en la primera página)
+     * @param tamanio cantidad máxima de eventos de la página
+     * @return Página con los eventos y la indicación de si hay más
+     */
+    public PaginaBitacora obtenerBitacoraPagina(Timestamp despuesDeFecha, int despuesDeId, int tamanio) {
+        List<Bitacora> eventos = new ArrayList<>();
+        Timestamp ultimaFecha = null;
+        String sql = "SELECT idBitacora, idEstudiante, idCurso, idMateria, idDocente, fecha, motivo " +
+                     "FROM bitacora " +
+                     (despuesDeFecha != null ? "WHERE fecha < ? OR (fecha = ? AND idBitacora < ?) " : "") +
+                     "ORDER BY fecha DESC, idBitacora DESC LIMIT ?";
+
+        try (Connection conn = conexionBD.obtenerConexion();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            if (despuesDeFecha != null) {
+                ps.setTimestamp(i++, despuesDeFecha);
+                ps.setTimestamp(i++, despuesDeFecha);
+                ps.setInt(i++, despuesDeId);
+            }
+            ps.setInt(i, tamanio + 1); // Una fila de más indica si existe otra página
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp fecha = rs.getTimestamp("fecha");
+                    if (eventos.size() < tamanio) {
+                        ultimaFecha = fecha; // Clave de la última fila que queda en la página
+                    }
+                    Bitacora evento = new Bitacora();
+                    evento.setIdBitacora(rs.getInt("idBitacora"));
+                    evento.setIdEstudiante(rs.getInt("idEstudiante"));
+                    evento.setIdCurso(rs.getInt("idCurso"));
+                    evento.setIdMateria(rs.getInt("idMateria"));
+                    evento.setIdDocente(rs.getInt("idDocente"));
+                    evento.setFecha(fecha.toLocalDateTime().toLocalDate());
+                    evento.setMotivo(rs.getString("motivo"));
+                    eventos.add(evento);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error al obtener página de la bitácora: " + e.getMessage());
+        }
+
+        boolean hayMas = eventos.size() > tamanio;
+        if (hayMas) {
+            eventos.remove(eventos.size() - 1);
+        }
+        return new PaginaBitacora(eventos, hayMas, ultimaFecha);
+    }
+
     /**
      * Obtiene los eventos de la bitácora que corresponden a un estudiante específico.
      * Ordena los eventos desde los más recientes hasta los más antiguos.
@@ -158,6 +219,7 @@ public class ControladorBitacora {
            for (int r : resultados) {
                if (r > 0) registrosInsertados++;
            }
+           ServicioPerfilEstudiante.invalidar(idEstudiantes);
 
        } catch (SQLException e) {
            System.err.println("Error al registrar observación pedagógica en bitácora:");
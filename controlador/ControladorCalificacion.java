@@ -1,9 +1,12 @@
 package controlador;
 
 import conexion.conexionBD;
+import conexion.RegistradorBitacoraDiferido;
 
 import java.sql.*;
 import java.util.*;
+import modelo.MatrizCalificaciones;
+import modelo.PlanillaCalificaciones;
 
 
 /**
@@ -18,47 +21,23 @@ public class ControladorCalificacion implements modelo.RegistrableEnBitacora {
 
             /**
       * Devuelve todos los cursos en los que el docente tiene asignada al menos una materia.
-      * La relación se obtiene a través de la tabla docente_materia, vinculada por usuarios_rol.
+      * Se responde desde las asignaciones de la sesión ({@link CacheAsignacionesDocente}), con cualquier rol.
       *
       * @param idDocente ID del usuario con rol Docente (de la tabla usuario)
       * @return Mapa con nombre del curso como clave y su ID como valor (nombreCurso → idCurso)
       */
      public Map<String, Integer> obtenerCursosPorDocente(int idDocente) {
          Map<String, Integer> cursos = new LinkedHashMap<>();
-
-         // Consulta que une las tablas curso, docente_materia y usuarios_rol para obtener los cursos asignados
-         String sql = """
-             SELECT DISTINCT c.idCurso, c.nombreCurso
-             FROM curso c
-             JOIN docente_materia_curso dmc ON c.idCurso = dmc.idCurso
-             JOIN usuarios_rol ur ON dmc.idUsuarioRol = ur.idUsuarioRol
-             WHERE ur.idUsuario = ?
-             ORDER BY c.nombreCurso
-         """;
-
-         try (Connection conn = conexionBD.obtenerConexion();
-              PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-             stmt.setInt(1, idDocente); // Reemplaza el parámetro con el ID del docente
-             ResultSet rs = stmt.executeQuery();
-
-             while (rs.next()) {
-                 int idCurso = rs.getInt("idCurso");
-                 String nombreCurso = rs.getString("nombreCurso");
-                 cursos.put(nombreCurso, idCurso); // Mapea el nombre del curso al ID
-             }
-
-         } catch (SQLException e) {
-             System.out.println("Error al obtener cursos por docente: " + e.getMessage());
+         for (modelo.Curso curso : CacheAsignacionesDocente.obtener(idDocente).getCursos(false)) {
+             cursos.put(curso.getNombre(), curso.getIdCurso()); // Mapea el nombre del curso al ID
          }
-
          return cursos;
      }
 
 
                 /**
      * Devuelve las materias que dicta un docente en un curso específico.
-     * Usa la tabla docente_materia_curso para garantizar coincidencias con la base.
+     * Se responde desde las asignaciones de la sesión ({@link CacheAsignacionesDocente}), con cualquier rol.
      *
      * @param idDocente ID del usuario con rol Docente
      * @param idCurso ID del curso seleccionado
@@ -66,33 +45,9 @@ public class ControladorCalificacion implements modelo.RegistrableEnBitacora {
      */
     public Map<String, Integer> obtenerMateriasPorCursoYDocente(int idDocente, int idCurso) {
         Map<String, Integer> materias = new LinkedHashMap<>();
-
-        String sql = """
-            SELECT DISTINCT m.idMateria, m.nombre_materia
-            FROM materia m
-            JOIN docente_materia_curso dmc ON m.idMateria = dmc.idMateria
-            JOIN usuarios_rol ur ON dmc.idUsuarioRol = ur.idUsuarioRol
-            WHERE ur.idUsuario = ? AND dmc.idCurso = ?
-            ORDER BY m.nombre_materia
-        """;
-
-        try (Connection conn = conexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, idDocente);
-            stmt.setInt(2, idCurso);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                int idMateria = rs.getInt("idMateria");
-                String nombre = rs.getString("nombre_materia");
-                materias.put(nombre, idMateria);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error al obtener materias por curso y docente: " + e.getMessage());
+        for (modelo.Materia materia : CacheAsignacionesDocente.obtener(idDocente).getMaterias(idCurso, false)) {
+            materias.put(materia.getNombre(), materia.getIdMateria());
         }
-
         return materias;
     }
 
@@ -223,32 +178,13 @@ public class ControladorCalificacion implements modelo.RegistrableEnBitacora {
 
     /**
      * Obtiene el listado de estudiantes inscriptos en un curso.
+     * La nómina se comparte a través de {@link CacheNominas}.
      *
      * @param idCurso ID del curso
-     * @return Mapa de nombreCompleto -> idEstudiante
+     * @return Mapa no modificable de nombreCompleto -> idEstudiante, ordenado por apellido y nombre
      */
     public Map<String, Integer> obtenerEstudiantesDelCurso(int idCurso) {
-        Map<String, Integer> estudiantes = new LinkedHashMap<>();
-
-        String sql = "SELECT idEstudiante, nombre, apellido " +
-                     "FROM estudiante WHERE idCurso = ? ORDER BY apellido, nombre";
-
-        try (Connection conn = conexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, idCurso);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                String nombreCompleto = rs.getString("apellido") + ", " + rs.getString("nombre");
-                estudiantes.put(nombreCompleto, rs.getInt("idEstudiante"));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error al obtener estudiantes: " + e.getMessage());
-        }
-
-        return estudiantes;
+        return CacheNominas.obtener(idCurso).getIdsPorNombre();
     }
 
         /**
@@ -260,44 +196,102 @@ public class ControladorCalificacion implements modelo.RegistrableEnBitacora {
      * @param nota Nota como texto ("NE", "7", "Bien", etc.)
      */
     public void guardarCalificacion(int idPlanilla, int idEstudiante, String nota) {
-        String sqlBuscar = "SELECT * FROM calificacion WHERE idPlanilla = ? AND idEstudiante = ?";
+        Map<Integer, String> notas = new HashMap<>(); // Map.of no admite una nota nula
+        notas.put(idEstudiante, nota);
+        guardarCalificaciones(idPlanilla, notas);
+    }
+
+    /**
+     * Guarda o actualiza las calificaciones de varios estudiantes para una misma actividad
+     * en una sola transacción: si algo falla no queda guardada ninguna nota.
+     *
+     * Primero se leen los estudiantes que ya tienen nota en la actividad; sus notas se
+     * actualizan con un UPDATE en lote y las demás se agregan con un INSERT en lote.
+     * Después del commit se registra cada calificación en la bitácora del estudiante.
+     *
+     * @param idPlanilla ID de la actividad (planilla de calificación)
+     * @param notas Mapa idEstudiante → nota como texto
+     * @return true si se guardaron todas las notas, false si hubo un error
+     */
+    public boolean guardarCalificaciones(int idPlanilla, Map<Integer, String> notas) {
+        if (notas.isEmpty()) {
+            return true;
+        }
+
+        String sqlBuscar = "SELECT idEstudiante FROM calificacion WHERE idPlanilla = ?";
         String sqlInsertar = "INSERT INTO calificacion (idPlanilla, idEstudiante, nota) VALUES (?, ?, ?)";
         String sqlActualizar = "UPDATE calificacion SET nota = ? WHERE idPlanilla = ? AND idEstudiante = ?";
 
-        try (Connection conn = conexionBD.obtenerConexion();
-             PreparedStatement stmtBuscar = conn.prepareStatement(sqlBuscar)) {
+        try (Connection conn = conexionBD.obtenerConexion()) {
 
-            stmtBuscar.setInt(1, idPlanilla);
-            stmtBuscar.setInt(2, idEstudiante);
+            conn.setAutoCommit(false); // Todas las notas de la actividad en la misma transacción
 
-            ResultSet rs = stmtBuscar.executeQuery();
+            try (PreparedStatement stmtBuscar = conn.prepareStatement(sqlBuscar);
+                 PreparedStatement stmtInsert = conn.prepareStatement(sqlInsertar);
+                 PreparedStatement stmtUpdate = conn.prepareStatement(sqlActualizar)) {
 
-            if (rs.next()) {
-                // Ya existe → actualizar
-                try (PreparedStatement stmtUpdate = conn.prepareStatement(sqlActualizar)) {
-                    stmtUpdate.setString(1, nota);
-                    stmtUpdate.setInt(2, idPlanilla);
-                    stmtUpdate.setInt(3, idEstudiante);
-                    stmtUpdate.executeUpdate();
+                Set<Integer> conNota = new HashSet<>();
+                stmtBuscar.setInt(1, idPlanilla);
+                try (ResultSet rs = stmtBuscar.executeQuery()) {
+                    while (rs.next()) {
+                        conNota.add(rs.getInt("idEstudiante"));
+                    }
+                }
+
+                boolean hayInserciones = false;
+                boolean hayActualizaciones = false;
+                for (Map.Entry<Integer, String> entrada : notas.entrySet()) {
+                    int idEstudiante = entrada.getKey();
+                    String nota = entrada.getValue();
+
+                    if (conNota.contains(idEstudiante)) {
+                        // Ya existe → actualizar
+                        stmtUpdate.setString(1, nota);
+                        stmtUpdate.setInt(2, idPlanilla);
+                        stmtUpdate.setInt(3, idEstudiante);
+                        stmtUpdate.addBatch();
+                        hayActualizaciones = true;
+                    } else {
+                        // No existe → insertar nueva
+                        stmtInsert.setInt(1, idPlanilla);
+                        stmtInsert.setInt(2, idEstudiante);
+                        stmtInsert.setString(3, nota);
+                        stmtInsert.addBatch();
+                        hayInserciones = true;
+                    }
                 }
 
-            } else {
-                // No existe → insertar nueva
-                try (PreparedStatement stmtInsert = conn.prepareStatement(sqlInsertar)) {
-                    stmtInsert.setInt(1, idPlanilla);
-                    stmtInsert.setInt(2, idEstudiante);
-                    stmtInsert.setString(3, nota);
-                    stmtInsert.executeUpdate();
+                if (hayActualizaciones) {
+                    stmtUpdate.executeBatch();
                 }
+                if (hayInserciones) {
+                    stmtInsert.executeBatch();
+                }
+                conn.commit();
+
+            } catch (SQLException e) {
+                System.err.println("Error al guardar calificaciones: " + e.getMessage());
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    System.err.println("Error al hacer rollback: " + ex.getMessage());
+                }
+                return false;
+            } finally {
+                conn.setAutoCommit(true);
             }
-        
-        // Registrar en bitácora
-        String descripcion = "Se registró la calificación '" + nota + "' en la actividad ID " + idPlanilla;
-        registrarEnBitacora(idEstudiante, descripcion);    
-            
+
         } catch (SQLException e) {
-            System.err.println("Error al guardar calificación: " + e.getMessage());
+            System.err.println("Error al guardar calificaciones: " + e.getMessage());
+            return false;
         }
+
+        // Registrar en bitácora
+        for (Map.Entry<Integer, String> entrada : notas.entrySet()) {
+            String descripcion = "Se registró la calificación '" + entrada.getValue() + "' en la actividad ID " + idPlanilla;
+            registrarEnBitacora(entrada.getKey(), descripcion);
+        }
+        return true;
     }
 
     
@@ -330,6 +324,46 @@ public class ControladorCalificacion implements modelo.RegistrableEnBitacora {
            return "Sin calificación";
        }
 
+    /**
+     * Carga en una sola consulta todas las notas de las actividades de un docente
+     * para un curso y una materia, armando la planilla estudiante × actividad.
+     * Reemplaza las consultas celda por celda de obtenerNotaPorActividad al dibujar una planilla.
+     *
+     * @param idDocente ID del usuario con rol Docente
+     * @param idCurso ID del curso
+     * @param idMateria ID de la materia
+     * @return Planilla con las notas registradas (vacía si no hay o si hubo un error)
+     */
+    public PlanillaCalificaciones obtenerPlanilla(int idDocente, int idCurso, int idMateria) {
+        MatrizCalificaciones.Acumulador notas = new MatrizCalificaciones.Acumulador();
+
+        String sql = """
+            SELECT c.idPlanilla, c.idEstudiante, c.nota
+            FROM calificacion c
+            JOIN planillacalificaciones p ON c.idPlanilla = p.idPlanilla
+            WHERE p.idUsuario = ? AND p.idCurso = ? AND p.idMateria = ?
+        """;
+
+        try (Connection conn = conexionBD.obtenerConexion();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idDocente);
+            stmt.setInt(2, idCurso);
+            stmt.setInt(3, idMateria);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notas.agregar(rs.getInt("idEstudiante"), rs.getInt("idPlanilla"), rs.getString("nota"));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al obtener planilla de calificaciones: " + e.getMessage());
+        }
+
+        return new PlanillaCalificaciones(notas.construir());
+    }
+
             /**
       * Registra un evento en la bitácora del estudiante con la descripción proporcionada.
       * Se usa para dejar trazabilidad cuando se registra una calificación.
@@ -339,18 +373,8 @@ public class ControladorCalificacion implements modelo.RegistrableEnBitacora {
       */
      @Override
      public void registrarEnBitacora(int idEstudiante, String descripcion) {
-         String sql = "INSERT INTO bitacora (idEstudiante, fecha, descripcion) VALUES (?, NOW(), ?)";
-
-         try (Connection conn = conexionBD.obtenerConexion();
-              PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-             stmt.setInt(1, idEstudiante);
-             stmt.setString(2, descripcion);
-             stmt.executeUpdate();
-
-         } catch (SQLException e) {
-             System.err.println("Error al registrar en bitácora: " + e.getMessage());
-         }
+         // El INSERT lo hace en segundo plano el registrador diferido, en lotes
+         RegistradorBitacoraDiferido.obtenerInstancia().registrar(idEstudiante, descripcion);
      }
  
 
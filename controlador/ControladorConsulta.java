@@ -20,12 +20,22 @@ public class ControladorConsulta {
     /**
      * Obtiene todos los cursos existentes en la base de datos.
      * Cada curso incluye su ID, nombre (por ejemplo, "1A") y año lectivo.
+     * Si los datos de referencia ya se precargaron en la sesión, se toman de {@link CacheDatosReferencia}.
      * 
      * @return Lista de objetos Curso encontrados en la BD.
      */
     public List<Curso> obtenerCursos() {
+        List<Curso> precargados = CacheDatosReferencia.getListaCursos();
+        if (precargados != null) {
+            List<Curso> copias = new ArrayList<>(precargados.size());
+            for (Curso curso : precargados) {
+                copias.add(CacheDatosReferencia.copia(curso));
+            }
+            return copias;
+        }
+
         List<Curso> cursos = new ArrayList<>();
-        String sql = "SELECT idCurso, nombreCurso, anio FROM curso";
+        String sql = "SELECT idCurso, nombreCurso, anio FROM curso ORDER BY idCurso";
 
         try (Connection conn = conexionBD.obtenerConexion();
              Statement stmt = conn.createStatement();
@@ -48,11 +58,19 @@ public class ControladorConsulta {
             /**
      * Busca un curso específico en la base de datos a partir de su ID.
      * Retorna un objeto Curso con su nombre y año lectivo.
+     * El resultado se toma del {@link CacheDatosReferencia} si ya fue consultado.
      * 
      * @param idCurso ID del curso a buscar
      * @return Objeto Curso encontrado o null si no existe
      */
     public Curso buscarCursoPorId(int idCurso) {
+        return CacheDatosReferencia.copia(CacheDatosReferencia.getCursos().obtener(idCurso, this::consultarCursoPorId));
+    }
+
+    /**
+     * Consulta en la base el curso con el ID indicado, sin pasar por el cache de referencia.
+     */
+    private Curso consultarCursoPorId(int idCurso) {
         // Sentencia SQL: buscamos nombreCurso y anio según el ID
         String sql = "SELECT nombreCurso, anio FROM curso WHERE idCurso = ?";
 
@@ -78,42 +96,14 @@ public class ControladorConsulta {
 
             /**
      * Obtiene todos los cursos en los que el docente (por idUsuario) tiene asignadas materias.
-     * Este método consulta la tabla docente_materia_curso, que relaciona docente, materia y curso.
-     * Utiliza también usuarios_rol para filtrar solo roles de tipo Docente.
+     * Las asignaciones de docente_materia_curso se leen una vez por sesión ({@link CacheAsignacionesDocente})
+     * y se toman solo las hechas con el rol Docente.
      *
      * @param idUsuario ID del docente logueado
-     * @return Lista de cursos donde el docente dicta al menos una materia
+     * @return Lista no modificable de cursos donde el docente dicta al menos una materia, ordenada por nombre
      */
     public List<Curso> obtenerCursosPorDocente(int idUsuario) {
-        List<Curso> cursos = new ArrayList<>();
-        String sql = """
-            SELECT DISTINCT c.idCurso, c.nombreCurso, c.anio
-            FROM curso c
-            JOIN docente_materia_curso dmc ON c.idCurso = dmc.idCurso
-            JOIN usuarios_rol ur ON dmc.idUsuarioRol = ur.idUsuarioRol
-            WHERE ur.idUsuario = ? AND ur.idRol = 1
-            ORDER BY c.nombreCurso
-        """;
-
-        try (Connection conn = conexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, idUsuario);  // Se filtra por el ID del docente actual
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                // Se instancia un objeto Curso con los datos obtenidos
-                cursos.add(new Curso(
-                    rs.getInt("idCurso"),
-                    rs.getString("nombreCurso"),
-                    rs.getInt("anio")
-                ));
-            }
-        } catch (SQLException e) {
-            System.err.println("Error al obtener cursos por docente: " + e.getMessage());
-        }
-
-        return cursos;
+        return CacheAsignacionesDocente.obtener(idUsuario).getCursos(true);
     }
 
 
@@ -121,38 +111,14 @@ public class ControladorConsulta {
     // ===================== CONSULTA DE ESTUDIANTES =====================
 
     /**
-     * Obtiene todos los estudiantes pertenecientes a un curso específico.
+     * Obtiene todos los estudiantes pertenecientes a un curso específico, ordenados por apellido y nombre.
+     * La nómina se comparte a través de {@link CacheNominas}.
      * 
      * @param idCurso ID del curso al que pertenecen los estudiantes.
-     * @return Lista de objetos Estudiante.
+     * @return Lista no modificable de objetos Estudiante (vacía si hubo un error).
      */
     public List<Estudiante> obtenerEstudiantesPorCurso(int idCurso) {
-        List<Estudiante> estudiantes = new ArrayList<>();
-        String sql = "SELECT idEstudiante, nombre, apellido, dni, telefono, responsable FROM estudiante WHERE idCurso = ?";
-
-        try (Connection conn = conexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, idCurso);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                estudiantes.add(new Estudiante(
-                        rs.getInt("idEstudiante"),
-                        rs.getString("nombre"),
-                        rs.getString("apellido"),
-                        rs.getString("dni"),
-                        rs.getString("telefono"),
-                        rs.getString("responsable"),
-                        idCurso
-                ));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error al obtener estudiantes: " + e.getMessage());
-        }
-
-        return estudiantes;
+        return CacheNominas.obtener(idCurso).getEstudiantes();
     }
 
     /**
@@ -194,11 +160,19 @@ public class ControladorConsulta {
         /**
      * Busca una materia en la base de datos a partir de su ID.
      * Retorna un objeto Materia con su nombre correspondiente.
+     * El resultado se toma del {@link CacheDatosReferencia} si ya fue consultado.
      * 
      * @param idMateria ID de la materia a buscar
      * @return Objeto Materia encontrado o null si no existe
      */
     public Materia buscarMateriaPorId(int idMateria) {
+        return CacheDatosReferencia.copia(CacheDatosReferencia.getMaterias().obtener(idMateria, this::consultarMateriaPorId));
+    }
+
+    /**
+     * Consulta en la base la materia con el ID indicado, sin pasar por el cache de referencia.
+     */
+    private Materia consultarMateriaPorId(int idMateria) {
         // Sentencia SQL usando el nombre real del campo en la tabla
         String sql = "SELECT nombre_materia FROM materia WHERE idMateria = ?";
 
@@ -224,42 +198,15 @@ public class ControladorConsulta {
     
             /**
      * Obtiene las materias asignadas al docente en un curso específico.
-     * La relación se toma desde docente_materia_curso, con validación de rol Docente.
+     * Se responde desde las asignaciones de la sesión ({@link CacheAsignacionesDocente}),
+     * tomando solo las hechas con el rol Docente.
      *
      * @param idUsuario ID del docente logueado
      * @param idCurso ID del curso seleccionado en la interfaz
-     * @return Lista de materias que el docente dicta en ese curso
+     * @return Lista no modificable de materias que el docente dicta en ese curso, ordenada por nombre
      */
     public List<Materia> obtenerMateriasPorDocenteYCurso(int idUsuario, int idCurso) {
-        List<Materia> materias = new ArrayList<>();
-        String sql = """
-            SELECT DISTINCT m.idMateria, m.nombre_materia
-            FROM materia m
-            JOIN docente_materia_curso dmc ON m.idMateria = dmc.idMateria
-            JOIN usuarios_rol ur ON dmc.idUsuarioRol = ur.idUsuarioRol
-            WHERE ur.idUsuario = ? AND ur.idRol = 1 AND dmc.idCurso = ?
-            ORDER BY m.nombre_materia
-        """;
-
-        try (Connection conn = conexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, idUsuario);  // ID del docente
-            stmt.setInt(2, idCurso);    // ID del curso actual
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                // Se crea la materia correspondiente al resultado
-                materias.add(new Materia(
-                    rs.getInt("idMateria"),
-                    rs.getString("nombre_materia")
-                ));
-            }
-        } catch (SQLException e) {
-            System.err.println("Error al obtener materias del docente en el curso: " + e.getMessage());
-        }
-
-        return materias;
+        return CacheAsignacionesDocente.obtener(idUsuario).getMaterias(idCurso, true);
     }
 
 
@@ -269,11 +216,19 @@ public class ControladorConsulta {
 
     /**
      * Busca un usuario (por ejemplo, docente, asesor, directivo) por su ID.
+     * El resultado se toma del {@link CacheDatosReferencia} si ya fue consultado.
      * 
      * @param idUsuario ID del usuario.
      * @return Objeto Usuario con nombre, apellido y email.
      */
     public Usuario buscarUsuarioPorId(int idUsuario) {
+        return CacheDatosReferencia.copia(CacheDatosReferencia.getUsuarios().obtener(idUsuario, this::consultarUsuarioPorId));
+    }
+
+    /**
+     * Consulta en la base el usuario con el ID indicado, sin pasar por el cache de referencia.
+     */
+    private Usuario consultarUsuarioPorId(int idUsuario) {
         String sql = "SELECT nombre, apellido, email FROM usuario WHERE idUsuario = ?";
 
         try (Connection conn = conexionBD.obtenerConexion();
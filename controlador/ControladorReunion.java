@@ -8,7 +8,12 @@ import java.sql.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controlador que unifica la gestión de reuniones en el sistema SIGE.
@@ -69,6 +74,7 @@ public class ControladorReunion {
                 }
 
                 conn.commit();
+                ServicioPerfilEstudiante.invalidar(idsEstudiantes);
                 return true;
             } catch (SQLException e) {
                 conn.rollback();
@@ -245,6 +251,258 @@ public class ControladorReunion {
         return solicitudes;
     }
 
+    /**
+     * Devuelve los estudiantes convocados a una solicitud.
+     *
+     * @param idSolicitud ID de la solicitud
+     * @return estudiantes ordenados por apellido y nombre (vacío si no hay o hubo error)
+     */
+    public List<Estudiante> obtenerParticipantes(int idSolicitud) {
+        return obtenerParticipantes(List.of(idSolicitud)).getOrDefault(idSolicitud, new ArrayList<>());
+    }
+
+    /**
+     * Devuelve los estudiantes convocados a varias solicitudes con una sola consulta
+     * sobre solicitud_estudiante.
+     *
+     * @param idsSolicitudes IDs de las solicitudes
+     * @return estudiantes de cada solicitud, ordenados por apellido y nombre;
+     *         las solicitudes sin estudiantes no aparecen en el mapa
+     */
+    public Map<Integer, List<Estudiante>> obtenerParticipantes(Collection<Integer> idsSolicitudes) {
+        Map<Integer, List<Estudiante>> participantes = new HashMap<>();
+        if (idsSolicitudes.isEmpty()) {
+            return participantes;
+        }
+
+        String sql = "SELECT se.idSolicitud, e.idEstudiante, e.nombre, e.apellido, e.idCurso " +
+                     "FROM solicitud_estudiante se " +
+                     "JOIN estudiante e ON se.idEstudiante = e.idEstudiante " +
+                     "WHERE se.idSolicitud IN (" + String.join(", ", Collections.nCopies(idsSolicitudes.size(), "?")) + ") " +
+                     "ORDER BY e.apellido, e.nombre";
+
+        try (Connection conn = conexionBD.obtenerConexion();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            int i = 1;
+            for (Integer id : idsSolicitudes) {
+                ps.setInt(i++, id);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Estudiante est = leerParticipante(rs);
+                    est.setIdCurso(rs.getInt("idCurso"));
+                    participantes.computeIfAbsent(rs.getInt("idSolicitud"), k -> new ArrayList<>()).add(est);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al obtener participantes de reuniones: " + e.getMessage());
+        }
+
+        return participantes;
+    }
+
+    /**
+     * Devuelve las solicitudes de reunión con el nombre del solicitante, el nombre del curso
+     * y los estudiantes convocados, todo en una sola consulta.
+     *
+     * @param estado estado a filtrar ("Pendiente", "Confirmada", etc.), o null para todas
+     * @return solicitudes ordenadas por fecha de solicitud descendente
+     */
+    public List<SolicitudReunionDetallada> obtenerSolicitudesDetalladas(String estado) {
+        return obtenerSolicitudesDetalladas(estado, null, null, 0, 0, 0);
+    }
+
+    /**
+     * Devuelve una página de solicitudes de reunión con el nombre del solicitante, el nombre del curso
+     * y los estudiantes convocados. Los filtros y la paginación se resuelven en la base, por lo que
+     * el costo depende del tamaño de la página y no de todo el historial de solicitudes.
+     *
+     * @param estado estado a filtrar ("Pendiente", "Confirmada", etc.), o null para todos
+     * @param desde primera fecha de solicitud incluida, o null para no limitar
+     * @param hasta última fecha de solicitud incluida, o null para no limitar
+     * @param idCurso curso a filtrar, o 0 para todos
+     * @param limite cantidad máxima de solicitudes, o 0 para traer todas
+     * @param desplazamiento cantidad de solicitudes a saltear (para las páginas siguientes)
+     * @return solicitudes ordenadas de la más reciente a la más antigua
+     */
+    public List<SolicitudReunionDetallada> obtenerSolicitudesDetalladas(String estado, LocalDate desde, LocalDate hasta,
+                                                                        int idCurso, int limite, int desplazamiento) {
+        return consultarSolicitudesDetalladas(estado, desde, hasta, idCurso, 0, limite, desplazamiento);
+    }
+
+    /**
+     * Devuelve las reuniones a las que fue convocado un estudiante, con el nombre del solicitante,
+     * el nombre del curso y todos los convocados, en una sola consulta.
+     *
+     * @param idEstudiante ID del estudiante
+     * @return solicitudes ordenadas de la más reciente a la más antigua
+     */
+    public List<SolicitudReunionDetallada> obtenerSolicitudesDetalladasPorEstudiante(int idEstudiante) {
+        return consultarSolicitudesDetalladas(null, null, null, 0, idEstudiante, 0, 0);
+    }
+
+    private List<SolicitudReunionDetallada> consultarSolicitudesDetalladas(String estado, LocalDate desde, LocalDate hasta,
+                                                                           int idCurso, int idEstudiante,
+                                                                           int limite, int desplazamiento) {
+        Map<Integer, SolicitudReunionDetallada> solicitudes = new LinkedHashMap<>();
+        List<Object> parametros = new ArrayList<>();
+
+        // La página se elige primero sobre solicitud_reunion; después se suman los nombres y
+        // los estudiantes, que agregan una fila por convocado
+        StringBuilder sql = new StringBuilder(
+                "SELECT sr.*, u.nombre AS nombreSolicitante, u.apellido AS apellidoSolicitante, c.nombreCurso, " +
+                "e.idEstudiante, e.nombre, e.apellido, e.idCurso AS idCursoEstudiante " +
+                "FROM (SELECT * FROM solicitud_reunion");
+        agregarFiltros(sql, parametros, estado, desde, hasta, idCurso, idEstudiante);
+        // Filtros y orden resueltos con los índices de sql/migraciones/002_indices_reuniones.sql
+        if (limite > 0) {
+            sql.append(" ORDER BY fechaSolicitud DESC, idSolicitud DESC LIMIT ? OFFSET ?");
+            parametros.add(limite);
+            parametros.add(Math.max(desplazamiento, 0));
+        }
+        sql.append(") sr " +
+                "LEFT JOIN usuario u ON sr.idUsuarioSolicitante = u.idUsuario " +
+                "LEFT JOIN curso c ON sr.idCurso = c.idCurso " +
+                "LEFT JOIN solicitud_estudiante se ON sr.idSolicitud = se.idSolicitud " +
+                "LEFT JOIN estudiante e ON se.idEstudiante = e.idEstudiante " +
+                "ORDER BY sr.fechaSolicitud DESC, sr.idSolicitud DESC, e.apellido, e.nombre");
+
+        try (Connection conn = conexionBD.obtenerConexion();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < parametros.size(); i++) {
+                ps.setObject(i + 1, parametros.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                // Una fila por estudiante convocado: la solicitud se arma con la primera
+                while (rs.next()) {
+                    int idSolicitud = rs.getInt("idSolicitud");
+                    SolicitudReunionDetallada sr = solicitudes.get(idSolicitud);
+                    if (sr == null) {
+                        sr = new SolicitudReunionDetallada();
+                        leerSolicitud(rs, sr);
+                        String apellido = rs.getString("apellidoSolicitante");
+                        if (apellido != null) {
+                            sr.setNombreSolicitante(apellido + ", " + rs.getString("nombreSolicitante"));
+                        }
+                        sr.setNombreCurso(rs.getString("nombreCurso"));
+                        solicitudes.put(idSolicitud, sr);
+                    }
+
+                    rs.getInt("idEstudiante");
+                    if (!rs.wasNull()) {
+                        Estudiante est = leerParticipante(rs);
+                        est.setIdCurso(rs.getInt("idCursoEstudiante"));
+                        sr.agregarParticipante(est);
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al obtener solicitudes detalladas: " + e.getMessage());
+        }
+
+        return new ArrayList<>(solicitudes.values());
+    }
+
+    /**
+     * Cuenta las solicitudes que cumplen los filtros, para saber cuántas páginas hay.
+     *
+     * @param estado estado a filtrar, o null para todos
+     * @param desde primera fecha de solicitud incluida, o null para no limitar
+     * @param hasta última fecha de solicitud incluida, o null para no limitar
+     * @param idCurso curso a filtrar, o 0 para todos
+     * @return cantidad de solicitudes (0 si hubo error)
+     */
+    public int contarSolicitudes(String estado, LocalDate desde, LocalDate hasta, int idCurso) {
+        List<Object> parametros = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM solicitud_reunion");
+        agregarFiltros(sql, parametros, estado, desde, hasta, idCurso, 0);
+
+        try (Connection conn = conexionBD.obtenerConexion();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < parametros.size(); i++) {
+                ps.setObject(i + 1, parametros.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al contar solicitudes: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Agrega a la consulta el WHERE de los filtros indicados y sus parámetros.
+     */
+    private static void agregarFiltros(StringBuilder sql, List<Object> parametros, String estado,
+                                       LocalDate desde, LocalDate hasta, int idCurso, int idEstudiante) {
+        List<String> condiciones = new ArrayList<>();
+        if (estado != null) {
+            condiciones.add("estado = ?");
+            parametros.add(estado);
+        }
+        if (desde != null) {
+            condiciones.add("fechaSolicitud >= ?");
+            parametros.add(java.sql.Date.valueOf(desde));
+        }
+        if (hasta != null) {
+            condiciones.add("fechaSolicitud <= ?");
+            parametros.add(java.sql.Date.valueOf(hasta));
+        }
+        if (idCurso > 0) {
+            condiciones.add("idCurso = ?");
+            parametros.add(idCurso);
+        }
+        if (idEstudiante > 0) {
+            condiciones.add("idSolicitud IN (SELECT idSolicitud FROM solicitud_estudiante WHERE idEstudiante = ?)");
+            parametros.add(idEstudiante);
+        }
+        if (!condiciones.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", condiciones));
+        }
+    }
+
+    /**
+     * Copia las columnas de solicitud_reunion de la fila actual.
+     */
+    private static void leerSolicitud(ResultSet rs, SolicitudReunion sr) throws SQLException {
+        sr.setIdSolicitud(rs.getInt("idSolicitud"));
+        sr.setIdUsuarioSolicitante(rs.getInt("idUsuarioSolicitante"));
+        sr.setIdCurso(rs.getInt("idCurso"));
+        sr.setMotivo(rs.getString("motivo"));
+        sr.setDisponibilidad(rs.getString("disponibilidad"));
+        sr.setEstado(rs.getString("estado"));
+        sr.setFechaSolicitud(rs.getDate("fechaSolicitud").toLocalDate());
+
+        if (rs.getDate("fechaReunionConfirmada") != null) {
+            sr.setFechaReunionConfirmada(rs.getDate("fechaReunionConfirmada").toLocalDate());
+        }
+
+        if (rs.getTime("horaReunionConfirmada") != null) {
+            sr.setHoraReunionConfirmada(rs.getTime("horaReunionConfirmada").toLocalTime());
+        }
+    }
+
+    /**
+     * Arma un estudiante con el ID, nombre y apellido de la fila actual.
+     */
+    private static Estudiante leerParticipante(ResultSet rs) throws SQLException {
+        Estudiante est = new Estudiante();
+        est.setIdEstudiante(rs.getInt("idEstudiante"));
+        est.setNombre(rs.getString("nombre"));
+        est.setApellido(rs.getString("apellido"));
+        return est;
+    }
+
 
     // ==== Métodos para abrir vistas desde menú ====
 
@@ -23,6 +23,7 @@ public class ControladorUsuario {
     /**
      * Autentica al usuario con los datos ingresados (email y contraseña).
      * Si el login es correcto, se retorna el objeto Usuario completo, con roles cargados.
+     * Los datos del usuario y sus roles se traen en una sola consulta (una fila por rol).
      *
      * @param email Correo electrónico ingresado
      * @param contrasenia Clave ingresada
@@ -31,7 +32,11 @@ public class ControladorUsuario {
     public static Usuario autenticarUsuario(String email, String contrasenia) {
         Usuario usuario = null;
 
-        String sql = "SELECT * FROM usuario WHERE email = ? AND contrasenia = ?";
+        String sql = "SELECT u.idUsuario, u.dni, u.nombre, u.apellido, u.telefono, r.tipoRol " +
+                     "FROM usuario u " +
+                     "LEFT JOIN usuarios_rol ur ON ur.idUsuario = u.idUsuario " +
+                     "LEFT JOIN rol r ON r.idRol = ur.idRol " +
+                     "WHERE u.email = ? AND u.contrasenia = ?";
 
         try (Connection conn = conexionBD.obtenerConexion();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -40,18 +45,28 @@ public class ControladorUsuario {
             stmt.setString(2, contrasenia);
 
             ResultSet rs = stmt.executeQuery();
+            List<String> roles = new ArrayList<>();
 
-            if (rs.next()) {
-                int id = rs.getInt("idUsuario");
-                String dni = rs.getString("dni");
-                String nombre = rs.getString("nombre");
-                String apellido = rs.getString("apellido");
-                String telefono = rs.getString("telefono");
-
-                usuario = new Usuario(id, dni, nombre, apellido, telefono, email, contrasenia);
+            while (rs.next()) {
+                if (usuario == null) {
+                    int id = rs.getInt("idUsuario");
+                    String dni = rs.getString("dni");
+                    String nombre = rs.getString("nombre");
+                    String apellido = rs.getString("apellido");
+                    String telefono = rs.getString("telefono");
+
+                    usuario = new Usuario(id, dni, nombre, apellido, telefono, email, contrasenia);
+                }
+
+                // Un usuario sin roles llega con una sola fila y tipoRol en NULL
+                String rol = rs.getString("tipoRol");
+                if (rol != null) {
+                    roles.add(rol);
+                }
+            }
 
-                // Cargamos los roles desde la base
-                cargarRoles(usuario);
+            if (usuario != null) {
+                usuario.setRoles(roles);
             }
 
         } catch (SQLException e) {
@@ -62,36 +77,6 @@ public class ControladorUsuario {
         return usuario;
     }
 
-    /**
-     * Consulta los roles del usuario en la tabla usuarios_rol y los guarda en su lista.
-     * 
-     * @param usuario Usuario ya autenticado
-     */
-    private static void cargarRoles(Usuario usuario) {
-        String sql = "SELECT r.tipoRol FROM rol r " +
-                     "JOIN usuarios_rol ur ON r.idRol = ur.idRol " +
-                     "WHERE ur.idUsuario = ?";
-
-        try (Connection conn = conexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, usuario.getIdUsuario());
-
-            ResultSet rs = stmt.executeQuery();
-            List<String> roles = new ArrayList<>();
-
-            while (rs.next()) {
-                roles.add(rs.getString("tipoRol"));
-            }
-
-            usuario.setRoles(roles);
-
-        } catch (SQLException e) {
-            System.err.println("Error al cargar los roles:");
-            System.err.println(e.getMessage());
-        }
-    }
-
     /**
      * Verifica si el usuario tiene uno o varios roles.
      * Si tiene uno, se redirige directo al menú. Si tiene más de uno, se muestra selector.
@@ -101,6 +86,9 @@ public class ControladorUsuario {
     public static void redirigirSegunRoles(Usuario usuario) {
         SIGEAppSwing.setUsuarioActual(usuario); // Guarda la sesión
 
+        // Precarga en paralelo datos de referencia, asignaciones y nóminas de sus cursos
+        SIGEAppSwing.setContextoSesion(ContextoSesion.iniciar(usuario));
+
         List<String> roles = usuario.getRoles();
 
         if (roles.size() == 1) {
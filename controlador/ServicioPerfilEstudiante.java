@@ -0,0 +1,213 @@
+package controlador;
+
+import conexion.MetricasBD;
+import modelo.Curso;
+import modelo.Estudiante;
+import modelo.PerfilEstudiante;
+import modelo.SolicitudReunionDetallada;
+import util.CacheTemporal;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga el {@link PerfilEstudiante} que muestra la bitácora de un estudiante.
+ *
+ * Las cinco partes del perfil (curso, inasistencias, calificaciones, reuniones y observaciones)
+ * se leen a la vez, cada una con su propia conexión del pool, por lo que abrir el perfil tarda
+ * lo que la consulta más lenta y no la suma de las cinco. El perfil se guarda unos segundos para
+ * que las subventanas que se abren una tras otra no vuelvan a la base; si varias ventanas piden
+ * el mismo estudiante mientras se carga, se hace una sola carga.
+ *
+ * Las ventanas que recorren la nómina de un curso estudiante por estudiante usan
+ * {@link #precargarConVecinos}: cuando termina la carga del estudiante elegido se cargan también
+ * los anteriores y siguientes, de modo que al pasar al próximo su perfil ya está guardado.
+ * Las precargas de vecinos ceden el paso: no se inician si ya hay varias cargas en curso.
+ *
+ * Quien registre una observación o una reunión para un estudiante debe llamar a
+ * {@link #invalidar(int...)}; el resto de los cambios (asistencias y notas) aparece al vencer el perfil.
+ *
+ * Ajustes por propiedades del sistema: sige.cache.perfil.ttlMs (30000), sige.cache.perfil.maximo (200),
+ * sige.perfil.hilos (5), sige.perfil.vecinos (1 a cada lado) y sige.perfil.cargasMaximas (4).
+ *
+ * @author Yonatan
+ */
+public class ServicioPerfilEstudiante {
+
+    private static final long TTL_MS = Long.getLong("sige.cache.perfil.ttlMs", 30_000L);
+    private static final int MAXIMO = Integer.getInteger("sige.cache.perfil.maximo", 200);
+    private static final int HILOS = Integer.getInteger("sige.perfil.hilos", 5);
+    private static final int VECINOS = Integer.getInteger("sige.perfil.vecinos", 1);
+    private static final int CARGAS_MAXIMAS = Integer.getInteger("sige.perfil.cargasMaximas", 4);
+
+    private static final CacheTemporal<Integer, PerfilEstudiante> PERFILES = new CacheTemporal<>("perfiles", TTL_MS, MAXIMO);
+    private static final Map<Integer, CompletableFuture<PerfilEstudiante>> CARGAS_EN_CURSO = new ConcurrentHashMap<>();
+
+    // Se incrementa en cada invalidación: una carga que empezó antes no debe guardarse
+    private static final Map<Integer, Long> VERSIONES = new ConcurrentHashMap<>();
+
+    private static final AtomicLong precargasVecinos = new AtomicLong();
+
+    private static final ExecutorService CONSULTAS = Executors.newFixedThreadPool(HILOS, new ThreadFactory() {
+        private final AtomicInteger numero = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread hilo = new Thread(r, "sige-perfil-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        }
+    });
+
+    static {
+        MetricasBD.registrarCache("perfiles", ServicioPerfilEstudiante::resumenEstadisticas);
+    }
+
+    private ServicioPerfilEstudiante() {
+    }
+
+    /**
+     * Devuelve el perfil del estudiante, esperando su carga si no está guardado.
+     *
+     * @param estudiante estudiante elegido
+     * @return perfil completo; las partes que no se pudieron leer quedan vacías
+     */
+    public static PerfilEstudiante obtener(Estudiante estudiante) {
+        PerfilEstudiante perfil = PERFILES.buscar(estudiante.getIdEstudiante());
+        if (perfil != null) {
+            return perfil;
+        }
+        try {
+            return cargar(estudiante).join();
+        } catch (RuntimeException e) {
+            // El error ya se informó al fallar la carga
+            return new PerfilEstudiante(estudiante, null, List.of(), List.of(), List.of(), List.of());
+        }
+    }
+
+    /**
+     * Empieza a cargar el perfil en segundo plano, sin esperarlo. Sirve para adelantar la carga
+     * apenas se elige el estudiante, antes de que se abra alguna subventana.
+     *
+     * @param estudiante estudiante elegido
+     */
+    public static void precargar(Estudiante estudiante) {
+        if (PERFILES.buscar(estudiante.getIdEstudiante()) == null) {
+            cargar(estudiante);
+        }
+    }
+
+    /**
+     * Carga el perfil del estudiante elegido y, al terminar, los de sus vecinos en la lista,
+     * para que pasar al anterior o al siguiente no espere a la base.
+     *
+     * @param estudiantes estudiantes en el orden en que se muestran (por ejemplo la nómina del curso)
+     * @param posicion posición del estudiante elegido
+     */
+    public static void precargarConVecinos(List<Estudiante> estudiantes, int posicion) {
+        if (posicion < 0 || posicion >= estudiantes.size()) {
+            return;
+        }
+        Estudiante elegido = estudiantes.get(posicion);
+        CompletableFuture<PerfilEstudiante> carga = PERFILES.buscar(elegido.getIdEstudiante()) != null
+                ? CompletableFuture.completedFuture(null)
+                : cargar(elegido);
+
+        // Los vecinos esperan al elegido para no quitarle hilos ni conexiones
+        carga.whenComplete((perfil, error) -> {
+            for (int distancia = 1; distancia <= VECINOS; distancia++) {
+                precargarVecino(estudiantes, posicion + distancia);
+                precargarVecino(estudiantes, posicion - distancia);
+            }
+        });
+    }
+
+    private static void precargarVecino(List<Estudiante> estudiantes, int posicion) {
+        if (posicion < 0 || posicion >= estudiantes.size() || CARGAS_EN_CURSO.size() >= CARGAS_MAXIMAS) {
+            return;
+        }
+        Estudiante vecino = estudiantes.get(posicion);
+        if (!CARGAS_EN_CURSO.containsKey(vecino.getIdEstudiante()) && PERFILES.buscar(vecino.getIdEstudiante()) == null) {
+            precargasVecinos.incrementAndGet();
+            cargar(vecino);
+        }
+    }
+
+    /**
+     * Descarta el perfil guardado de los estudiantes indicados.
+     *
+     * @param idsEstudiantes estudiantes con datos nuevos
+     */
+    public static void invalidar(int... idsEstudiantes) {
+        for (int id : idsEstudiantes) {
+            VERSIONES.merge(id, 1L, Long::sum);
+            PERFILES.invalidar(id);
+            CARGAS_EN_CURSO.remove(id);
+        }
+    }
+
+    /**
+     * @param idsEstudiantes estudiantes con datos nuevos
+     */
+    public static void invalidar(List<Integer> idsEstudiantes) {
+        invalidar(idsEstudiantes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * @return estadísticas del cache de perfiles
+     */
+    public static String resumenEstadisticas() {
+        return PERFILES + " precargasVecinos=" + precargasVecinos.get();
+    }
+
+    /**
+     * Inicia la carga del perfil, salvo que ya haya una en curso, en cuyo caso devuelve esa.
+     */
+    private static CompletableFuture<PerfilEstudiante> cargar(Estudiante estudiante) {
+        int idEstudiante = estudiante.getIdEstudiante();
+        CompletableFuture<PerfilEstudiante> nueva = new CompletableFuture<>();
+        CompletableFuture<PerfilEstudiante> enCurso = CARGAS_EN_CURSO.putIfAbsent(idEstudiante, nueva);
+        if (enCurso != null) {
+            return enCurso;
+        }
+
+        long version = VERSIONES.getOrDefault(idEstudiante, 0L);
+        ControladorConsulta consulta = new ControladorConsulta();
+        ControladorReunion reuniones = new ControladorReunion();
+
+        CompletableFuture<Curso> curso = CompletableFuture.supplyAsync(
+                () -> consulta.buscarCursoPorId(estudiante.getIdCurso()), CONSULTAS);
+        CompletableFuture<List<String[]>> inasistencias = CompletableFuture.supplyAsync(
+                () -> consulta.obtenerAsistenciasNoPresentesPorEstudiante(idEstudiante), CONSULTAS);
+        CompletableFuture<List<String[]>> calificaciones = CompletableFuture.supplyAsync(
+                () -> consulta.obtenerCalificacionesPorEstudiante(idEstudiante), CONSULTAS);
+        CompletableFuture<List<SolicitudReunionDetallada>> solicitudes = CompletableFuture.supplyAsync(
+                () -> reuniones.obtenerSolicitudesDetalladasPorEstudiante(idEstudiante), CONSULTAS);
+        CompletableFuture<List<String[]>> observaciones = CompletableFuture.supplyAsync(
+                () -> ControladorBitacora.obtenerObservacionesPorEstudiante(idEstudiante), CONSULTAS);
+
+        CompletableFuture.allOf(curso, inasistencias, calificaciones, solicitudes, observaciones)
+                .thenApply(v -> new PerfilEstudiante(estudiante, curso.join(), inasistencias.join(),
+                        calificaciones.join(), solicitudes.join(), observaciones.join()))
+                .whenComplete((perfil, error) -> {
+                    if (error == null && VERSIONES.getOrDefault(idEstudiante, 0L) == version) {
+                        PERFILES.poner(idEstudiante, perfil);
+                    }
+                    CARGAS_EN_CURSO.remove(idEstudiante, nueva);
+                    if (error != null) {
+                        System.err.println("Error al cargar el perfil del estudiante: " + error.getMessage());
+                        nueva.completeExceptionally(error);
+                    } else {
+                        nueva.complete(perfil);
+                    }
+                });
+        return nueva;
+    }
+}
@@ -12,7 +12,7 @@ package excepciones;
  * Excepción lanzada cuando el estado ingresado en una asistencia
  * no coincide con los valores válidos permitidos por el sistema.
  *
- * Valores válidos esperados: "Presente", "Ausente", "Retirado".
+ * Valores válidos esperados: los de modelo.EstadoAsistencia ("Presente", "Ausente", "Ausente Justificado", "Retirado").
  */
 public class EstadoAsistenciaInvalidoException extends Exception {
 
@@ -23,6 +23,6 @@ public class EstadoAsistenciaInvalidoException extends Exception {
      */
     public EstadoAsistenciaInvalidoException(String estadoIngresado) {
         super("Estado de asistencia inválido: '" + estadoIngresado +
-              "'. Se esperaba uno de los siguientes valores: Presente, Ausente, Retirado.");
+              "'. Se esperaba uno de los siguientes valores: Presente, Ausente, Ausente Justificado, Retirado.");
     }
 }
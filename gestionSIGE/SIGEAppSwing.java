@@ -1,7 +1,10 @@
 // SIGEAppSwing.java
 package gestionSIGE;
 
+import conexion.RegistradorBitacoraDiferido;
+import controlador.ContextoSesion;
 import modelo.Usuario;
+import util.VigilanteEDT;
 import vista.VentanaLogin;
 
 import javax.swing.*;
@@ -15,6 +18,7 @@ import javax.swing.*;
 public class SIGEAppSwing {
 
     private static Usuario usuarioActual;
+    private static ContextoSesion contextoSesion;
 
     public static void main(String[] args) {
        
@@ -24,11 +28,18 @@ public class SIGEAppSwing {
             System.out.println("No se pudo aplicar el estilo visual.");
         }
 
+        // Detecta bloqueos del hilo de la interfaz y mide la apertura de las ventanas
+        VigilanteEDT.iniciar();
+
+        // Escribe en la base los eventos de bitácora que hayan quedado pendientes de la ejecución anterior
+        RegistradorBitacoraDiferido.recuperarPendientes();
+
         SwingUtilities.invokeLater(() -> mostrarLogin());
     }
 
     public static void mostrarLogin() {
         usuarioActual = null;
+        setContextoSesion(null);
         JFrame login = new VentanaLogin();
         login.setVisible(true);
     }
@@ -40,4 +51,16 @@ public class SIGEAppSwing {
     public static Usuario getUsuarioActual() {
         return usuarioActual;
     }
+
+    /**
+     * Reemplaza el contexto de la sesión, cerrando el anterior si lo había.
+     *
+     * @param contexto contexto de la sesión que empieza, o null al cerrar sesión
+     */
+    public static void setContextoSesion(ContextoSesion contexto) {
+        if (contextoSesion != null && contextoSesion != contexto) {
+            contextoSesion.cerrar();
+        }
+        contextoSesion = contexto;
+    }
 }
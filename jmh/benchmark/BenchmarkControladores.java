@@ -0,0 +1,166 @@
+package benchmark;
+
+import conexion.conexionBD;
+import controlador.ControladorAsistencia;
+import controlador.ControladorBitacora;
+import controlador.ControladorCalificacion;
+import modelo.Asistencia;
+import modelo.AsistenciaDelDia;
+import modelo.Bitacora;
+import modelo.EstadoAsistencia;
+import modelo.PaginaBitacora;
+import modelo.PlanillaCalificaciones;
+import modelo.Usuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pruebas de rendimiento (JMH) de los caminos más usados de los controladores,
+ * ejecutadas contra la base embebida de {@link BaseEmbebida} cargada por {@link GeneradorDatosEscolares}.
+ * La semilla se toma de sige.datos.semilla y la escala de las propiedades sige.datos.*.
+ *
+ * Miden el registro de asistencia de un curso completo, el listado de asistencias
+ * con sus detalles, la grilla de calificaciones de un docente y la bitácora general
+ * (completa y por páginas). Ver la sección "Pruebas de rendimiento" del README.
+ *
+ * El registro de asistencia escribe en la base; lo que agrega se borra al terminar cada
+ * iteración ({@link RegistroAsistencia}), para que cada iteración mida sobre los mismos datos.
+ *
+ * @author Yonatan
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BenchmarkControladores {
+
+    private static final long SEMILLA = Long.getLong("sige.datos.semilla", 42L);
+    private static final int ID_CURSO = 1;
+
+    private BaseEmbebida base;
+    private ControladorAsistencia controladorAsistencia;
+    private ControladorCalificacion controladorCalificacion;
+    private ControladorBitacora controladorBitacora;
+
+    private Usuario preceptor;
+    private int idDocente;
+    private int idMateria;
+    private AsistenciaDelDia estadosCurso;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        base = new BaseEmbebida("sige_benchmark");
+        base.iniciar();
+        GeneradorDatosEscolares datos = base.cargarDatos(SEMILLA, new GeneradorDatosEscolares.Escala());
+
+        controladorAsistencia = new ControladorAsistencia();
+        controladorCalificacion = new ControladorCalificacion();
+        controladorBitacora = new ControladorBitacora();
+
+        preceptor = new Usuario(datos.getIdPreceptor(ID_CURSO), "Preceptor", "Benchmark", "preceptor@sige.edu");
+        idDocente = datos.getIdDocenteDeMateria(ID_CURSO, 0);
+        idMateria = datos.getIdMateria(ID_CURSO, 0);
+
+        int primero = datos.getPrimerEstudiante(ID_CURSO);
+        estadosCurso = new AsistenciaDelDia(datos.getCantidadEstudiantes(ID_CURSO));
+        for (int i = 0; i < datos.getCantidadEstudiantes(ID_CURSO); i++) {
+            estadosCurso.poner(primero + i, i % 7 == 0 ? EstadoAsistencia.AUSENTE : EstadoAsistencia.PRESENTE);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        conexionBD.cerrarPool();
+    }
+
+    @Benchmark
+    public boolean registrarAsistencia(RegistroAsistencia registro) throws Exception {
+        return controladorAsistencia.registrarAsistencia(preceptor, ID_CURSO, LocalDate.now(), estadosCurso);
+    }
+
+    @Benchmark
+    public List<Asistencia> obtenerAsistencias() {
+        return controladorAsistencia.obtenerAsistencias();
+    }
+
+    @Benchmark
+    public List<Asistencia> obtenerAsistenciasConDetallesPorCurso() {
+        return controladorAsistencia.obtenerAsistenciasConDetallesPorCurso(ID_CURSO);
+    }
+
+    @Benchmark
+    public PlanillaCalificaciones obtenerPlanilla() {
+        return controladorCalificacion.obtenerPlanilla(idDocente, ID_CURSO, idMateria);
+    }
+
+    @Benchmark
+    public List<Bitacora> obtenerBitacoraGeneral() {
+        return controladorBitacora.obtenerBitacoraGeneral();
+    }
+
+    @Benchmark
+    public PaginaBitacora obtenerBitacoraPrimeraPagina() {
+        return controladorBitacora.obtenerBitacoraPagina(null, 0, 100);
+    }
+
+    /**
+     * Estado de las pruebas que escriben: recuerda los últimos ID generados por el conjunto
+     * de datos y, al terminar cada iteración, borra las filas agregadas después.
+     */
+    @State(Scope.Benchmark)
+    public static class RegistroAsistencia {
+
+        private BaseEmbebida base;
+        private int ultimaAsistencia;
+        private int ultimoDetalle;
+        private int ultimaBitacora;
+
+        @Setup(Level.Trial)
+        public void preparar(BenchmarkControladores benchmark) throws SQLException {
+            base = benchmark.base;
+            try (Connection conn = base.conectar();
+                 Statement stmt = conn.createStatement()) {
+                ultimaAsistencia = maximo(stmt, "SELECT COALESCE(MAX(idAsistencia), 0) FROM asistencia");
+                ultimoDetalle = maximo(stmt, "SELECT COALESCE(MAX(idDetalle), 0) FROM asistenciadetalle");
+                ultimaBitacora = maximo(stmt, "SELECT COALESCE(MAX(idBitacora), 0) FROM bitacora");
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void restaurar() throws SQLException {
+            try (Connection conn = base.conectar();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM asistenciadetalle WHERE idDetalle > " + ultimoDetalle);
+                stmt.executeUpdate("DELETE FROM asistencia WHERE idAsistencia > " + ultimaAsistencia);
+                stmt.executeUpdate("DELETE FROM bitacora WHERE idBitacora > " + ultimaBitacora);
+            }
+        }
+
+        private static int maximo(Statement stmt, String sql) throws SQLException {
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
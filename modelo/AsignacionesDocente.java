@@ -0,0 +1,154 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Asignaciones de un usuario en docente_materia_curso, indexadas para responder sin volver
+ * a la base qué cursos tiene, qué materias dicta en cada curso y en qué cursos dicta cada materia.
+ *
+ * Cada asignación recuerda el rol (usuarios_rol.idRol) por el que se hizo. Las consultas
+ * pueden limitarse a las asignaciones hechas con el rol Docente o tomar todas, según lo que
+ * filtraba cada consulta original.
+ *
+ * Es inmutable: las listas devueltas no se pueden modificar y se comparten entre las ventanas.
+ *
+ * @author Yonatan
+ */
+public class AsignacionesDocente {
+
+    /** idRol del rol Docente en la tabla rol */
+    public static final int ROL_DOCENTE = 1;
+
+    private final int idUsuario;
+    private final Indice todas;
+    private final Indice comoDocente;
+
+    /**
+     * @param idUsuario ID del usuario
+     * @param asignaciones filas de docente_materia_curso del usuario
+     */
+    public AsignacionesDocente(int idUsuario, List<Asignacion> asignaciones) {
+        this.idUsuario = idUsuario;
+        this.todas = new Indice(asignaciones);
+        List<Asignacion> soloDocente = new ArrayList<>();
+        for (Asignacion a : asignaciones) {
+            if (a.idRol == ROL_DOCENTE) {
+                soloDocente.add(a);
+            }
+        }
+        this.comoDocente = new Indice(soloDocente);
+    }
+
+    /**
+     * @param idUsuario ID del usuario
+     * @return asignaciones vacías, usadas cuando la lectura falla
+     */
+    public static AsignacionesDocente vacias(int idUsuario) {
+        return new AsignacionesDocente(idUsuario, List.of());
+    }
+
+    public int getIdUsuario() {
+        return idUsuario;
+    }
+
+    /**
+     * @param soloRolDocente true para tomar solo las asignaciones hechas con el rol Docente
+     * @return cursos donde el usuario dicta al menos una materia, ordenados por nombre
+     */
+    public List<Curso> getCursos(boolean soloRolDocente) {
+        return indice(soloRolDocente).cursos;
+    }
+
+    /**
+     * @param idCurso ID del curso
+     * @param soloRolDocente true para tomar solo las asignaciones hechas con el rol Docente
+     * @return materias que el usuario dicta en el curso, ordenadas por nombre
+     */
+    public List<Materia> getMaterias(int idCurso, boolean soloRolDocente) {
+        return indice(soloRolDocente).materiasPorCurso.getOrDefault(idCurso, List.of());
+    }
+
+    /**
+     * @param idMateria ID de la materia
+     * @param soloRolDocente true para tomar solo las asignaciones hechas con el rol Docente
+     * @return cursos donde el usuario dicta la materia, ordenados por nombre
+     */
+    public List<Curso> getCursosDeMateria(int idMateria, boolean soloRolDocente) {
+        return indice(soloRolDocente).cursosPorMateria.getOrDefault(idMateria, List.of());
+    }
+
+    /** @return true si el usuario no tiene ninguna asignación */
+    public boolean estaVacia() {
+        return todas.cursos.isEmpty();
+    }
+
+    private Indice indice(boolean soloRolDocente) {
+        return soloRolDocente ? comoDocente : todas;
+    }
+
+    /**
+     * Una fila de docente_materia_curso con los nombres del curso y la materia.
+     * La materia puede no tener nombre si no existe en la tabla materia.
+     */
+    public static class Asignacion {
+        private final Curso curso;
+        private final Materia materia;
+        private final int idRol;
+
+        /**
+         * @param curso curso asignado
+         * @param materia materia asignada; su nombre es null si la materia no existe
+         * @param idRol rol del usuario en usuarios_rol
+         */
+        public Asignacion(Curso curso, Materia materia, int idRol) {
+            this.curso = curso;
+            this.materia = materia;
+            this.idRol = idRol;
+        }
+    }
+
+    /**
+     * Índices curso → materias y materia → cursos de un conjunto de asignaciones.
+     */
+    private static class Indice {
+        private final List<Curso> cursos;
+        private final Map<Integer, List<Materia>> materiasPorCurso;
+        private final Map<Integer, List<Curso>> cursosPorMateria;
+
+        Indice(List<Asignacion> asignaciones) {
+            Map<Integer, Curso> cursosPorId = new LinkedHashMap<>();
+            Map<Integer, Map<Integer, Materia>> materias = new LinkedHashMap<>();
+            Map<Integer, Map<Integer, Curso>> cursosDeMateria = new LinkedHashMap<>();
+
+            for (Asignacion a : asignaciones) {
+                int idCurso = a.curso.getIdCurso();
+                cursosPorId.putIfAbsent(idCurso, a.curso);
+                if (a.materia.getNombre() == null) {
+                    continue;
+                }
+                int idMateria = a.materia.getIdMateria();
+                materias.computeIfAbsent(idCurso, c -> new LinkedHashMap<>()).putIfAbsent(idMateria, a.materia);
+                cursosDeMateria.computeIfAbsent(idMateria, m -> new LinkedHashMap<>()).putIfAbsent(idCurso, a.curso);
+            }
+
+            this.cursos = ordenadosPorNombre(cursosPorId.values(), Curso::getNombre);
+            this.materiasPorCurso = new LinkedHashMap<>();
+            materias.forEach((idCurso, m) -> materiasPorCurso.put(idCurso, ordenadosPorNombre(m.values(), Materia::getNombre)));
+            this.cursosPorMateria = new LinkedHashMap<>();
+            cursosDeMateria.forEach((idMateria, c) -> cursosPorMateria.put(idMateria, ordenadosPorNombre(c.values(), Curso::getNombre)));
+        }
+
+        private static <T> List<T> ordenadosPorNombre(Collection<T> valores, Function<T, String> nombre) {
+            List<T> lista = new ArrayList<>(valores);
+            lista.sort(Comparator.comparing(nombre, Comparator.nullsLast(Comparator.naturalOrder())));
+            return Collections.unmodifiableList(lista);
+        }
+    }
+}
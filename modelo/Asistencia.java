@@ -173,7 +173,7 @@ public class Asistencia implements RegistrableEnBitacora {
         for (AsistenciaDetalle detalle : detalles) {
             String estado = detalle.getEstado();
 
-            if (!estado.equalsIgnoreCase("Presente")) {
+            if (detalle.getEstadoAsistencia() != EstadoAsistencia.PRESENTE) {
                 String descripcion = "Asistencia del " + fecha.toString() + ": " + estado;
                 registrarEnBitacora(detalle.getIdEstudiante(), descripcion);
             }
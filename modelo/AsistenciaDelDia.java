@@ -0,0 +1,106 @@
+package modelo;
+
+import excepciones.EstadoAsistenciaInvalidoException;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+
+/**
+ * Estados de asistencia de los estudiantes de un curso en una toma de asistencia.
+ *
+ * Guarda los IDs en un arreglo de int y los estados como códigos de un byte
+ * ({@link EstadoAsistencia#getCodigo()}), en el orden en que se cargan, en lugar de un
+ * Map&lt;Integer, String&gt; con un texto por estudiante.
+ *
+ * @author Yonatan
+ */
+public class AsistenciaDelDia {
+
+    private int[] estudiantes;
+    private byte[] estados;
+    private int cantidad;
+
+    /**
+     * @param capacidad cantidad esperada de estudiantes (la nómina del curso)
+     */
+    public AsistenciaDelDia(int capacidad) {
+        estudiantes = new int[Math.max(capacidad, 1)];
+        estados = new byte[estudiantes.length];
+    }
+
+    /**
+     * Arma la asistencia a partir de un mapa de ID de estudiante a texto del estado.
+     *
+     * @param estadosPorEstudiante estados como texto ("Presente", "Ausente", etc.)
+     * @return asistencia con los estados convertidos
+     * @throws EstadoAsistenciaInvalidoException si algún texto no corresponde a un estado
+     */
+    public static AsistenciaDelDia desdeTextos(Map<Integer, String> estadosPorEstudiante)
+            throws EstadoAsistenciaInvalidoException {
+        AsistenciaDelDia asistencia = new AsistenciaDelDia(estadosPorEstudiante.size());
+        for (Map.Entry<Integer, String> entrada : estadosPorEstudiante.entrySet()) {
+            asistencia.poner(entrada.getKey(), EstadoAsistencia.desdeTexto(entrada.getValue()));
+        }
+        return asistencia;
+    }
+
+    /**
+     * Carga o reemplaza el estado de un estudiante.
+     *
+     * @param idEstudiante ID del estudiante
+     * @param estado estado de asistencia
+     */
+    public void poner(int idEstudiante, EstadoAsistencia estado) {
+        for (int i = 0; i < cantidad; i++) {
+            if (estudiantes[i] == idEstudiante) {
+                estados[i] = estado.getCodigo();
+                return;
+            }
+        }
+        if (cantidad == estudiantes.length) {
+            estudiantes = Arrays.copyOf(estudiantes, cantidad * 2);
+            estados = Arrays.copyOf(estados, cantidad * 2);
+        }
+        estudiantes[cantidad] = idEstudiante;
+        estados[cantidad] = estado.getCodigo();
+        cantidad++;
+    }
+
+    /** @return cantidad de estudiantes cargados */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /** @return ID del estudiante en la posición indicada */
+    public int getIdEstudiante(int posicion) {
+        return estudiantes[posicion];
+    }
+
+    /** @return estado del estudiante en la posición indicada */
+    public EstadoAsistencia getEstado(int posicion) {
+        return EstadoAsistencia.desdeCodigo(estados[posicion]);
+    }
+
+    /** @return cantidad de estudiantes con el estado indicado */
+    public int contar(EstadoAsistencia estado) {
+        int total = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (estados[i] == estado.getCodigo()) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /** @return posiciones de los estudiantes que no estuvieron presentes */
+    public BitSet inasistencias() {
+        BitSet ausentes = new BitSet(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            if (estados[i] != EstadoAsistencia.PRESENTE.getCodigo()) {
+                ausentes.set(i);
+            }
+        }
+        return ausentes;
+    }
+}
@@ -76,6 +76,13 @@ public class AsistenciaDetalle {
         this.estado = estado;
     }
 
+    /**
+     * @return estado como {@link EstadoAsistencia}, o null si el texto guardado no es un estado válido
+     */
+    public EstadoAsistencia getEstadoAsistencia() {
+        return EstadoAsistencia.buscar(estado);
+    }
+
     public int getIdMateria() {
         return idMateria;
     }
@@ -0,0 +1,99 @@
+package modelo;
+
+import excepciones.EstadoAsistenciaInvalidoException;
+
+/**
+ * Estados posibles de un estudiante en una toma de asistencia.
+ *
+ * Cada estado tiene el texto que se guarda en asistenciadetalle.estado y se muestra en los combos,
+ * y un código de un byte para guardar la asistencia de un curso en arreglos primitivos
+ * (ver {@link AsistenciaDelDia}). El código 0 ({@link #SIN_REGISTRO}) indica un estudiante
+ * sin estado cargado.
+ *
+ * @author Yonatan
+ */
+public enum EstadoAsistencia {
+
+    PRESENTE("Presente", (byte) 1),
+    AUSENTE("Ausente", (byte) 2),
+    AUSENTE_JUSTIFICADO("Ausente Justificado", (byte) 3),
+    RETIRADO("Retirado", (byte) 4);
+
+    /** Código de un estudiante sin estado cargado */
+    public static final byte SIN_REGISTRO = 0;
+
+    // Índice = código
+    private static final EstadoAsistencia[] POR_CODIGO = {null, PRESENTE, AUSENTE, AUSENTE_JUSTIFICADO, RETIRADO};
+
+    private final String texto;
+    private final byte codigo;
+
+    EstadoAsistencia(String texto, byte codigo) {
+        this.texto = texto;
+        this.codigo = codigo;
+    }
+
+    /** @return texto que se guarda en la base y se muestra en pantalla */
+    public String getTexto() {
+        return texto;
+    }
+
+    /** @return código de un byte del estado */
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    /** @return true si el estado no es Presente, es decir, si debe quedar en la bitácora */
+    public boolean esInasistencia() {
+        return this != PRESENTE;
+    }
+
+    /**
+     * Convierte el texto ingresado o leído de la base en un estado.
+     * No distingue mayúsculas y tolera espacios al comienzo y al final.
+     *
+     * @param texto texto del estado (por ejemplo "Ausente Justificado")
+     * @return estado correspondiente
+     * @throws EstadoAsistenciaInvalidoException si el texto no corresponde a ningún estado
+     */
+    public static EstadoAsistencia desdeTexto(String texto) throws EstadoAsistenciaInvalidoException {
+        EstadoAsistencia estado = buscar(texto);
+        if (estado == null) {
+            throw new EstadoAsistenciaInvalidoException(texto);
+        }
+        return estado;
+    }
+
+    /**
+     * @param texto texto del estado
+     * @return estado correspondiente, o null si el texto no corresponde a ninguno
+     */
+    public static EstadoAsistencia buscar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String limpio = texto.trim();
+        for (EstadoAsistencia estado : values()) {
+            if (estado.texto.equalsIgnoreCase(limpio)) {
+                return estado;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param codigo código de un byte
+     * @return estado correspondiente, o null para {@link #SIN_REGISTRO} o un código desconocido
+     */
+    public static EstadoAsistencia desdeCodigo(byte codigo) {
+        return codigo > 0 && codigo < POR_CODIGO.length ? POR_CODIGO[codigo] : null;
+    }
+
+    /**
+     * Se muestra el texto para poder usar los estados directamente en un JComboBox.
+     */
+    @Override
+    public String toString() {
+        return texto;
+    }
+}
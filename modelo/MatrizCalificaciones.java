@@ -0,0 +1,377 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Planilla de calificaciones compacta: estudiantes en las filas, actividades en las columnas.
+ *
+ * Los IDs se guardan ordenados en arreglos de int y se buscan por búsqueda binaria, y cada nota
+ * se guarda como un código short en un único arreglo denso (fila × columna), en lugar de un mapa
+ * por estudiante con claves Integer y objetos Calificacion: ocupa unos pocos bytes por celda y
+ * recorrerla no crea objetos. Como es densa, los informes de toda la escuela deben armar una
+ * matriz por curso (o por curso y materia) y no una sola para todos los estudiantes.
+ *
+ * Los valores habituales ("1" a "10", "NE", los conceptos y las ausencias) tienen códigos fijos;
+ * cualquier otro texto recibe un código propio de la matriz. El código 0 indica una celda sin nota.
+ *
+ * Es inmutable; se arma con un {@link Acumulador}.
+ *
+ * @author Yonatan
+ */
+public class MatrizCalificaciones {
+
+    /** Código de una celda sin calificación */
+    public static final short SIN_NOTA = 0;
+
+    // Valores con código fijo: el código es la posición + 1. Los numéricos van primero (código = nota).
+    private static final String[] VALORES_FIJOS = {
+        "1", "2", "3", "4", "5", "6", "7", "8", "9", "10",
+        "NE", "Ausente", "Ausente Justificado",
+        "Mal", "Regular", "Bien", "Muy Bien", "Excelente"
+    };
+    private static final int NOTA_MAXIMA = 10;
+
+    private static final Map<String, Short> CODIGOS_FIJOS = new HashMap<>();
+
+    static {
+        for (int i = 0; i < VALORES_FIJOS.length; i++) {
+            CODIGOS_FIJOS.put(VALORES_FIJOS[i], (short) (i + 1));
+        }
+    }
+
+    /**
+     * Recibe las celdas al recorrer una fila o una columna.
+     */
+    public interface Celda {
+        /**
+         * @param idEstudiante ID del estudiante (fila)
+         * @param idActividad ID de la actividad (columna)
+         * @param codigo código de la nota (ver {@link #valorDe(short)})
+         */
+        void aceptar(int idEstudiante, int idActividad, short codigo);
+    }
+
+    private final int[] estudiantes;
+    private final int[] actividades;
+    private final short[] notas;
+    private final String[] valoresPropios;
+    private final double[] numericosPropios;
+    private final int cantidadNotas;
+
+    private MatrizCalificaciones(int[] estudiantes, int[] actividades, short[] notas,
+                                 String[] valoresPropios, int cantidadNotas) {
+        this.estudiantes = estudiantes;
+        this.actividades = actividades;
+        this.notas = notas;
+        this.valoresPropios = valoresPropios;
+        this.cantidadNotas = cantidadNotas;
+
+        this.numericosPropios = new double[valoresPropios.length];
+        for (int i = 0; i < valoresPropios.length; i++) {
+            numericosPropios[i] = aNumero(valoresPropios[i]);
+        }
+    }
+
+    // ===================== ÍNDICES =====================
+
+    public int getCantidadEstudiantes() {
+        return estudiantes.length;
+    }
+
+    public int getCantidadActividades() {
+        return actividades.length;
+    }
+
+    /** @return cantidad de celdas con nota */
+    public int getCantidadNotas() {
+        return cantidadNotas;
+    }
+
+    /** @return ID del estudiante de la fila indicada */
+    public int getIdEstudiante(int fila) {
+        return estudiantes[fila];
+    }
+
+    /** @return ID de la actividad de la columna indicada */
+    public int getIdActividad(int columna) {
+        return actividades[columna];
+    }
+
+    /** @return fila del estudiante, o -1 si no tiene ninguna nota en la matriz */
+    public int filaDe(int idEstudiante) {
+        int fila = Arrays.binarySearch(estudiantes, idEstudiante);
+        return fila < 0 ? -1 : fila;
+    }
+
+    /** @return columna de la actividad, o -1 si no tiene ninguna nota en la matriz */
+    public int columnaDe(int idActividad) {
+        int columna = Arrays.binarySearch(actividades, idActividad);
+        return columna < 0 ? -1 : columna;
+    }
+
+    // ===================== CELDAS =====================
+
+    /** @return código de la nota en la celda, o {@link #SIN_NOTA} */
+    public short getCodigo(int fila, int columna) {
+        return notas[fila * actividades.length + columna];
+    }
+
+    /**
+     * @return código de la nota del estudiante en la actividad, o {@link #SIN_NOTA}
+     */
+    public short codigoDe(int idEstudiante, int idActividad) {
+        int fila = filaDe(idEstudiante);
+        int columna = columnaDe(idActividad);
+        return fila < 0 || columna < 0 ? SIN_NOTA : getCodigo(fila, columna);
+    }
+
+    /**
+     * @return nota del estudiante en la actividad, o null si no tiene
+     */
+    public String getValor(int idEstudiante, int idActividad) {
+        return valorDe(codigoDe(idEstudiante, idActividad));
+    }
+
+    /**
+     * @param codigo código de una celda de esta matriz
+     * @return texto de la nota, o null para {@link #SIN_NOTA}
+     */
+    public String valorDe(short codigo) {
+        if (codigo == SIN_NOTA) {
+            return null;
+        }
+        if (codigo <= VALORES_FIJOS.length) {
+            return VALORES_FIJOS[codigo - 1];
+        }
+        return valoresPropios[codigo - VALORES_FIJOS.length - 1];
+    }
+
+    /**
+     * @param codigo código de una celda de esta matriz
+     * @return valor numérico de la nota, o NaN si no es numérica o no hay nota
+     */
+    public double numeroDe(short codigo) {
+        if (codigo == SIN_NOTA) {
+            return Double.NaN;
+        }
+        if (codigo <= NOTA_MAXIMA) {
+            return codigo;
+        }
+        if (codigo <= VALORES_FIJOS.length) {
+            return Double.NaN;
+        }
+        return numericosPropios[codigo - VALORES_FIJOS.length - 1];
+    }
+
+    // ===================== RECORRIDOS =====================
+
+    /**
+     * Recorre las notas de un estudiante, en orden de ID de actividad. Las celdas vacías se omiten.
+     */
+    public void recorrerFila(int idEstudiante, Celda celda) {
+        int fila = filaDe(idEstudiante);
+        if (fila < 0) {
+            return;
+        }
+        int inicio = fila * actividades.length;
+        for (int columna = 0; columna < actividades.length; columna++) {
+            short codigo = notas[inicio + columna];
+            if (codigo != SIN_NOTA) {
+                celda.aceptar(idEstudiante, actividades[columna], codigo);
+            }
+        }
+    }
+
+    /**
+     * Recorre las notas de una actividad, en orden de ID de estudiante. Las celdas vacías se omiten.
+     */
+    public void recorrerColumna(int idActividad, Celda celda) {
+        int columna = columnaDe(idActividad);
+        if (columna < 0) {
+            return;
+        }
+        for (int fila = 0; fila < estudiantes.length; fila++) {
+            short codigo = notas[fila * actividades.length + columna];
+            if (codigo != SIN_NOTA) {
+                celda.aceptar(estudiantes[fila], idActividad, codigo);
+            }
+        }
+    }
+
+    // ===================== AGREGADOS =====================
+
+    /**
+     * @return promedio de las notas numéricas del estudiante, o NaN si no tiene ninguna
+     */
+    public double promedioEstudiante(int idEstudiante) {
+        int fila = filaDe(idEstudiante);
+        if (fila < 0) {
+            return Double.NaN;
+        }
+        return promedio(fila * actividades.length, 1, actividades.length);
+    }
+
+    /**
+     * @return promedio de las notas numéricas de la actividad, o NaN si no tiene ninguna
+     */
+    public double promedioActividad(int idActividad) {
+        int columna = columnaDe(idActividad);
+        if (columna < 0) {
+            return Double.NaN;
+        }
+        return promedio(columna, actividades.length, estudiantes.length);
+    }
+
+    /**
+     * @return cantidad de actividades con nota del estudiante
+     */
+    public int contarNotasEstudiante(int idEstudiante) {
+        int fila = filaDe(idEstudiante);
+        if (fila < 0) {
+            return 0;
+        }
+        int cantidad = 0;
+        int inicio = fila * actividades.length;
+        for (int columna = 0; columna < actividades.length; columna++) {
+            if (notas[inicio + columna] != SIN_NOTA) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Cuenta cuántos estudiantes tienen cada nota en una actividad.
+     *
+     * @return nota → cantidad, en el orden de los códigos (primero de 1 a 10)
+     */
+    public Map<String, Integer> distribucionActividad(int idActividad) {
+        int[] cuenta = new int[VALORES_FIJOS.length + valoresPropios.length + 1];
+        recorrerColumna(idActividad, (idEstudiante, idAct, codigo) -> cuenta[codigo]++);
+
+        Map<String, Integer> distribucion = new LinkedHashMap<>();
+        for (short codigo = 1; codigo < cuenta.length; codigo++) {
+            if (cuenta[codigo] > 0) {
+                distribucion.put(valorDe(codigo), cuenta[codigo]);
+            }
+        }
+        return distribucion;
+    }
+
+    private double promedio(int inicio, int paso, int cantidad) {
+        double suma = 0;
+        int contadas = 0;
+        for (int i = 0, pos = inicio; i < cantidad; i++, pos += paso) {
+            double numero = numeroDe(notas[pos]);
+            if (!Double.isNaN(numero)) {
+                suma += numero;
+                contadas++;
+            }
+        }
+        return contadas == 0 ? Double.NaN : suma / contadas;
+    }
+
+    private static double aNumero(String valor) {
+        try {
+            return Double.parseDouble(valor.trim().replace(',', '.'));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    // ===================== CONSTRUCCIÓN =====================
+
+    /**
+     * Junta las notas a medida que se leen (en cualquier orden) y arma la matriz al final.
+     * Las notas se guardan en arreglos de int, sin crear un objeto por fila.
+     * Si una celda se agrega dos veces queda el último valor.
+     */
+    public static class Acumulador {
+        private int[] idsEstudiante = new int[64];
+        private int[] idsActividad = new int[64];
+        private short[] codigos = new short[64];
+        private int cantidad;
+
+        private final Map<String, Short> codigosPropios = new HashMap<>();
+        private final List<String> valoresPropios = new ArrayList<>();
+
+        /**
+         * @param idEstudiante ID del estudiante
+         * @param idActividad ID de la actividad
+         * @param valor nota; null deja la celda sin nota
+         */
+        public void agregar(int idEstudiante, int idActividad, String valor) {
+            if (cantidad == codigos.length) {
+                int nuevoLargo = cantidad * 2;
+                idsEstudiante = Arrays.copyOf(idsEstudiante, nuevoLargo);
+                idsActividad = Arrays.copyOf(idsActividad, nuevoLargo);
+                codigos = Arrays.copyOf(codigos, nuevoLargo);
+            }
+            idsEstudiante[cantidad] = idEstudiante;
+            idsActividad[cantidad] = idActividad;
+            codigos[cantidad] = codificar(valor);
+            cantidad++;
+        }
+
+        private short codificar(String valor) {
+            if (valor == null) {
+                return SIN_NOTA;
+            }
+            Short codigo = CODIGOS_FIJOS.get(valor);
+            if (codigo != null) {
+                return codigo;
+            }
+            codigo = codigosPropios.get(valor);
+            if (codigo == null) {
+                if (VALORES_FIJOS.length + valoresPropios.size() >= Short.MAX_VALUE) {
+                    throw new IllegalStateException("Demasiados valores de nota distintos en la planilla");
+                }
+                valoresPropios.add(valor);
+                codigo = (short) (VALORES_FIJOS.length + valoresPropios.size());
+                codigosPropios.put(valor, codigo);
+            }
+            return codigo;
+        }
+
+        /**
+         * @return matriz con las notas agregadas
+         */
+        public MatrizCalificaciones construir() {
+            int[] estudiantes = distintosOrdenados(idsEstudiante, cantidad);
+            int[] actividades = distintosOrdenados(idsActividad, cantidad);
+            short[] notas = new short[estudiantes.length * actividades.length];
+
+            int conNota = 0;
+            for (int i = 0; i < cantidad; i++) {
+                int pos = Arrays.binarySearch(estudiantes, idsEstudiante[i]) * actividades.length
+                        + Arrays.binarySearch(actividades, idsActividad[i]);
+                if (notas[pos] == SIN_NOTA && codigos[i] != SIN_NOTA) {
+                    conNota++;
+                } else if (notas[pos] != SIN_NOTA && codigos[i] == SIN_NOTA) {
+                    conNota--;
+                }
+                notas[pos] = codigos[i];
+            }
+
+            return new MatrizCalificaciones(estudiantes, actividades, notas,
+                    valoresPropios.toArray(new String[0]), conNota);
+        }
+
+        private static int[] distintosOrdenados(int[] ids, int cantidad) {
+            int[] copia = Arrays.copyOf(ids, cantidad);
+            Arrays.sort(copia);
+            int distintos = 0;
+            for (int i = 0; i < copia.length; i++) {
+                if (i == 0 || copia[i] != copia[i - 1]) {
+                    copia[distintos++] = copia[i];
+                }
+            }
+            return Arrays.copyOf(copia, distintos);
+        }
+    }
+}
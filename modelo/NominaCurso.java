@@ -0,0 +1,76 @@
+package modelo;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Nómina de un curso: los estudiantes inscriptos, ordenados por apellido y nombre,
+ * tal como estaban al momento de leerla de la base.
+ *
+ * Es inmutable y se comparte entre todas las ventanas que consultan el curso,
+ * por lo que los estudiantes que contiene no deben modificarse.
+ *
+ * @author Yonatan
+ */
+public class NominaCurso {
+
+    private final int idCurso;
+    private final List<Estudiante> estudiantes;
+    private final Map<String, Integer> idsPorNombre;
+    private final long cargadaEn;
+
+    /**
+     * @param idCurso ID del curso
+     * @param estudiantes estudiantes del curso, ordenados por apellido y nombre
+     * @param cargadaEn momento de la lectura (System.currentTimeMillis), o 0 si no se pudo leer
+     */
+    public NominaCurso(int idCurso, List<Estudiante> estudiantes, long cargadaEn) {
+        this.idCurso = idCurso;
+        this.estudiantes = List.copyOf(estudiantes);
+        this.cargadaEn = cargadaEn;
+
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        for (Estudiante e : this.estudiantes) {
+            ids.put(e.getApellido() + ", " + e.getNombre(), e.getIdEstudiante());
+        }
+        this.idsPorNombre = Collections.unmodifiableMap(ids);
+    }
+
+    /**
+     * @param idCurso ID del curso
+     * @return nómina sin estudiantes, usada cuando la lectura falla
+     */
+    public static NominaCurso vacia(int idCurso) {
+        return new NominaCurso(idCurso, List.of(), 0);
+    }
+
+    public int getIdCurso() {
+        return idCurso;
+    }
+
+    /** @return estudiantes ordenados por apellido y nombre (lista no modificable) */
+    public List<Estudiante> getEstudiantes() {
+        return estudiantes;
+    }
+
+    /** @return mapa "apellido, nombre" → idEstudiante, en el mismo orden (no modificable) */
+    public Map<String, Integer> getIdsPorNombre() {
+        return idsPorNombre;
+    }
+
+    /** @return momento de la lectura (System.currentTimeMillis), o 0 si no se pudo leer */
+    public long getCargadaEn() {
+        return cargadaEn;
+    }
+
+    /** @return true si el estudiante pertenece a esta nómina */
+    public boolean contiene(int idEstudiante) {
+        return idsPorNombre.containsValue(idEstudiante);
+    }
+
+    public int getCantidad() {
+        return estudiantes.size();
+    }
+}
@@ -0,0 +1,47 @@
+package modelo;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Página de eventos de la bitácora obtenida por paginación por clave (fecha, idBitacora).
+ * Además de los eventos guarda la clave del último, que es el punto de partida de la página siguiente.
+ * La fecha de la clave se guarda completa (con hora), ya que la columna fecha de bitácora incluye la hora.
+ *
+ * @author Yonatan
+ */
+public class PaginaBitacora {
+
+    private final List<Bitacora> eventos;
+    private final boolean hayMas;
+    private final Timestamp ultimaFecha;
+
+    /**
+     * @param eventos eventos de la página, del más reciente al más antiguo
+     * @param hayMas true si existen eventos más antiguos que el último de la página
+     * @param ultimaFecha fecha y hora del último evento de la página, o null si está vacía
+     */
+    public PaginaBitacora(List<Bitacora> eventos, boolean hayMas, Timestamp ultimaFecha) {
+        this.eventos = eventos;
+        this.hayMas = hayMas;
+        this.ultimaFecha = ultimaFecha;
+    }
+
+    public List<Bitacora> getEventos() {
+        return eventos;
+    }
+
+    public boolean isHayMas() {
+        return hayMas;
+    }
+
+    /** @return fecha y hora del último evento de la página, o null si está vacía */
+    public Timestamp getUltimaFecha() {
+        return ultimaFecha;
+    }
+
+    /** @return ID del último evento de la página, o 0 si está vacía */
+    public int getUltimoId() {
+        return eventos.isEmpty() ? 0 : eventos.get(eventos.size() - 1).getIdBitacora();
+    }
+}
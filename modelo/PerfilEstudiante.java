@@ -0,0 +1,70 @@
+package modelo;
+
+import java.util.List;
+
+/**
+ * Todo lo que muestra la bitácora de un estudiante, cargado de una vez: curso, inasistencias,
+ * calificaciones, reuniones y observaciones pedagógicas. Cada subventana de la bitácora
+ * recibe la parte que le corresponde.
+ *
+ * Las listas de filas conservan el formato que devuelven los controladores
+ * (ver {@link controlador.ControladorConsulta} y {@link controlador.ControladorBitacora}).
+ *
+ * @author Yonatan
+ */
+public class PerfilEstudiante {
+
+    private final Estudiante estudiante;
+    private final Curso curso;
+    private final List<String[]> asistenciasNoPresentes;
+    private final List<String[]> calificaciones;
+    private final List<SolicitudReunionDetallada> reuniones;
+    private final List<String[]> observaciones;
+    private final long cargadoEn;
+
+    public PerfilEstudiante(Estudiante estudiante, Curso curso, List<String[]> asistenciasNoPresentes,
+                            List<String[]> calificaciones, List<SolicitudReunionDetallada> reuniones,
+                            List<String[]> observaciones) {
+        this.estudiante = estudiante;
+        this.curso = curso;
+        this.asistenciasNoPresentes = List.copyOf(asistenciasNoPresentes);
+        this.calificaciones = List.copyOf(calificaciones);
+        this.reuniones = List.copyOf(reuniones);
+        this.observaciones = List.copyOf(observaciones);
+        this.cargadoEn = System.currentTimeMillis();
+    }
+
+    public Estudiante getEstudiante() {
+        return estudiante;
+    }
+
+    /** @return curso del estudiante, o null si no se encontró */
+    public Curso getCurso() {
+        return curso;
+    }
+
+    /** @return filas {fecha, curso, materia, estado} de las asistencias distintas de Presente */
+    public List<String[]> getAsistenciasNoPresentes() {
+        return asistenciasNoPresentes;
+    }
+
+    /** @return filas {materia, fecha, actividad, nota} */
+    public List<String[]> getCalificaciones() {
+        return calificaciones;
+    }
+
+    /** @return reuniones en las que fue convocado, de la más reciente a la más antigua */
+    public List<SolicitudReunionDetallada> getReuniones() {
+        return reuniones;
+    }
+
+    /** @return filas {fecha, docente, curso, descripción} de las observaciones pedagógicas */
+    public List<String[]> getObservaciones() {
+        return observaciones;
+    }
+
+    /** @return momento de la carga, en milisegundos */
+    public long getCargadoEn() {
+        return cargadoEn;
+    }
+}
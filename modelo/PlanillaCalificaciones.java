@@ -4,6 +4,7 @@
  */
 package modelo;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -19,12 +20,19 @@ import java.util.HashMap;
 /**
  * Clase que representa la planilla de calificaciones como una estructura matricial.
  * Cada fila corresponde a un estudiante, y cada columna a una actividad de una materia.
+ *
+ * Cuando se arma desde la base, las notas se guardan en una {@link MatrizCalificaciones} compacta
+ * y {@link #obtenerNota} responde desde ahí. Los mapas por estudiante, con sus objetos Calificacion,
+ * se crean una sola vez si alguien pide una calificación, la estructura completa o agrega notas.
  */
 public class PlanillaCalificaciones {
 
-    // Mapa de calificaciones por estudiante -> (actividad -> calificación)
+    // Mapa de calificaciones por estudiante -> (actividad -> calificación); null mientras se use la matriz
     private Map<Integer, Map<Integer, Calificacion>> calificaciones;
 
+    // Notas leídas de la base; null si la planilla se armó con agregarCalificacion
+    private MatrizCalificaciones matriz;
+
     /**
      * Constructor que inicializa la estructura.
      */
@@ -32,6 +40,14 @@ public class PlanillaCalificaciones {
         calificaciones = new HashMap<>();
     }
 
+    /**
+     * Crea la planilla a partir de una matriz compacta, sin armar los mapas por estudiante.
+     * @param matriz notas de la planilla
+     */
+    public PlanillaCalificaciones(MatrizCalificaciones matriz) {
+        this.matriz = matriz;
+    }
+
     /**
      * Agrega o actualiza una calificación en la planilla.
      * @param estudianteId ID del estudiante
@@ -39,6 +55,7 @@ public class PlanillaCalificaciones {
      * @param calificacion objeto Calificacion a registrar
      */
     public void agregarCalificacion(int estudianteId, int actividadId, Calificacion calificacion) {
+        desempaquetar();
         // Si el estudiante no tiene calificaciones aún, crear su mapa
         if (!calificaciones.containsKey(estudianteId)) {
             calificaciones.put(estudianteId, new HashMap<>());
@@ -54,13 +71,24 @@ public class PlanillaCalificaciones {
      * @return Calificacion correspondiente, o null si no existe
      */
     public Calificacion getCalificacion(int estudianteId, int actividadId) {
-        if (calificaciones.containsKey(estudianteId)) {
-            Map<Integer, Calificacion> calPorActividad = calificaciones.get(estudianteId);
-            if (calPorActividad != null && calPorActividad.containsKey(actividadId)) {
-                return calPorActividad.get(actividadId);
-            }
+        desempaquetar();
+        Map<Integer, Calificacion> calPorActividad = calificaciones.get(estudianteId);
+        return calPorActividad != null ? calPorActividad.get(actividadId) : null;
+    }
+
+    /**
+     * Devuelve el valor de la nota de un estudiante en una actividad, listo para mostrar.
+     * @param estudianteId ID del estudiante
+     * @param actividadId ID de la actividad
+     * @return valor de la nota, o "Sin calificación" si no tiene
+     */
+    public String obtenerNota(int estudianteId, int actividadId) {
+        if (matriz != null) {
+            String valor = matriz.getValor(estudianteId, actividadId);
+            return valor != null ? valor : "Sin calificación";
         }
-        return null;
+        Calificacion calificacion = getCalificacion(estudianteId, actividadId);
+        return calificacion != null ? calificacion.getValor() : "Sin calificación";
     }
 
     /**
@@ -68,18 +96,52 @@ public class PlanillaCalificaciones {
      * @return estructura (estudiante -> (actividad -> calificación))
      */
     public Map<Integer, Map<Integer, Calificacion>> getCalificaciones() {
+        desempaquetar();
         return calificaciones;
     }
+
+    /**
+     * Devuelve las notas en forma de matriz compacta, para recorridos y promedios.
+     * @return matriz con las notas de la planilla
+     */
+    public MatrizCalificaciones getMatriz() {
+        if (matriz == null) {
+            MatrizCalificaciones.Acumulador acumulador = new MatrizCalificaciones.Acumulador();
+            calificaciones.forEach((idEstudiante, porActividad) -> porActividad.forEach((idActividad, calificacion) ->
+                    acumulador.agregar(idEstudiante, idActividad, calificacion != null ? calificacion.getValor() : null)));
+            return acumulador.construir();
+        }
+        return matriz;
+    }
     
     /**
     * Devuelve el mapa de calificaciones de un estudiante específico.
-    * Si no tiene calificaciones registradas, retorna un mapa vacío.
+    * Si no tiene calificaciones registradas, retorna un mapa vacío (no modificable).
     *
     * @param idEstudiante ID del estudiante
     * @return Mapa de calificaciones por actividad
     */
    public Map<Integer, Calificacion> obtenerCalificacionesPorEstudiante(int idEstudiante) {
-       return calificaciones.getOrDefault(idEstudiante, new HashMap<>());
+       desempaquetar();
+       return calificaciones.getOrDefault(idEstudiante, Collections.emptyMap());
    }
 
+    /**
+     * Pasa las notas de la matriz a los mapas por estudiante, para poder modificarlas.
+     */
+    private void desempaquetar() {
+        if (matriz == null) {
+            return;
+        }
+        calificaciones = new HashMap<>();
+        for (int fila = 0; fila < matriz.getCantidadEstudiantes(); fila++) {
+            int idEstudiante = matriz.getIdEstudiante(fila);
+            Map<Integer, Calificacion> porActividad = new HashMap<>();
+            matriz.recorrerFila(idEstudiante, (idEst, idActividad, codigo) ->
+                    porActividad.put(idActividad, new Calificacion(0, matriz.valorDe(codigo), idEst, idActividad)));
+            calificaciones.put(idEstudiante, porActividad);
+        }
+        matriz = null;
+    }
+
 }
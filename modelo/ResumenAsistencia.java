@@ -0,0 +1,64 @@
+package modelo;
+
+/**
+ * Cantidad de registros de asistencia por estado para un conjunto de tomas
+ * (un curso, un estudiante, una materia o toda la escuela en un período).
+ *
+ * @author Yonatan
+ */
+public class ResumenAsistencia {
+
+    private final long presentes;
+    private final long ausentes;
+    private final long ausentesJustificados;
+    private final long retirados;
+
+    /**
+     * @param cuentas cantidad por código de {@link EstadoAsistencia} (índice = código)
+     */
+    public ResumenAsistencia(long[] cuentas) {
+        this.presentes = cuentas[EstadoAsistencia.PRESENTE.getCodigo()];
+        this.ausentes = cuentas[EstadoAsistencia.AUSENTE.getCodigo()];
+        this.ausentesJustificados = cuentas[EstadoAsistencia.AUSENTE_JUSTIFICADO.getCodigo()];
+        this.retirados = cuentas[EstadoAsistencia.RETIRADO.getCodigo()];
+    }
+
+    public long getPresentes() {
+        return presentes;
+    }
+
+    public long getAusentes() {
+        return ausentes;
+    }
+
+    public long getAusentesJustificados() {
+        return ausentesJustificados;
+    }
+
+    public long getRetirados() {
+        return retirados;
+    }
+
+    /** @return cantidad total de registros */
+    public long getTotal() {
+        return presentes + ausentes + ausentesJustificados + retirados;
+    }
+
+    /** @return porcentaje de registros con estado Presente, o 0 si no hay registros */
+    public double getPorcentajePresentes() {
+        long total = getTotal();
+        return total == 0 ? 0 : presentes * 100.0 / total;
+    }
+
+    /** @return porcentaje de inasistencias (justificadas o no), o 0 si no hay registros */
+    public double getPorcentajeAusentes() {
+        long total = getTotal();
+        return total == 0 ? 0 : (ausentes + ausentesJustificados) * 100.0 / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.1f%% presentes (%d de %d; %d ausentes, %d justificados, %d retirados)",
+                getPorcentajePresentes(), presentes, getTotal(), ausentes, ausentesJustificados, retirados);
+    }
+}
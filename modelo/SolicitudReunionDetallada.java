@@ -0,0 +1,64 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Solicitud de reunión junto con los datos que muestran las pantallas de reuniones:
+ * nombre del solicitante, nombre del curso y estudiantes convocados.
+ * Se arma en una sola consulta desde {@link controlador.ControladorReunion}, para no buscar
+ * el usuario, el curso y los estudiantes uno por uno.
+ *
+ * @author Yonatan
+ */
+public class SolicitudReunionDetallada extends SolicitudReunion {
+
+    private String nombreSolicitante; // "Apellido, Nombre", o null si el usuario ya no existe
+    private String nombreCurso;       // null si el curso ya no existe
+    private final List<Estudiante> participantes = new ArrayList<>();
+
+    public String getNombreSolicitante() {
+        return nombreSolicitante;
+    }
+
+    public void setNombreSolicitante(String nombreSolicitante) {
+        this.nombreSolicitante = nombreSolicitante;
+    }
+
+    public String getNombreCurso() {
+        return nombreCurso;
+    }
+
+    public void setNombreCurso(String nombreCurso) {
+        this.nombreCurso = nombreCurso;
+    }
+
+    /**
+     * @return estudiantes convocados, ordenados por apellido y nombre
+     */
+    public List<Estudiante> getParticipantes() {
+        return participantes;
+    }
+
+    public void agregarParticipante(Estudiante estudiante) {
+        participantes.add(estudiante);
+    }
+
+    /**
+     * @return nombres de los estudiantes convocados como "Apellido, Nombre"
+     */
+    public List<String> getNombresParticipantes() {
+        List<String> nombres = new ArrayList<>(participantes.size());
+        for (Estudiante e : participantes) {
+            nombres.add(e.getApellido() + ", " + e.getNombre());
+        }
+        return nombres;
+    }
+
+    /**
+     * @return true si se encontraron el solicitante y el curso
+     */
+    public boolean tieneDatosCompletos() {
+        return nombreSolicitante != null && nombreCurso != null;
+    }
+}
@@ -0,0 +1,30 @@
+-- Índices para las consultas de los controladores de SIGE.
+-- Se aplican una sola vez sobre la base de producción:
+--   mysql -u <usuario> -p sige < sql/migraciones/001_indices_consultas.sql
+-- Las pruebas de rendimiento los aplican si se indica -Dsige.bench.migraciones=sql/migraciones
+
+-- Login: roles del usuario
+CREATE INDEX idx_usuarios_rol_usuario ON usuarios_rol (idUsuario, idRol);
+
+-- Asignaciones de un curso y materia
+CREATE INDEX idx_dmc_curso_materia ON docente_materia_curso (idCurso, idMateria);
+
+-- Nómina del curso ordenada por apellido y nombre
+CREATE INDEX idx_estudiante_curso ON estudiante (idCurso, apellido, nombre);
+
+-- Asistencias de un curso por fecha y detalles de cada toma o de cada estudiante
+CREATE INDEX idx_asistencia_curso_fecha ON asistencia (idCurso, fecha);
+CREATE INDEX idx_detalle_asistencia ON asistenciadetalle (idAsistencia, idEstudiante);
+CREATE INDEX idx_detalle_estudiante ON asistenciadetalle (idEstudiante);
+
+-- Planillas de un docente y notas de un estudiante
+CREATE INDEX idx_planilla_docente ON planillacalificaciones (idUsuario, idCurso, idMateria);
+CREATE INDEX idx_calificacion_planilla ON calificacion (idPlanilla, idEstudiante);
+CREATE INDEX idx_calificacion_estudiante ON calificacion (idEstudiante);
+
+-- Bitácora general por páginas (fecha, idBitacora) y bitácora de un estudiante
+CREATE INDEX idx_bitacora_fecha ON bitacora (fecha, idBitacora);
+CREATE INDEX idx_bitacora_estudiante ON bitacora (idEstudiante, fecha);
+
+-- Reuniones de un estudiante
+CREATE INDEX idx_solicitud_estudiante ON solicitud_estudiante (idEstudiante);
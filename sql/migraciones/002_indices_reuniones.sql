@@ -0,0 +1,6 @@
+-- Índices para el listado paginado de reuniones (ControladorReunion.obtenerSolicitudesDetalladas
+-- y contarSolicitudes): filtro por estado o por curso, ordenado por fecha de solicitud.
+--   mysql -u <usuario> -p sige < sql/migraciones/002_indices_reuniones.sql
+
+CREATE INDEX idx_solicitud_reunion_estado ON solicitud_reunion (estado, fechaSolicitud);
+CREATE INDEX idx_solicitud_reunion_curso ON solicitud_reunion (idCurso, fechaSolicitud);
@@ -0,0 +1,189 @@
+package util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache en memoria con vencimiento por tiempo y tamaño máximo.
+ * Cada entrada vence a los ttlMs milisegundos de haberse cargado; cuando se supera
+ * el tamaño máximo se descarta la entrada usada hace más tiempo (LRU).
+ *
+ * Lleva estadísticas de aciertos, fallos, vencimientos y desalojos para poder
+ * comprobar su efectividad con el sistema en uso.
+ *
+ * @param <K> tipo de la clave
+ * @param <V> tipo del valor guardado
+ * @author Yonatan
+ */
+public class CacheTemporal<K, V> {
+
+    private final String nombre;
+    private final long ttlMs;
+    private final Map<K, Entrada<V>> entradas;
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong vencimientos = new AtomicLong();
+    private final AtomicLong desalojos = new AtomicLong();
+
+    /**
+     * @param nombre nombre del cache, usado en el resumen de estadísticas
+     * @param ttlMs tiempo de vida de cada entrada en milisegundos
+     * @param maximo cantidad máxima de entradas guardadas
+     */
+    public CacheTemporal(String nombre, long ttlMs, int maximo) {
+        this.nombre = nombre;
+        this.ttlMs = ttlMs;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> mayor) {
+                if (size() > maximo) {
+                    desalojos.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el valor guardado para la clave o, si no está o venció, lo carga con el cargador.
+     * Los valores null no se guardan, para volver a consultar la próxima vez.
+     *
+     * @param clave clave buscada
+     * @param cargador función que obtiene el valor desde la base
+     * @return valor encontrado o cargado, o null si el cargador no lo encontró
+     */
+    public V obtener(K clave, Function<K, V> cargador) {
+        V valor = buscar(clave);
+        if (valor != null) {
+            return valor;
+        }
+
+        // La carga se hace fuera del bloqueo para no frenar a otros hilos mientras se consulta la base
+        valor = cargador.apply(clave);
+        if (valor != null) {
+            poner(clave, valor);
+        }
+        return valor;
+    }
+
+    /**
+     * Busca un valor sin cargarlo. Cuenta como acierto o fallo.
+     *
+     * @param clave clave buscada
+     * @return valor vigente, o null si no está o venció
+     */
+    public synchronized V buscar(K clave) {
+        Entrada<V> entrada = entradas.get(clave);
+        if (entrada == null) {
+            fallos.incrementAndGet();
+            return null;
+        }
+        if (entrada.vencida()) {
+            entradas.remove(clave);
+            vencimientos.incrementAndGet();
+            fallos.incrementAndGet();
+            return null;
+        }
+        aciertos.incrementAndGet();
+        return entrada.valor;
+    }
+
+    /**
+     * Guarda o reemplaza un valor.
+     *
+     * @param clave clave del valor
+     * @param valor valor a guardar
+     */
+    public synchronized void poner(K clave, V valor) {
+        entradas.put(clave, new Entrada<>(valor, System.currentTimeMillis() + ttlMs));
+    }
+
+    /**
+     * Guarda todos los valores de un mapa, por ejemplo en una precarga.
+     *
+     * @param valores mapa clave → valor
+     */
+    public synchronized void ponerTodos(Map<K, V> valores) {
+        long vence = System.currentTimeMillis() + ttlMs;
+        for (Map.Entry<K, V> e : valores.entrySet()) {
+            entradas.put(e.getKey(), new Entrada<>(e.getValue(), vence));
+        }
+    }
+
+    /**
+     * Quita una entrada del cache; la próxima búsqueda vuelve a la base.
+     *
+     * @param clave clave a invalidar
+     */
+    public synchronized void invalidar(K clave) {
+        entradas.remove(clave);
+    }
+
+    /**
+     * Vacía el cache completo.
+     */
+    public synchronized void invalidarTodo() {
+        entradas.clear();
+    }
+
+    // ===================== ESTADÍSTICAS =====================
+
+    /** @return cantidad de entradas guardadas (incluye las vencidas aún no retiradas) */
+    public synchronized int getTamanio() {
+        return entradas.size();
+    }
+
+    public long getAciertos() {
+        return aciertos.get();
+    }
+
+    public long getFallos() {
+        return fallos.get();
+    }
+
+    public long getVencimientos() {
+        return vencimientos.get();
+    }
+
+    public long getDesalojos() {
+        return desalojos.get();
+    }
+
+    /** @return proporción de aciertos sobre el total de búsquedas (0 si no hubo búsquedas) */
+    public double getTasaAciertos() {
+        long a = aciertos.get();
+        long total = a + fallos.get();
+        return total == 0 ? 0 : (double) a / total;
+    }
+
+    /**
+     * Resumen de estadísticas en una línea, pensado para mostrar por consola.
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: %d entradas, %d aciertos, %d fallos (%.1f%%), %d vencidas, %d desalojadas",
+                nombre, getTamanio(), getAciertos(), getFallos(), getTasaAciertos() * 100,
+                getVencimientos(), getDesalojos());
+    }
+
+    /**
+     * Valor guardado junto con el momento en que vence.
+     */
+    private static class Entrada<V> {
+        private final V valor;
+        private final long vence;
+
+        Entrada(V valor, long vence) {
+            this.valor = valor;
+            this.vence = vence;
+        }
+
+        boolean vencida() {
+            return System.currentTimeMillis() >= vence;
+        }
+    }
+}
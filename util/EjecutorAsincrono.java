@@ -0,0 +1,221 @@
+package util;
+
+import java.awt.Cursor;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Ejecuta fuera del hilo de Swing (EDT) las consultas que hacen las ventanas a los controladores,
+ * y entrega el resultado de vuelta en el EDT, al estilo de SwingWorker.
+ *
+ * Cada tarea se identifica por la ventana que la pide y un nombre de acción:
+ * <ul>
+ *   <li>Mientras una acción está en curso, los pedidos repetidos de la misma acción se combinan:
+ *       solo se ejecuta el último, al terminar el que está en curso, y el resultado viejo se descarta.</li>
+ *   <li>Mientras la ventana tiene tareas en curso se muestra el cursor de espera.</li>
+ *   <li>Al cerrar la ventana se cancelan sus tareas y sus resultados ya no se entregan.</li>
+ * </ul>
+ *
+ * Los hilos de trabajo son acotados (propiedad sige.async.hilos) para no agotar el pool de conexiones.
+ * Todo el estado de las acciones se maneja en el EDT, por lo que no necesita sincronización.
+ *
+ * @author Yonatan
+ */
+public class EjecutorAsincrono {
+
+    private static final int HILOS = Integer.getInteger("sige.async.hilos", 4);
+    private static final int COLA = Integer.getInteger("sige.async.cola", 200);
+
+    private static final ThreadPoolExecutor EJECUTOR = crearEjecutor();
+
+    // Ventana → (acción → tarea en curso). Solo se accede desde el EDT.
+    private static final Map<Window, Map<String, Tarea<?>>> EN_CURSO = new HashMap<>();
+
+    // Ventanas a las que ya se les agregó el listener de cierre. Sobrevive a cancelar(),
+    // así un botón "Cancelar" no hace que se agregue otro listener en el próximo pedido.
+    private static final Map<Window, Boolean> CON_LISTENER = new WeakHashMap<>();
+
+    private EjecutorAsincrono() {
+    }
+
+    private static ThreadPoolExecutor crearEjecutor() {
+        AtomicInteger numero = new AtomicInteger();
+        ThreadPoolExecutor ejecutor = new ThreadPoolExecutor(HILOS, HILOS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(COLA), r -> {
+                    Thread hilo = new Thread(r, "sige-async-" + numero.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                });
+        ejecutor.allowCoreThreadTimeOut(true);
+        return ejecutor;
+    }
+
+    /**
+     * Ejecuta el trabajo en segundo plano y entrega el resultado en el EDT.
+     * Los errores se informan por consola.
+     *
+     * @param ventana ventana que pide la tarea (para el cursor de espera y la cancelación)
+     * @param accion nombre de la acción, usado para combinar pedidos repetidos
+     * @param trabajo consulta a ejecutar fuera del EDT
+     * @param alTerminar recibe el resultado en el EDT
+     * @param <T> tipo del resultado
+     */
+    public static <T> void ejecutar(Window ventana, String accion, Callable<T> trabajo, Consumer<T> alTerminar) {
+        ejecutar(ventana, accion, trabajo, alTerminar,
+                e -> System.err.println("Error al ejecutar '" + accion + "': " + e.getMessage()));
+    }
+
+    /**
+     * Ejecuta el trabajo en segundo plano y entrega el resultado o el error en el EDT.
+     *
+     * @param ventana ventana que pide la tarea (para el cursor de espera y la cancelación)
+     * @param accion nombre de la acción, usado para combinar pedidos repetidos
+     * @param trabajo consulta a ejecutar fuera del EDT
+     * @param alTerminar recibe el resultado en el EDT
+     * @param alFallar recibe el error en el EDT
+     * @param <T> tipo del resultado
+     */
+    public static <T> void ejecutar(Window ventana, String accion, Callable<T> trabajo,
+                                    Consumer<T> alTerminar, Consumer<Throwable> alFallar) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> ejecutar(ventana, accion, trabajo, alTerminar, alFallar));
+            return;
+        }
+
+        Tarea<T> nueva = new Tarea<>(ventana, accion, trabajo, alTerminar, alFallar);
+        registrarVentana(ventana);
+        Map<String, Tarea<?>> acciones = EN_CURSO.computeIfAbsent(ventana, v -> new HashMap<>());
+
+        Tarea<?> actual = acciones.get(accion);
+        if (actual != null) {
+            // Ya hay una en curso: queda esperando solo el último pedido
+            actual.siguiente = nueva;
+            return;
+        }
+        lanzar(acciones, nueva);
+    }
+
+    /**
+     * @param ventana ventana consultada
+     * @return true si la ventana tiene tareas en curso
+     */
+    public static boolean estaOcupada(Window ventana) {
+        Map<String, Tarea<?>> acciones = EN_CURSO.get(ventana);
+        return acciones != null && !acciones.isEmpty();
+    }
+
+    /**
+     * Cancela todas las tareas de una ventana. Se llama solo al cerrarla,
+     * pero puede usarse también desde un botón "Cancelar".
+     *
+     * @param ventana ventana cuyas tareas se cancelan
+     */
+    public static void cancelar(Window ventana) {
+        Map<String, Tarea<?>> acciones = EN_CURSO.remove(ventana);
+        if (acciones == null) {
+            return;
+        }
+        for (Tarea<?> tarea : acciones.values()) {
+            tarea.cancelada = true;
+            tarea.siguiente = null;
+            if (tarea.futuro != null) {
+                tarea.futuro.cancel(true);
+            }
+        }
+        ventana.setCursor(Cursor.getDefaultCursor());
+    }
+
+    // ===================== MANEJO INTERNO (EDT) =====================
+
+    private static void registrarVentana(Window ventana) {
+        if (CON_LISTENER.putIfAbsent(ventana, Boolean.TRUE) != null) {
+            return;
+        }
+        ventana.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                cancelar(ventana);
+            }
+        });
+    }
+
+    private static <T> void lanzar(Map<String, Tarea<?>> acciones, Tarea<T> tarea) {
+        acciones.put(tarea.accion, tarea);
+        tarea.ventana.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        try {
+            tarea.futuro = EJECUTOR.submit(() -> {
+                try {
+                    T resultado = tarea.trabajo.call();
+                    SwingUtilities.invokeLater(() -> terminar(tarea, resultado, null));
+                } catch (Throwable e) {
+                    SwingUtilities.invokeLater(() -> terminar(tarea, null, e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            terminar(tarea, null, e);
+        }
+    }
+
+    private static <T> void terminar(Tarea<T> tarea, T resultado, Throwable error) {
+        if (tarea.cancelada) {
+            return;
+        }
+
+        Map<String, Tarea<?>> acciones = EN_CURSO.get(tarea.ventana);
+        acciones.remove(tarea.accion);
+
+        if (tarea.siguiente != null) {
+            // Llegó un pedido más nuevo mientras corría: este resultado ya no sirve
+            lanzar(acciones, tarea.siguiente);
+            return;
+        }
+
+        if (acciones.isEmpty()) {
+            tarea.ventana.setCursor(Cursor.getDefaultCursor());
+        }
+
+        if (error == null) {
+            tarea.alTerminar.accept(resultado);
+        } else {
+            tarea.alFallar.accept(error);
+        }
+    }
+
+    /**
+     * Pedido de ejecución con sus callbacks y su estado.
+     */
+    private static class Tarea<T> {
+        private final Window ventana;
+        private final String accion;
+        private final Callable<T> trabajo;
+        private final Consumer<T> alTerminar;
+        private final Consumer<Throwable> alFallar;
+
+        private Future<?> futuro;
+        private Tarea<?> siguiente;
+        private boolean cancelada;
+
+        Tarea(Window ventana, String accion, Callable<T> trabajo,
+              Consumer<T> alTerminar, Consumer<Throwable> alFallar) {
+            this.ventana = ventana;
+            this.accion = accion;
+            this.trabajo = trabajo;
+            this.alTerminar = alTerminar;
+            this.alFallar = alFallar;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias en microsegundos, seguro para usar desde varios hilos sin bloqueos.
+ *
+ * Los valores se agrupan en intervalos logarítmicos: cada potencia de dos se divide en 16
+ * partes, así los percentiles tienen un error menor al 7% sin importar la magnitud
+ * (de microsegundos a minutos) y la memoria usada es fija.
+ *
+ * @author Yonatan
+ */
+public class HistogramaLatencia {
+
+    private static final int SUBDIVISIONES = 16;
+    private static final int BITS_SUBDIVISION = 4;
+    private static final int INTERVALOS = SUBDIVISIONES + (63 - BITS_SUBDIVISION) * SUBDIVISIONES;
+
+    private final AtomicLongArray cuentas = new AtomicLongArray(INTERVALOS);
+    private final LongAdder cantidad = new LongAdder();
+    private final LongAdder sumaMicros = new LongAdder();
+    private final AtomicLong maximoMicros = new AtomicLong();
+
+    /**
+     * Registra una duración.
+     *
+     * @param nanos duración en nanosegundos (por ejemplo, diferencia de System.nanoTime())
+     */
+    public void registrar(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        cuentas.incrementAndGet(intervalo(micros));
+        cantidad.increment();
+        sumaMicros.add(micros);
+        maximoMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /** @return cantidad de duraciones registradas */
+    public long getCantidad() {
+        return cantidad.sum();
+    }
+
+    /** @return promedio en microsegundos, o 0 si no hay registros */
+    public long getPromedioMicros() {
+        long total = cantidad.sum();
+        return total == 0 ? 0 : sumaMicros.sum() / total;
+    }
+
+    /** @return máxima duración registrada en microsegundos */
+    public long getMaximoMicros() {
+        return maximoMicros.get();
+    }
+
+    /**
+     * Calcula un percentil aproximado.
+     *
+     * @param percentil valor entre 0 y 100 (por ejemplo, 95 para el p95)
+     * @return límite superior del intervalo que contiene el percentil, en microsegundos (0 si no hay registros)
+     */
+    public long percentil(double percentil) {
+        long total = 0;
+        long[] copia = new long[INTERVALOS];
+        for (int i = 0; i < INTERVALOS; i++) {
+            copia[i] = cuentas.get(i);
+            total += copia[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long objetivo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < INTERVALOS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), getMaximoMicros());
+            }
+        }
+        return getMaximoMicros();
+    }
+
+    /**
+     * Suma los registros de otro histograma a este.
+     */
+    public void sumar(HistogramaLatencia otro) {
+        for (int i = 0; i < INTERVALOS; i++) {
+            long valor = otro.cuentas.get(i);
+            if (valor > 0) {
+                cuentas.addAndGet(i, valor);
+            }
+        }
+        cantidad.add(otro.cantidad.sum());
+        sumaMicros.add(otro.sumaMicros.sum());
+        maximoMicros.accumulateAndGet(otro.getMaximoMicros(), Math::max);
+    }
+
+    /**
+     * Borra todos los registros.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < INTERVALOS; i++) {
+            cuentas.set(i, 0);
+        }
+        cantidad.reset();
+        sumaMicros.reset();
+        maximoMicros.set(0);
+    }
+
+    /**
+     * @return resumen con cantidad, promedio, p50, p95, p99 y máximo en milisegundos
+     */
+    @Override
+    public String toString() {
+        return String.format("n=%d prom=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                getCantidad(), getPromedioMicros() / 1000.0, percentil(50) / 1000.0,
+                percentil(95) / 1000.0, percentil(99) / 1000.0, getMaximoMicros() / 1000.0);
+    }
+
+    private static int intervalo(long micros) {
+        if (micros < SUBDIVISIONES) {
+            return (int) micros;
+        }
+        int magnitud = 63 - Long.numberOfLeadingZeros(micros);
+        int subdivision = (int) (micros >>> (magnitud - BITS_SUBDIVISION)) & (SUBDIVISIONES - 1);
+        return SUBDIVISIONES + (magnitud - BITS_SUBDIVISION) * SUBDIVISIONES + subdivision;
+    }
+
+    private static long limiteSuperior(int intervalo) {
+        if (intervalo < SUBDIVISIONES) {
+            return intervalo;
+        }
+        int magnitud = (intervalo - SUBDIVISIONES) / SUBDIVISIONES + BITS_SUBDIVISION;
+        int subdivision = (intervalo - SUBDIVISIONES) % SUBDIVISIONES;
+        return ((long) (SUBDIVISIONES + subdivision + 1) << (magnitud - BITS_SUBDIVISION)) - 1;
+    }
+}
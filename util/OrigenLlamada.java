@@ -0,0 +1,77 @@
+package util;
+
+/**
+ * Busca en una pila de llamadas el método del controlador y la ventana que la originaron,
+ * para que los informes de consultas lentas y de bloqueos de la interfaz digan de dónde vienen.
+ *
+ * Se recorre la pila desde el marco más reciente: queda el último método de un controlador
+ * antes de llegar a la primera clase de la vista, es decir, el que llamó la ventana.
+ *
+ * @author Yonatan
+ */
+public final class OrigenLlamada {
+
+    private static final StackWalker PILA = StackWalker.getInstance();
+
+    private String controlador;
+    private String vista;
+
+    private OrigenLlamada() {
+    }
+
+    /**
+     * Origen de la llamada en curso. Debe llamarse desde el hilo que se quiere describir.
+     *
+     * @return por ejemplo "ControladorConsulta.buscarEstudiantePorId desde VentanaEditarAsistencia",
+     *         o null si en la pila no hay controladores ni ventanas
+     */
+    public static String delHiloActual() {
+        return PILA.walk(marcos -> {
+            OrigenLlamada origen = new OrigenLlamada();
+            // anyMatch corta el recorrido al llegar a la ventana
+            marcos.anyMatch(marco -> !origen.agregar(marco.getClassName(), marco.getMethodName()));
+            return origen.texto();
+        });
+    }
+
+    /**
+     * @param pila pila de otro hilo, por ejemplo la de {@link Thread#getStackTrace()}
+     * @return el origen con el formato de {@link #delHiloActual()}, o null si no se encuentra
+     */
+    public static String de(StackTraceElement[] pila) {
+        OrigenLlamada origen = new OrigenLlamada();
+        for (StackTraceElement marco : pila) {
+            if (!origen.agregar(marco.getClassName(), marco.getMethodName())) {
+                break;
+            }
+        }
+        return origen.texto();
+    }
+
+    /**
+     * @return false cuando ya se llegó a la ventana y no hace falta seguir recorriendo
+     */
+    private boolean agregar(String clase, String metodo) {
+        if (clase.startsWith("controlador.")) {
+            // Queda el más externo: el método que llamó la ventana
+            controlador = nombreSimple(clase) + "." + metodo;
+        } else if (clase.startsWith("vista.")) {
+            vista = nombreSimple(clase);
+            return false;
+        }
+        return true;
+    }
+
+    private String texto() {
+        if (controlador == null) {
+            return vista;
+        }
+        return vista == null ? controlador : controlador + " desde " + vista;
+    }
+
+    private static String nombreSimple(String clase) {
+        int punto = clase.lastIndexOf('.');
+        int interna = clase.indexOf('$');
+        return clase.substring(punto + 1, interna > punto ? interna : clase.length());
+    }
+}
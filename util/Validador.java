@@ -4,6 +4,7 @@
  */
 package util;
 import excepciones.*;
+import modelo.EstadoAsistencia;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -22,16 +23,14 @@ public class Validador {
 
     /**
      * Verifica si el estado ingresado es válido para una asistencia.
+     * Los estados válidos son los de {@link EstadoAsistencia}.
      *
      * @param estado estado a verificar
+     * @return estado correspondiente al texto
      * @throws EstadoAsistenciaInvalidoException si el estado no es válido
      */
-    public static void validarEstadoAsistencia(String estado) throws EstadoAsistenciaInvalidoException {
-        if (!(estado.equalsIgnoreCase("Presente") ||
-              estado.equalsIgnoreCase("Ausente") ||
-              estado.equalsIgnoreCase("Retirado"))) {
-            throw new EstadoAsistenciaInvalidoException(estado);
-        }
+    public static EstadoAsistencia validarEstadoAsistencia(String estado) throws EstadoAsistenciaInvalidoException {
+        return EstadoAsistencia.desdeTexto(estado);
     }
 
     /**
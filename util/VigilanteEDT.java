@@ -0,0 +1,202 @@
+package util;
+
+import javax.management.ObjectName;
+import javax.swing.SwingUtilities;
+import java.awt.AWTEvent;
+import java.awt.Toolkit;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowEvent;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vigila el hilo de Swing (EDT) para detectar bloqueos y mide cuánto tardan en abrirse las ventanas.
+ *
+ * Un hilo aparte envía periódicamente un "latido" al EDT. Si el latido no se atiende dentro
+ * del umbral, el EDT está bloqueado (típicamente por una consulta a la base hecha desde una
+ * ventana): se informa la pila del EDT, indicando el controlador y la ventana involucrados,
+ * y al liberarse se informa la duración total del bloqueo.
+ *
+ * Además, para cada clase de ventana se registra el tiempo desde la acción del usuario
+ * (clic o tecla) que la abrió hasta que queda dibujada, en un {@link HistogramaLatencia}.
+ * Los resultados se publican por JMX (sige:type=VigilanteEDT).
+ *
+ * Configuración (propiedades del sistema):
+ * - sige.edt.umbralMs: duración a partir de la cual se considera un bloqueo (500)
+ * - sige.edt.periodoMs: intervalo entre latidos (100)
+ * - sige.edt.lineasPila: líneas de la pila que se informan (15)
+ *
+ * @author Yonatan
+ */
+public class VigilanteEDT implements VigilanteEDTMXBean {
+
+    private static final long UMBRAL_MS = Long.getLong("sige.edt.umbralMs", 500L);
+    private static final long PERIODO_MS = Long.getLong("sige.edt.periodoMs", 100L);
+    private static final int LINEAS_PILA = Integer.getInteger("sige.edt.lineasPila", 15);
+
+    // Una ventana que se abre más de este tiempo después de la última acción no se atribuye a esa acción
+    private static final long MAXIMA_APERTURA_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final VigilanteEDT INSTANCIA = new VigilanteEDT();
+
+    // Momento (nanoTime) en que se envió el latido aún no atendido; 0 si no hay ninguno pendiente
+    private final AtomicLong latidoPendienteDesde = new AtomicLong();
+    private volatile boolean bloqueoInformado;
+    private volatile Thread edt;
+
+    private final HistogramaLatencia respuestaEDT = new HistogramaLatencia();
+    private final HistogramaLatencia bloqueos = new HistogramaLatencia();
+    private final Map<String, HistogramaLatencia> aperturas = new ConcurrentHashMap<>();
+
+    // Momento de la última acción del usuario; solo se usa en el EDT
+    private long ultimaAccion;
+
+    private boolean iniciado;
+
+    private VigilanteEDT() {
+    }
+
+    /**
+     * Inicia la vigilancia. Llamadas posteriores no tienen efecto.
+     */
+    public static synchronized void iniciar() {
+        if (INSTANCIA.iniciado) {
+            return;
+        }
+        INSTANCIA.iniciado = true;
+
+        SwingUtilities.invokeLater(() -> INSTANCIA.edt = Thread.currentThread());
+
+        Toolkit.getDefaultToolkit().addAWTEventListener(INSTANCIA::registrarEvento,
+                AWTEvent.MOUSE_EVENT_MASK | AWTEvent.KEY_EVENT_MASK | AWTEvent.WINDOW_EVENT_MASK);
+
+        Thread vigilante = new Thread(INSTANCIA::vigilar, "sige-vigilante-edt");
+        vigilante.setDaemon(true);
+        vigilante.start();
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCIA, new ObjectName("sige:type=VigilanteEDT"));
+        } catch (Exception e) {
+            System.err.println("Error al publicar el vigilante del EDT por JMX: " + e.getMessage());
+        }
+    }
+
+    /** @return el vigilante del sistema */
+    public static VigilanteEDT getInstancia() {
+        return INSTANCIA;
+    }
+
+    // ===================== DETECCIÓN DE BLOQUEOS =====================
+
+    private void vigilar() {
+        while (true) {
+            try {
+                Thread.sleep(PERIODO_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long pendiente = latidoPendienteDesde.get();
+            if (pendiente == 0) {
+                if (latidoPendienteDesde.compareAndSet(0, System.nanoTime())) {
+                    SwingUtilities.invokeLater(this::latido);
+                }
+            } else if (!bloqueoInformado
+                    && System.nanoTime() - pendiente > TimeUnit.MILLISECONDS.toNanos(UMBRAL_MS)) {
+                bloqueoInformado = true;
+                informarBloqueo(System.nanoTime() - pendiente);
+            }
+        }
+    }
+
+    /** Se ejecuta en el EDT: el EDT respondió al último latido. */
+    private void latido() {
+        long demora = System.nanoTime() - latidoPendienteDesde.getAndSet(0);
+        respuestaEDT.registrar(demora);
+
+        if (bloqueoInformado) {
+            bloqueoInformado = false;
+            bloqueos.registrar(demora);
+            System.err.printf("El hilo de la interfaz se liberó después de %.0f ms bloqueado.%n", demora / 1_000_000.0);
+        }
+    }
+
+    private void informarBloqueo(long nanos) {
+        Thread hilo = edt;
+        if (hilo == null) {
+            return;
+        }
+        StackTraceElement[] pila = hilo.getStackTrace();
+        String origen = OrigenLlamada.de(pila);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("El hilo de la interfaz está bloqueado hace %.0f ms%s:%n",
+                nanos / 1_000_000.0, origen == null ? "" : " en " + origen));
+        for (int i = 0; i < Math.min(LINEAS_PILA, pila.length); i++) {
+            sb.append("\tat ").append(pila[i]).append(System.lineSeparator());
+        }
+        System.err.print(sb);
+    }
+
+    // ===================== APERTURA DE VENTANAS =====================
+
+    /** Se ejecuta en el EDT para cada evento de mouse, teclado o ventana. */
+    private void registrarEvento(AWTEvent evento) {
+        int id = evento.getID();
+        if (id == MouseEvent.MOUSE_RELEASED || id == KeyEvent.KEY_PRESSED) {
+            ultimaAccion = System.nanoTime();
+        } else if (id == WindowEvent.WINDOW_OPENED && ultimaAccion != 0) {
+            long inicio = ultimaAccion;
+            ultimaAccion = 0;
+            if (System.nanoTime() - inicio > MAXIMA_APERTURA_NANOS) {
+                return;
+            }
+            String ventana = ((WindowEvent) evento).getWindow().getClass().getSimpleName();
+            // El dibujo inicial ya está en la cola de eventos: esta tarea corre después de él
+            SwingUtilities.invokeLater(() -> aperturas
+                    .computeIfAbsent(ventana, v -> new HistogramaLatencia())
+                    .registrar(System.nanoTime() - inicio));
+        }
+    }
+
+    // ===================== CONSULTA =====================
+
+    @Override
+    public long getBloqueos() {
+        return bloqueos.getCantidad();
+    }
+
+    @Override
+    public double getBloqueoMaximoMs() {
+        return bloqueos.getMaximoMicros() / 1000.0;
+    }
+
+    @Override
+    public double getRespuestaEDTP99Ms() {
+        return respuestaEDT.percentil(99) / 1000.0;
+    }
+
+    @Override
+    public Map<String, String> getAperturasPorVentana() {
+        Map<String, String> resumen = new TreeMap<>();
+        aperturas.forEach((ventana, histograma) -> resumen.put(ventana, histograma.toString()));
+        return resumen;
+    }
+
+    @Override
+    public String informe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Respuesta de la interfaz: latido ").append(respuestaEDT)
+          .append(System.lineSeparator())
+          .append("Bloqueos de más de ").append(UMBRAL_MS).append(" ms: ").append(bloqueos)
+          .append(System.lineSeparator());
+        getAperturasPorVentana().forEach((ventana, resumen) ->
+                sb.append("  Apertura de ").append(ventana).append(": ").append(resumen).append(System.lineSeparator()));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package util;
+
+import java.util.Map;
+
+/**
+ * Interfaz JMX de {@link VigilanteEDT}. Se publica como sige:type=VigilanteEDT.
+ *
+ * @author Yonatan
+ */
+public interface VigilanteEDTMXBean {
+
+    /** @return cantidad de bloqueos del EDT que superaron el umbral */
+    long getBloqueos();
+
+    double getBloqueoMaximoMs();
+
+    /** @return p99 de la demora del EDT en atender un latido, en milisegundos */
+    double getRespuestaEDTP99Ms();
+
+    /** @return resumen de tiempos de apertura por clase de ventana */
+    Map<String, String> getAperturasPorVentana();
+
+    String informe();
+}
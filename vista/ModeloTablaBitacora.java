@@ -0,0 +1,159 @@
+package vista;
+
+import controlador.ControladorBitacora;
+import modelo.Bitacora;
+import modelo.PaginaBitacora;
+import util.EjecutorAsincrono;
+
+import javax.swing.table.AbstractTableModel;
+import java.awt.Window;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Modelo de tabla de la bitácora general que carga las páginas a medida que se recorren.
+ *
+ * Las filas se piden por páginas al controlador (paginación por clave) fuera del EDT.
+ * La tabla crece a medida que el usuario se acerca al final de lo ya cargado, y solo se
+ * mantienen en memoria las últimas páginas visitadas: las demás se descartan y se vuelven
+ * a pedir si se regresa a ellas. De cada página solo se recuerda la clave donde empieza.
+ *
+ * @author Yonatan
+ */
+public class ModeloTablaBitacora extends AbstractTableModel {
+
+    private static final String[] COLUMNAS = {"Fecha", "Estudiante", "Curso", "Materia", "Docente", "Motivo"};
+    private static final int TAMANIO_PAGINA = 100;
+    private static final int PAGINAS_EN_MEMORIA = 5;
+
+    private final Window ventana;
+    private final ControladorBitacora controlador;
+
+    // Clave (fecha, id) del último evento anterior a cada página; la página 0 empieza sin clave
+    private final List<Timestamp> fechasInicio = new ArrayList<>();
+    private final List<Integer> idsInicio = new ArrayList<>();
+
+    private final Map<Integer, List<Bitacora>> paginas = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Bitacora>> mayor) {
+            return size() > PAGINAS_EN_MEMORIA;
+        }
+    };
+    private final Set<Integer> cargando = new HashSet<>();
+
+    private int filas;
+    private boolean hayMas = true;
+
+    /**
+     * Crea el modelo y pide la primera página.
+     *
+     * @param ventana ventana que muestra la tabla (las cargas se cancelan al cerrarla)
+     * @param controlador controlador de bitácora
+     */
+    public ModeloTablaBitacora(Window ventana, ControladorBitacora controlador) {
+        this.ventana = ventana;
+        this.controlador = controlador;
+        fechasInicio.add(null);
+        idsInicio.add(0);
+        solicitarPagina(0);
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return COLUMNAS[columna];
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        int numeroPagina = fila / TAMANIO_PAGINA;
+        List<Bitacora> pagina = paginas.get(numeroPagina);
+
+        if (pagina == null) {
+            solicitarPagina(numeroPagina);
+            return columna == 0 ? "Cargando..." : "";
+        }
+
+        // Cerca del final de lo cargado se pide la página siguiente
+        if (hayMas && fila >= filas - TAMANIO_PAGINA / 2) {
+            solicitarPagina(fechasInicio.size() - 1);
+        }
+
+        int indice = fila % TAMANIO_PAGINA;
+        if (indice >= pagina.size()) {
+            return "";
+        }
+
+        Bitacora evento = pagina.get(indice);
+        switch (columna) {
+            case 0: return evento.getFecha();
+            case 1: return evento.getIdEstudiante();
+            case 2: return evento.getIdCurso();
+            case 3: return evento.getIdMateria() > 0 ? evento.getIdMateria() : "";
+            case 4: return evento.getIdDocente() > 0 ? evento.getIdDocente() : "";
+            case 5: return evento.getMotivo();
+            default: return "";
+        }
+    }
+
+    /**
+     * Pide una página en segundo plano si no está cargada ni en camino.
+     */
+    private void solicitarPagina(int numeroPagina) {
+        if (paginas.containsKey(numeroPagina) || !cargando.add(numeroPagina)) {
+            return;
+        }
+
+        Timestamp fecha = fechasInicio.get(numeroPagina);
+        int id = idsInicio.get(numeroPagina);
+
+        EjecutorAsincrono.ejecutar(ventana, "bitacora-pagina-" + numeroPagina,
+                () -> controlador.obtenerBitacoraPagina(fecha, id, TAMANIO_PAGINA),
+                pagina -> recibirPagina(numeroPagina, pagina),
+                e -> {
+                    cargando.remove(numeroPagina);
+                    System.err.println("Error al cargar página de la bitácora: " + e.getMessage());
+                });
+    }
+
+    /**
+     * Guarda una página recibida y actualiza la tabla. Se ejecuta en el EDT.
+     */
+    private void recibirPagina(int numeroPagina, PaginaBitacora pagina) {
+        cargando.remove(numeroPagina);
+        paginas.put(numeroPagina, pagina.getEventos());
+
+        int primeraFila = numeroPagina * TAMANIO_PAGINA;
+
+        if (numeroPagina == fechasInicio.size() - 1) {
+            // Es la última página conocida: la tabla crece
+            hayMas = pagina.isHayMas();
+            if (hayMas) {
+                fechasInicio.add(pagina.getUltimaFecha());
+                idsInicio.add(pagina.getUltimoId());
+            }
+            int filasAntes = filas;
+            filas = primeraFila + pagina.getEventos().size();
+            if (filas > filasAntes) {
+                fireTableRowsInserted(filasAntes, filas - 1);
+            }
+        } else if (!pagina.getEventos().isEmpty()) {
+            // Página recargada tras haber sido descartada de memoria
+            fireTableRowsUpdated(primeraFila, primeraFila + pagina.getEventos().size() - 1);
+        }
+    }
+}
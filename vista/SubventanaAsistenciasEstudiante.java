@@ -1,6 +1,6 @@
 package vista;
 
-import controlador.ControladorConsulta;
+import controlador.ServicioPerfilEstudiante;
 import modelo.Estudiante;
 
 import javax.swing.*;
@@ -19,11 +19,14 @@ import java.util.List;
  */
 public class SubventanaAsistenciasEstudiante extends JFrame {
 
-    private final ControladorConsulta controladorConsulta;
-
     public SubventanaAsistenciasEstudiante(Estudiante estudiante, JFrame ventanaAnterior) {
-        this.controladorConsulta = new ControladorConsulta();
+        this(estudiante, ServicioPerfilEstudiante.obtener(estudiante).getAsistenciasNoPresentes(), ventanaAnterior);
+    }
 
+    /**
+     * @param asistencias asistencias no "Presente" ya cargadas (por ejemplo desde el perfil del estudiante)
+     */
+    public SubventanaAsistenciasEstudiante(Estudiante estudiante, List<String[]> asistencias, JFrame ventanaAnterior) {
         setTitle("Asistencias del Estudiante");
         setSize(650, 450);
         setLocationRelativeTo(null);
@@ -50,9 +53,6 @@ public class SubventanaAsistenciasEstudiante extends JFrame {
         panelBoton.add(btnVolver);
         add(panelBoton, BorderLayout.SOUTH);
 
-        // Obtener asistencias no "Presente"
-        List<String[]> asistencias = controladorConsulta.obtenerAsistenciasNoPresentesPorEstudiante(estudiante.getIdEstudiante());
-
         StringBuilder sb = new StringBuilder();
         sb.append("Estudiante: ").append(estudiante.getApellido()).append(", ").append(estudiante.getNombre()).append("\n\n");
         sb.append("Asistencias registradas (Ausencias o Retiros):\n\n");
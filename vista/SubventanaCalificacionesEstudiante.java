@@ -1,6 +1,6 @@
 package vista;
 
-import controlador.ControladorConsulta;
+import controlador.ServicioPerfilEstudiante;
 import modelo.Estudiante;
 
 import javax.swing.*;
@@ -18,11 +18,14 @@ import java.util.List;
  */
 public class SubventanaCalificacionesEstudiante extends JFrame {
 
-    private final ControladorConsulta controladorConsulta;
-
     public SubventanaCalificacionesEstudiante(Estudiante estudiante, JFrame ventanaAnterior) {
-        this.controladorConsulta = new ControladorConsulta();
+        this(estudiante, ServicioPerfilEstudiante.obtener(estudiante).getCalificaciones(), ventanaAnterior);
+    }
 
+    /**
+     * @param calificaciones calificaciones ya cargadas (por ejemplo desde el perfil del estudiante)
+     */
+    public SubventanaCalificacionesEstudiante(Estudiante estudiante, List<String[]> calificaciones, JFrame ventanaAnterior) {
         setTitle("Calificaciones del Estudiante");
         setSize(700, 500);
         setLocationRelativeTo(null);
@@ -49,9 +52,6 @@ public class SubventanaCalificacionesEstudiante extends JFrame {
         panelBoton.add(btnVolver);
         add(panelBoton, BorderLayout.SOUTH);
 
-        // Obtener calificaciones
-        List<String[]> calificaciones = controladorConsulta.obtenerCalificacionesPorEstudiante(estudiante.getIdEstudiante());
-
         StringBuilder sb = new StringBuilder();
         sb.append("Estudiante: ").append(estudiante.getApellido()).append(", ").append(estudiante.getNombre()).append("\n\n");
 
@@ -1,6 +1,6 @@
 package vista;
 
-import controlador.ControladorConsulta;
+import controlador.ServicioPerfilEstudiante;
 import modelo.Curso;
 import modelo.Estudiante;
 
@@ -9,11 +9,14 @@ import java.awt.*;
 
 public class SubventanaDatosEstudiante extends JFrame {
 
-    private final ControladorConsulta controladorConsulta;
-
     public SubventanaDatosEstudiante(Estudiante estudiante, JFrame ventanaAnterior) {
-        controladorConsulta = new ControladorConsulta();
+        this(estudiante, ServicioPerfilEstudiante.obtener(estudiante).getCurso(), ventanaAnterior);
+    }
 
+    /**
+     * @param curso curso del estudiante ya cargado (por ejemplo desde su perfil), o null si no se encontró
+     */
+    public SubventanaDatosEstudiante(Estudiante estudiante, Curso curso, JFrame ventanaAnterior) {
         setTitle("Datos del Estudiante");
         setSize(700, 500);
         setLocationRelativeTo(null);
@@ -25,8 +28,6 @@ public class SubventanaDatosEstudiante extends JFrame {
         titulo.setBorder(BorderFactory.createEmptyBorder(20, 10, 10, 10));
         add(titulo, BorderLayout.NORTH);
 
-        Curso curso = controladorConsulta.buscarCursoPorId(estudiante.getIdCurso());
-
         JTextArea area = new JTextArea();
         area.setEditable(false);
         area.setFont(new Font("Arial", Font.PLAIN, 15));
@@ -1,6 +1,6 @@
 package vista;
 
-import controlador.ControladorBitacora;
+import controlador.ServicioPerfilEstudiante;
 import modelo.Estudiante;
 
 import javax.swing.*;
@@ -25,12 +25,16 @@ public class SubventanaObservacionesEstudiante extends JFrame {
     private final JFrame ventanaAnterior;
 
     public SubventanaObservacionesEstudiante(Estudiante estudiante, JFrame ventanaAnterior) {
+        this(estudiante, ServicioPerfilEstudiante.obtener(estudiante).getObservaciones(), ventanaAnterior);
+    }
+
+    /**
+     * @param observaciones observaciones ya cargadas (por ejemplo desde el perfil del estudiante)
+     */
+    public SubventanaObservacionesEstudiante(Estudiante estudiante, List<String[]> observaciones, JFrame ventanaAnterior) {
         this.estudiante = estudiante;
         this.ventanaAnterior = ventanaAnterior;
 
-        // Obtenemos las observaciones desde el controlador
-        List<String[]> observaciones = ControladorBitacora.obtenerObservacionesPorEstudiante(estudiante.getIdEstudiante());
-
         // Si no hay observaciones, se muestra un mensaje y no se abre la ventana
         if (observaciones.isEmpty()) {
             JOptionPane.showMessageDialog(ventanaAnterior,
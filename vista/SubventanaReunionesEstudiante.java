@@ -1,24 +1,24 @@
 package vista;
 
-import controlador.ControladorConsulta;
-import controlador.ControladorReunion;
+import controlador.ServicioPerfilEstudiante;
 import modelo.*;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
 import java.util.List;
 
 public class SubventanaReunionesEstudiante extends JFrame {
 
-    private final ControladorConsulta controladorConsulta;
-    private final ControladorReunion controladorReunion;
-
     public SubventanaReunionesEstudiante(Estudiante estudiante, JFrame ventanaAnterior) {
-        controladorConsulta = new ControladorConsulta();
-        controladorReunion = new ControladorReunion();
+        this(estudiante, ServicioPerfilEstudiante.obtener(estudiante).getReuniones(), ventanaAnterior);
+    }
 
+    /**
+     * @param reuniones reuniones del estudiante ya cargadas con solicitante y curso,
+     *                  de la más reciente a la más antigua
+     */
+    public SubventanaReunionesEstudiante(Estudiante estudiante, List<SolicitudReunionDetallada> reuniones, JFrame ventanaAnterior) {
         setTitle("Reuniones del Estudiante");
         setSize(700, 500);
         setLocationRelativeTo(null);
@@ -47,22 +47,16 @@ public class SubventanaReunionesEstudiante extends JFrame {
         panelBoton.add(btnVolver);
         add(panelBoton, BorderLayout.SOUTH);
 
-        List<SolicitudReunion> reuniones = controladorReunion.obtenerSolicitudesPorEstudiante(estudiante.getIdEstudiante());
-        reuniones.sort(Comparator.comparing(SolicitudReunion::getFechaSolicitud).reversed());
-
         DateTimeFormatter f = DateTimeFormatter.ofPattern("dd/MM/yyyy");
         StringBuilder sb = new StringBuilder();
 
         if (reuniones.isEmpty()) {
             sb.append("El estudiante no tiene reuniones registradas.");
         } else {
-            for (SolicitudReunion sr : reuniones) {
-                Usuario solicitante = controladorConsulta.buscarUsuarioPorId(sr.getIdUsuarioSolicitante());
-                Curso curso = controladorConsulta.buscarCursoPorId(sr.getIdCurso());
-
+            for (SolicitudReunionDetallada sr : reuniones) {
                 sb.append("Fecha solicitud: ").append(sr.getFechaSolicitud().format(f)).append("\n");
-                sb.append("Solicitante: ").append(solicitante.getApellido()).append(", ").append(solicitante.getNombre()).append("\n");
-                sb.append("Curso: ").append(curso.getNombre()).append("\n");
+                sb.append("Solicitante: ").append(sr.getNombreSolicitante()).append("\n");
+                sb.append("Curso: ").append(sr.getNombreCurso()).append("\n");
                 sb.append("Motivo: ").append(sr.getMotivo()).append("\n");
                 sb.append("Disponibilidad: ").append(sr.getDisponibilidad()).append("\n");
                 sb.append("Estado: ").append(sr.getEstado()).append("\n");
@@ -1,7 +1,9 @@
 package vista;
 
 import controlador.ControladorConsulta;
+import controlador.ServicioPerfilEstudiante;
 import modelo.*;
+import util.EjecutorAsincrono;
 
 import javax.swing.*;
 import java.awt.*;
@@ -78,6 +80,7 @@ public class VentanaBitacoraEstudiante extends JFrame {
         lblEstudiante.setFont(fuenteTexto);
         comboEstudiante = new JComboBox<>();
         comboEstudiante.setFont(fuenteTexto);
+        comboEstudiante.addActionListener(e -> precargarPerfil());
 
         // Botones
         JButton btnDatos = new JButton("Ver Datos del Estudiante");
@@ -165,22 +168,36 @@ public class VentanaBitacoraEstudiante extends JFrame {
         }
     }
 
+    /**
+     * Empieza a cargar el perfil del estudiante elegido, para que las subventanas abran sin esperar,
+     * y después los del anterior y el siguiente de la nómina, para recorrer el curso sin esperas.
+     */
+    private void precargarPerfil() {
+        int index = comboEstudiante.getSelectedIndex();
+        if (index >= 0 && estudiantesCurso != null) {
+            ServicioPerfilEstudiante.precargarConVecinos(estudiantesCurso, index);
+        }
+    }
+
     /**
      * Lanza la subventana correspondiente según lo seleccionado.
+     * Cada subventana recibe su parte del perfil del estudiante, que se carga una sola vez
+     * y fuera del EDT; la subventana se abre cuando el perfil está listo.
      */
     private void abrirSubventana(String tipo) {
         int index = comboEstudiante.getSelectedIndex();
         if (index < 0 || estudiantesCurso == null || estudiantesCurso.isEmpty()) return;
 
         Estudiante est = estudiantesCurso.get(index);
+        EjecutorAsincrono.ejecutar(this, "cargarPerfil", () -> ServicioPerfilEstudiante.obtener(est), perfil -> {
+            switch (tipo) {
+                case "datos" -> new SubventanaDatosEstudiante(est, perfil.getCurso(), this);
+                case "asistencias" -> new SubventanaAsistenciasEstudiante(est, perfil.getAsistenciasNoPresentes(), this);
+                case "calificaciones" -> new SubventanaCalificacionesEstudiante(est, perfil.getCalificaciones(), this);
+                case "reuniones" -> new SubventanaReunionesEstudiante(est, perfil.getReuniones(), this);
+                case "observaciones" -> new SubventanaObservacionesEstudiante(est, perfil.getObservaciones(), this);
 
-        switch (tipo) {
-            case "datos" -> new SubventanaDatosEstudiante(est, this);
-            case "asistencias" -> new SubventanaAsistenciasEstudiante(est, this);
-            case "calificaciones" -> new SubventanaCalificacionesEstudiante(est, this);
-            case "reuniones" -> new SubventanaReunionesEstudiante(est, this);
-            case "observaciones" -> new SubventanaObservacionesEstudiante(est, this);
-
-        }
+            }
+        });
     }
 }
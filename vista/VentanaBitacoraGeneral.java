@@ -0,0 +1,58 @@
+package vista;
+
+import controlador.ControladorBitacora;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Ventana que muestra la bitácora general del sistema, del evento más reciente al más antiguo.
+ * La tabla usa {@link ModeloTablaBitacora}, que trae los eventos por páginas a medida que se
+ * recorre, por lo que abrirla no depende del tamaño total de la bitácora.
+ *
+ * @author Yonatan
+ */
+public class VentanaBitacoraGeneral extends JFrame {
+
+    public VentanaBitacoraGeneral() {
+        setTitle("Bitácora General");
+        setExtendedState(JFrame.MAXIMIZED_BOTH);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        // ===== Panel de título =====
+        JPanel panelTitulo = new JPanel();
+        panelTitulo.setLayout(new BoxLayout(panelTitulo, BoxLayout.Y_AXIS));
+        panelTitulo.setBorder(BorderFactory.createEmptyBorder(30, 80, 10, 80));
+
+        JLabel lblTitulo = new JLabel("Bitácora General");
+        lblTitulo.setFont(new Font("Arial", Font.BOLD, 28));
+        lblTitulo.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JLabel lblSub = new JLabel("Eventos registrados, del más reciente al más antiguo");
+        lblSub.setFont(new Font("Arial", Font.PLAIN, 16));
+        lblSub.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        panelTitulo.add(lblTitulo);
+        panelTitulo.add(Box.createVerticalStrut(5));
+        panelTitulo.add(lblSub);
+        add(panelTitulo, BorderLayout.NORTH);
+
+        // ===== Tabla con carga por páginas =====
+        JTable tabla = new JTable(new ModeloTablaBitacora(this, new ControladorBitacora()));
+        tabla.setFont(new Font("Arial", Font.PLAIN, 14));
+        tabla.setRowHeight(22);
+
+        JScrollPane scroll = new JScrollPane(tabla);
+        scroll.setBorder(BorderFactory.createTitledBorder("Eventos"));
+        add(scroll, BorderLayout.CENTER);
+
+        // ===== Panel inferior =====
+        JPanel panelInferior = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 20));
+        JButton btnCerrar = new JButton("Cerrar");
+        btnCerrar.setFont(new Font("Arial", Font.PLAIN, 16));
+        btnCerrar.addActionListener(e -> dispose());
+        panelInferior.add(btnCerrar);
+        add(panelInferior, BorderLayout.SOUTH);
+    }
+}
@@ -235,10 +235,19 @@ public class VentanaCalificarActividad extends JFrame {
 
         int idActividad = item.getId();
 
+        Map<Integer, String> notas = new LinkedHashMap<>();
         for (Map.Entry<Integer, JComboBox<String>> entrada : camposNotas.entrySet()) {
             int idEst = entrada.getKey();
             String nota = (String) entrada.getValue().getSelectedItem();
-            controlador.guardarCalificacion(idActividad, idEst, nota);
+            notas.put(idEst, nota);
+        }
+
+        // Todo el curso se guarda en una sola transacción
+        if (!controlador.guardarCalificaciones(idActividad, notas)) {
+            JOptionPane.showMessageDialog(this,
+                    "No se pudieron guardar las calificaciones. No se guardó ninguna nota.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
         }
 
         JOptionPane.showMessageDialog(this,
@@ -1,6 +1,5 @@
 package vista;
 
-import controlador.ControladorConsulta;
 import controlador.ControladorReunion;
 import modelo.*;
 
@@ -11,7 +10,6 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class VentanaConfirmarReunion extends JFrame {
 
@@ -19,14 +17,12 @@ public class VentanaConfirmarReunion extends JFrame {
     private JTextArea areaDetalle;
     private JSpinner spinnerFecha;
     private JSpinner spinnerHora;
-    private List<SolicitudReunion> solicitudesPendientes;
+    private List<SolicitudReunionDetallada> solicitudesPendientes;
 
     private final ControladorReunion controladorReunion;
-    private final ControladorConsulta controladorConsulta;
 
     public VentanaConfirmarReunion() {
         this.controladorReunion = new ControladorReunion();
-        this.controladorConsulta = new ControladorConsulta();
 
         setTitle("Confirmar Solicitudes de Reunión");
         setExtendedState(JFrame.MAXIMIZED_BOTH);
@@ -49,14 +45,11 @@ public class VentanaConfirmarReunion extends JFrame {
         comboSolicitudes.setPreferredSize(new Dimension(600, 30));
         comboSolicitudes.setFont(fuente);
 
-        solicitudesPendientes = controladorReunion.obtenerSolicitudes().stream()
-                .filter(sr -> sr.getEstado().equalsIgnoreCase("Pendiente"))
-                .toList();
+        // Solicitante, curso y estudiantes de cada solicitud llegan en una sola consulta
+        solicitudesPendientes = controladorReunion.obtenerSolicitudesDetalladas("Pendiente");
 
-        for (SolicitudReunion sr : solicitudesPendientes) {
-            Usuario solicitante = controladorConsulta.buscarUsuarioPorId(sr.getIdUsuarioSolicitante());
-            Curso curso = controladorConsulta.buscarCursoPorId(sr.getIdCurso());
-            String texto = solicitante.getApellido() + ", " + solicitante.getNombre() + " - Curso " + curso.getNombre();
+        for (SolicitudReunionDetallada sr : solicitudesPendientes) {
+            String texto = sr.getNombreSolicitante() + " - Curso " + sr.getNombreCurso();
             comboSolicitudes.addItem(texto);
         }
 
@@ -119,29 +112,18 @@ public class VentanaConfirmarReunion extends JFrame {
     private void mostrarDetalle() {
         int index = comboSolicitudes.getSelectedIndex();
         if (index >= 0 && index < solicitudesPendientes.size()) {
-            SolicitudReunion sr = solicitudesPendientes.get(index);
-
-            Usuario solicitante = controladorConsulta.buscarUsuarioPorId(sr.getIdUsuarioSolicitante());
-            Curso curso = controladorConsulta.buscarCursoPorId(sr.getIdCurso());
-
-            // Filtramos los estudiantes de ese curso que participaron en la solicitud
-            List<Estudiante> todos = controladorConsulta.obtenerEstudiantesPorCurso(sr.getIdCurso());
-            List<String> estudiantes = todos.stream()
-                    .filter(e -> controladorReunion.obtenerSolicitudesPorEstudiante(e.getIdEstudiante())
-                            .stream().anyMatch(s -> s.getIdSolicitud() == sr.getIdSolicitud()))
-                    .map(e -> e.getApellido() + ", " + e.getNombre())
-                    .collect(Collectors.toList());
+            SolicitudReunionDetallada sr = solicitudesPendientes.get(index);
 
             StringBuilder sb = new StringBuilder();
-            sb.append("Solicitante: ").append(solicitante.getApellido()).append(", ").append(solicitante.getNombre()).append("\n\n");
-            sb.append("Curso: ").append(curso.getNombre()).append("\n");
+            sb.append("Solicitante: ").append(sr.getNombreSolicitante()).append("\n\n");
+            sb.append("Curso: ").append(sr.getNombreCurso()).append("\n");
             sb.append("Motivo: ").append(sr.getMotivo()).append("\n");
             sb.append("Disponibilidad: ").append(sr.getDisponibilidad()).append("\n");
             sb.append("Estado: ").append(sr.getEstado()).append("\n");
             sb.append("Fecha de solicitud: ").append(sr.getFechaSolicitud()).append("\n\n");
 
             sb.append("Estudiantes:\n");
-            for (String est : estudiantes) {
+            for (String est : sr.getNombresParticipantes()) {
                 sb.append(" - ").append(est).append("\n");
             }
 
@@ -5,7 +5,9 @@ import controlador.ControladorCalificacion;
 import modelo.Curso;
 import modelo.Estudiante;
 import modelo.Materia;
+import modelo.PlanillaCalificaciones;
 import modelo.Usuario;
+import util.EjecutorAsincrono;
 
 import javax.swing.*;
 import java.awt.*;
@@ -181,6 +183,7 @@ public class VentanaConsultarCalificaciones extends JFrame {
     /**
      * Muestra la planilla de calificaciones por actividad,
      * donde cada fila es un estudiante y cada columna una actividad.
+     * Las consultas se hacen fuera del EDT y el texto se muestra al terminar.
      */
     private void mostrarCalificaciones() {
         if (comboCursos.getSelectedIndex() < 0 || comboMaterias.getSelectedIndex() < 0) {
@@ -188,41 +191,61 @@ public class VentanaConsultarCalificaciones extends JFrame {
             return;
         }
 
-        List<Estudiante> estudiantes = controladorConsulta.obtenerEstudiantesPorCurso(
-                cursoSeleccionado.getIdCurso());
+        // Se toma la selección actual: si el usuario cambia de curso, se descarta este resultado
+        Curso curso = cursoSeleccionado;
+        Materia materia = materiaSeleccionada;
+        Map<String, Integer> actividades = new LinkedHashMap<>(mapaActividades);
+
+        areaResultados.setText("Cargando calificaciones...");
+        EjecutorAsincrono.ejecutar(this, "mostrarCalificaciones",
+                () -> armarTextoCalificaciones(curso, materia, actividades),
+                texto -> areaResultados.setText(texto),
+                e -> areaResultados.setText("Error al cargar las calificaciones: " + e.getMessage()));
+    }
+
+    /**
+     * Consulta estudiantes y notas y arma la planilla en texto. Se ejecuta en segundo plano.
+     */
+    private String armarTextoCalificaciones(Curso curso, Materia materia, Map<String, Integer> actividades) {
+        List<Estudiante> estudiantes = controladorConsulta.obtenerEstudiantesPorCurso(curso.getIdCurso());
 
         if (estudiantes.isEmpty()) {
-            areaResultados.setText("No hay estudiantes registrados en este curso.");
-            return;
+            return "No hay estudiantes registrados en este curso.";
         }
 
-        if (mapaActividades.isEmpty()) {
-            areaResultados.setText("No hay actividades registradas para esta materia.");
-            return;
+        if (actividades.isEmpty()) {
+            return "No hay actividades registradas para esta materia.";
         }
 
         StringBuilder sb = new StringBuilder();
-        sb.append("Curso: ").append(cursoSeleccionado.getNombre()).append("\n");
-        sb.append("Materia: ").append(materiaSeleccionada.getNombre()).append("\n\n");
+        sb.append("Curso: ").append(curso.getNombre()).append("\n");
+        sb.append("Materia: ").append(materia.getNombre()).append("\n\n");
 
         // Cabecera de actividades
         sb.append(String.format("%-25s", "Estudiante"));
-        for (String act : mapaActividades.keySet()) {
+        for (String act : actividades.keySet()) {
             sb.append(String.format(" | %-30s", act));
         }
-        sb.append("\n").append("-".repeat(30 * (mapaActividades.size() + 1))).append("\n");
+        sb.append("\n").append("-".repeat(30 * (actividades.size() + 1))).append("\n");
+
+        // Todas las notas de la materia en una sola consulta
+        PlanillaCalificaciones planilla = controladorCalificacion.obtenerPlanilla(
+                docente.getIdUsuario(),
+                curso.getIdCurso(),
+                materia.getIdMateria()
+        );
 
         // Fila por estudiante
         for (Estudiante est : estudiantes) {
             sb.append(String.format("%-25s", est.getApellido() + ", " + est.getNombre()));
-            for (String act : mapaActividades.keySet()) {
-                int idActividad = mapaActividades.get(act);
-                String nota = controladorCalificacion.obtenerNotaPorActividad(est.getIdEstudiante(), idActividad);
+            for (String act : actividades.keySet()) {
+                int idActividad = actividades.get(act);
+                String nota = planilla.obtenerNota(est.getIdEstudiante(), idActividad);
                 sb.append(String.format(" | %-30s", nota));
             }
             sb.append("\n");
         }
 
-        areaResultados.setText(sb.toString());
+        return sb.toString();
     }
 }
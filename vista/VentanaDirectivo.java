@@ -67,9 +67,11 @@ public class VentanaDirectivo extends JFrame {
 
         agregarBoton(panelBotones, "Ver Calificaciones por Curso", () -> new VentanaVerCalificacionesPorCursoGeneral(usuario).setVisible(true), fuenteBoton);
         agregarBoton(panelBotones, "Ver Asistencias por Curso", () -> new VentanaVerAsistenciasPorCurso(usuario).setVisible(true), fuenteBoton);
+        agregarBoton(panelBotones, "Resumen de Asistencias", () -> new VentanaResumenAsistencias().setVisible(true), fuenteBoton);
         agregarBoton(panelBotones, "Ver Reuniones", () -> new VentanaVerReunionesPorEstudiantePreceptor().setVisible(true), fuenteBoton);
         agregarBoton(panelBotones, "Solicitar Reunión", () -> new VentanaSolicitarReunion(usuario).setVisible(true), fuenteBoton);
         agregarBoton(panelBotones, "Ver Bitácora del Estudiante", () -> new VentanaBitacoraEstudiante().setVisible(true), fuenteBoton);
+        agregarBoton(panelBotones, "Ver Bitácora General", () -> new VentanaBitacoraGeneral().setVisible(true), fuenteBoton);
 
         if (usuario.getRoles().size() > 1) {
             agregarBoton(panelBotones, "Volver al menú general", () -> {
@@ -3,6 +3,7 @@ package vista;
 import controlador.ControladorAsistencia;
 import controlador.ControladorConsulta;
 import modelo.*;
+import util.EjecutorAsincrono;
 
 import javax.swing.*;
 import java.awt.*;
@@ -14,26 +15,27 @@ import java.util.List;
  * Ventana que permite al Preceptor editar asistencias ya registradas.
  * Usa controladores y valida que existan datos antes de editar.
  * Rediseñada para pantalla completa y estilo visual uniforme con el sistema SIGE.
+ * Primero se elige el curso y se cargan solo sus asistencias, junto con los nombres de su nómina;
+ * las consultas se hacen fuera del EDT.
  * 
  * @author Yonatan
  */
 public class VentanaEditarAsistencia extends JFrame {
 
     private Usuario usuario;
+    private JComboBox<String> comboCursos;
     private JComboBox<String> comboAsistencias;
     private JPanel panelEstudiantes;
     private JButton botonGuardar;
 
+    private List<Curso> cursos = new ArrayList<>();
     private Map<String, Asistencia> mapaAsistencias;
-    private Map<AsistenciaDetalle, JComboBox<String>> nuevosEstados;
+    private Map<Integer, String> nombresEstudiantes = new HashMap<>();
+    private Map<AsistenciaDetalle, JComboBox<EstadoAsistencia>> nuevosEstados;
 
     private ControladorAsistencia controladorAsistencia;
     private ControladorConsulta controladorConsulta;
 
-    private final String[] estados = {
-        "Presente", "Ausente", "Ausente Justificado", "Retirado"
-    };
-
     public VentanaEditarAsistencia(Usuario usuario) {
         this.usuario = usuario;
         this.controladorAsistencia = new ControladorAsistencia();
@@ -47,6 +49,11 @@ public class VentanaEditarAsistencia extends JFrame {
         mapaAsistencias = new LinkedHashMap<>();
         nuevosEstados = new HashMap<>();
 
+        // Combo de cursos
+        comboCursos = new JComboBox<>();
+        comboCursos.setFont(new Font("Arial", Font.PLAIN, 18));
+        comboCursos.addActionListener(e -> cargarAsistencias());
+
         // Combo de asistencias
         comboAsistencias = new JComboBox<>();
         comboAsistencias.setFont(new Font("Arial", Font.PLAIN, 18));
@@ -82,16 +89,20 @@ public class VentanaEditarAsistencia extends JFrame {
         titulo.setFont(new Font("Arial", Font.BOLD, 28));
         titulo.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-        JLabel subtitulo = new JLabel("Seleccione una asistencia para editar:");
+        JLabel subtitulo = new JLabel("Seleccione un curso y una asistencia para editar:");
         subtitulo.setFont(new Font("Arial", Font.PLAIN, 18));
         subtitulo.setAlignmentX(Component.CENTER_ALIGNMENT);
         subtitulo.setBorder(BorderFactory.createEmptyBorder(20, 0, 10, 0));
 
+        comboCursos.setMaximumSize(new Dimension(600, 35));
+        comboCursos.setAlignmentX(Component.CENTER_ALIGNMENT);
         comboAsistencias.setMaximumSize(new Dimension(600, 35));
         comboAsistencias.setAlignmentX(Component.CENTER_ALIGNMENT);
 
         panelSuperior.add(titulo);
         panelSuperior.add(subtitulo);
+        panelSuperior.add(comboCursos);
+        panelSuperior.add(Box.createVerticalStrut(10));
         panelSuperior.add(comboAsistencias);
 
         // Panel inferior con botones
@@ -105,38 +116,84 @@ public class VentanaEditarAsistencia extends JFrame {
         add(scroll, BorderLayout.CENTER);
         add(panelInferior, BorderLayout.SOUTH);
 
-        cargarAsistencias();
+        cargarCursos();
         setVisible(true);
     }
 
+    private void cargarCursos() {
+        EjecutorAsincrono.ejecutar(this, "cargarCursos", controladorConsulta::obtenerCursos, lista -> {
+            cursos = lista;
+            for (Curso curso : lista) {
+                comboCursos.addItem(curso.getNombre());
+            }
+
+            if (cursos.isEmpty()) {
+                JOptionPane.showMessageDialog(this, "No hay asistencias disponibles para editar.");
+                dispose();
+                new VentanaPreceptor(usuario, "Preceptor").setVisible(true);
+            }
+        });
+    }
+
     private void cargarAsistencias() {
         comboAsistencias.removeAllItems();
         mapaAsistencias.clear();
+        panelEstudiantes.removeAll();
+        nuevosEstados.clear();
+        panelEstudiantes.revalidate();
+        panelEstudiantes.repaint();
+
+        int index = comboCursos.getSelectedIndex();
+        if (index < 0 || index >= cursos.size()) return;
+        Curso curso = cursos.get(index);
 
-        List<Curso> cursos = controladorConsulta.obtenerCursos();
-        List<Asistencia> asistencias = controladorAsistencia.obtenerAsistencias();
+        // Las consultas se hacen fuera del EDT; el combo se llena al terminar
+        EjecutorAsincrono.ejecutar(this, "cargarAsistencias", () -> armarOpcionesAsistencias(curso), opciones -> {
+            nombresEstudiantes = opciones.nombres();
+            for (Map.Entry<String, Asistencia> opcion : opciones.asistencias().entrySet()) {
+                comboAsistencias.addItem(opcion.getKey());
+                mapaAsistencias.put(opcion.getKey(), opcion.getValue());
+            }
+
+            if (mapaAsistencias.isEmpty()) {
+                JOptionPane.showMessageDialog(this, "No hay asistencias registradas para este curso.");
+            }
+        });
+    }
+
+    /**
+     * Arma las opciones del combo (fecha - curso - materia → asistencia) con las asistencias del curso
+     * y los nombres de los estudiantes que aparecen en ellas. Se ejecuta en segundo plano.
+     */
+    private OpcionesCurso armarOpcionesAsistencias(Curso curso) {
+        Map<String, Asistencia> opciones = new LinkedHashMap<>();
+        Map<Integer, String> nombres = new HashMap<>();
+
+        // Los nombres salen de la nómina compartida del curso
+        for (Estudiante est : controladorConsulta.obtenerEstudiantesPorCurso(curso.getIdCurso())) {
+            nombres.put(est.getIdEstudiante(), est.getApellido() + ", " + est.getNombre());
+        }
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
-        for (Asistencia a : asistencias) {
-            for (Curso c : cursos) {
-                if (a.getIdCurso() == c.getIdCurso()) {
-                    String clave = formatter.format(a.getFecha()) + " - " + c.getNombre();
-                    if (a.getIdMateria() != -1) {
-                        Materia m = controladorConsulta.buscarMateriaPorId(a.getIdMateria());
-                        if (m != null) clave += " - " + m.getNombre();
-                    }
-                    comboAsistencias.addItem(clave);
-                    mapaAsistencias.put(clave, a);
+        for (Asistencia a : controladorAsistencia.obtenerAsistenciasConDetallesPorCurso(curso.getIdCurso())) {
+            String clave = formatter.format(a.getFecha()) + " - " + curso.getNombre();
+            if (a.getIdMateria() != -1) {
+                Materia m = controladorConsulta.buscarMateriaPorId(a.getIdMateria());
+                if (m != null) clave += " - " + m.getNombre();
+            }
+            opciones.put(clave, a);
+
+            // Estudiantes que ya no están en el curso: se buscan uno por uno (son pocos)
+            for (AsistenciaDetalle detalle : a.getDetalles()) {
+                if (!nombres.containsKey(detalle.getIdEstudiante())) {
+                    Estudiante est = controladorConsulta.buscarEstudiantePorId(detalle.getIdEstudiante());
+                    nombres.put(detalle.getIdEstudiante(), est == null ? null : est.getApellido() + ", " + est.getNombre());
                 }
             }
         }
 
-        if (mapaAsistencias.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "No hay asistencias disponibles para editar.");
-            dispose();
-            new VentanaPreceptor(usuario, "Preceptor").setVisible(true);
-        }
+        return new OpcionesCurso(opciones, nombres);
     }
 
     private void cargarDetalles() {
@@ -149,19 +206,19 @@ public class VentanaEditarAsistencia extends JFrame {
         Asistencia asistencia = mapaAsistencias.get(seleccion);
 
         for (AsistenciaDetalle detalle : asistencia.getDetalles()) {
-            Estudiante est = controladorConsulta.buscarEstudiantePorId(detalle.getIdEstudiante());
-            if (est == null) continue;
+            String nombre = nombresEstudiantes.get(detalle.getIdEstudiante());
+            if (nombre == null) continue;
 
             JPanel fila = new JPanel(new FlowLayout(FlowLayout.LEFT));
             fila.setMaximumSize(new Dimension(800, 30));
 
-            JLabel lbl = new JLabel(est.getApellido() + ", " + est.getNombre());
+            JLabel lbl = new JLabel(nombre);
             lbl.setFont(new Font("Arial", Font.PLAIN, 16));
             lbl.setPreferredSize(new Dimension(350, 25));
 
-            JComboBox<String> comboEstado = new JComboBox<>(estados);
+            JComboBox<EstadoAsistencia> comboEstado = new JComboBox<>(EstadoAsistencia.values());
             comboEstado.setFont(new Font("Arial", Font.PLAIN, 16));
-            comboEstado.setSelectedItem(detalle.getEstado());
+            comboEstado.setSelectedItem(detalle.getEstadoAsistencia());
 
             fila.add(lbl);
             fila.add(comboEstado);
@@ -180,9 +237,9 @@ public class VentanaEditarAsistencia extends JFrame {
             return;
         }
 
-        Map<Integer, String> nuevos = new HashMap<>();
-        for (Map.Entry<AsistenciaDetalle, JComboBox<String>> entry : nuevosEstados.entrySet()) {
-            nuevos.put(entry.getKey().getIdEstudiante(), (String) entry.getValue().getSelectedItem());
+        AsistenciaDelDia nuevos = new AsistenciaDelDia(nuevosEstados.size());
+        for (Map.Entry<AsistenciaDetalle, JComboBox<EstadoAsistencia>> entry : nuevosEstados.entrySet()) {
+            nuevos.poner(entry.getKey().getIdEstudiante(), (EstadoAsistencia) entry.getValue().getSelectedItem());
         }
 
         String seleccion = (String) comboAsistencias.getSelectedItem();
@@ -195,4 +252,8 @@ public class VentanaEditarAsistencia extends JFrame {
         dispose();
         new VentanaPreceptor(usuario, "Preceptor").setVisible(true);
     }
+
+    /** Asistencias del curso para el combo y nombres de sus estudiantes por ID */
+    private record OpcionesCurso(Map<String, Asistencia> asistencias, Map<Integer, String> nombres) {
+    }
 }
@@ -110,30 +110,22 @@ public class VentanaIngresoNotas extends JFrame {
     }
 
     private void guardarNotas() {
-        boolean exito = true;
+        Map<Integer, String> notas = new HashMap<>();
 
         for (Map.Entry<Estudiante, JComboBox<String>> entry : combosNotas.entrySet()) {
             Estudiante estudiante = entry.getKey();
             String valorSeleccionado = (String) entry.getValue().getSelectedItem();
-
-            try {
-                controladorCalificacion.guardarCalificacion(
-                        actividad.getIdActividad(),
-                        estudiante.getIdEstudiante(),
-                        valorSeleccionado
-                );
-            } catch (Exception e) {
-                exito = false;
-                JOptionPane.showMessageDialog(this,
-                        "Error al guardar la calificación de " +
-                        estudiante.getApellido() + ", " + estudiante.getNombre(),
-                        "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            notas.put(estudiante.getIdEstudiante(), valorSeleccionado);
         }
 
-        if (exito) {
+        // Todas las notas se guardan en una sola transacción
+        if (controladorCalificacion.guardarCalificaciones(actividad.getIdActividad(), notas)) {
             JOptionPane.showMessageDialog(this, "Calificaciones guardadas correctamente.");
             dispose();
+        } else {
+            JOptionPane.showMessageDialog(this,
+                    "Error al guardar las calificaciones. No se guardó ninguna nota.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 }
@@ -32,7 +32,7 @@ public class VentanaRegistrarAsistencia extends JFrame {
     private Materia materiaSeleccionada;
 
     // Mapa para guardar los combos de asistencia por estudiante
-    private final Map<Estudiante, JComboBox<String>> asistenciaPorEstudiante = new HashMap<>();
+    private final Map<Estudiante, JComboBox<EstadoAsistencia>> asistenciaPorEstudiante = new HashMap<>();
 
     // Controlador para obtener cursos, materias, estudiantes
     private final ControladorConsulta controladorConsulta = new ControladorConsulta();
@@ -166,9 +166,7 @@ public class VentanaRegistrarAsistencia extends JFrame {
             lblNombre.setFont(new Font("Arial", Font.PLAIN, 16));
             fila.add(lblNombre);
 
-            JComboBox<String> comboEstado = new JComboBox<>(new String[] {
-                "Presente", "Ausente", "Ausente Justificado", "Retirado"
-            });
+            JComboBox<EstadoAsistencia> comboEstado = new JComboBox<>(EstadoAsistencia.values());
             comboEstado.setFont(new Font("Arial", Font.PLAIN, 16));
             fila.add(comboEstado);
 
@@ -198,9 +196,9 @@ public class VentanaRegistrarAsistencia extends JFrame {
             return;
         }
 
-        Map<Integer, String> mapaAsistencias = new HashMap<>();
-        for (Map.Entry<Estudiante, JComboBox<String>> entry : asistenciaPorEstudiante.entrySet()) {
-            mapaAsistencias.put(entry.getKey().getIdEstudiante(), (String) entry.getValue().getSelectedItem());
+        AsistenciaDelDia mapaAsistencias = new AsistenciaDelDia(asistenciaPorEstudiante.size());
+        for (Map.Entry<Estudiante, JComboBox<EstadoAsistencia>> entry : asistenciaPorEstudiante.entrySet()) {
+            mapaAsistencias.poner(entry.getKey().getIdEstudiante(), (EstadoAsistencia) entry.getValue().getSelectedItem());
         }
 
         boolean exito = ControladorAsistencia.guardarAsistenciaPorMateria(
@@ -0,0 +1,196 @@
+package vista;
+
+import controlador.ControladorAsistencia;
+import controlador.ControladorConsulta;
+import modelo.Curso;
+import modelo.Estudiante;
+import modelo.ResumenAsistencia;
+import util.EjecutorAsincrono;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ventana del Directivo con los porcentajes de asistencia de toda la escuela:
+ * por curso o, eligiendo un curso, por estudiante, en el período seleccionado.
+ * Los resúmenes se calculan sobre la copia en memoria de las asistencias
+ * (la primera vez que se abre la ventana se espera a que se cargue).
+ *
+ * @author Yonatan
+ */
+public class VentanaResumenAsistencias extends JFrame {
+
+    private static final String[] PERIODOS = {"Año en curso", "Últimos 30 días", "Todo el registro"};
+    private static final String[] COLUMNAS = {"", "Registros", "Presentes", "Ausentes", "Justificados", "Retirados", "% Asistencia"};
+
+    private final ControladorAsistencia controladorAsistencia = new ControladorAsistencia();
+    private final ControladorConsulta controladorConsulta = new ControladorConsulta();
+
+    private JComboBox<String> comboCurso;
+    private JComboBox<String> comboPeriodo;
+    private DefaultTableModel modeloTabla;
+    private JLabel lblEstado;
+    private List<Curso> cursos = new ArrayList<>();
+
+    public VentanaResumenAsistencias() {
+        setTitle("Resumen de Asistencias");
+        setExtendedState(JFrame.MAXIMIZED_BOTH);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        // ===== Panel de título =====
+        JPanel panelTitulo = new JPanel();
+        panelTitulo.setLayout(new BoxLayout(panelTitulo, BoxLayout.Y_AXIS));
+        panelTitulo.setBorder(BorderFactory.createEmptyBorder(30, 80, 10, 80));
+
+        JLabel lblTitulo = new JLabel("Resumen de Asistencias");
+        lblTitulo.setFont(new Font("Arial", Font.BOLD, 28));
+        lblTitulo.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        JLabel lblSub = new JLabel("Porcentaje de asistencia por curso, o por estudiante dentro de un curso");
+        lblSub.setFont(new Font("Arial", Font.PLAIN, 16));
+        lblSub.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        panelTitulo.add(lblTitulo);
+        panelTitulo.add(Box.createVerticalStrut(5));
+        panelTitulo.add(lblSub);
+
+        // ===== Panel de filtros =====
+        JPanel panelFiltros = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        panelFiltros.setBorder(BorderFactory.createTitledBorder("Filtros"));
+
+        comboCurso = new JComboBox<>();
+        comboCurso.setFont(new Font("Arial", Font.PLAIN, 16));
+        comboCurso.setPreferredSize(new Dimension(300, 28));
+        comboCurso.addItem("Todos los cursos");
+
+        comboPeriodo = new JComboBox<>(PERIODOS);
+        comboPeriodo.setFont(new Font("Arial", Font.PLAIN, 16));
+
+        JButton btnVer = new JButton("Ver resumen");
+        btnVer.setFont(new Font("Arial", Font.PLAIN, 16));
+        btnVer.addActionListener(e -> mostrarResumen());
+
+        panelFiltros.add(new JLabel("Curso:"));
+        panelFiltros.add(comboCurso);
+        panelFiltros.add(new JLabel("Período:"));
+        panelFiltros.add(comboPeriodo);
+        panelFiltros.add(btnVer);
+
+        JPanel panelSuperior = new JPanel(new BorderLayout());
+        panelSuperior.add(panelTitulo, BorderLayout.NORTH);
+        panelSuperior.add(panelFiltros, BorderLayout.SOUTH);
+        add(panelSuperior, BorderLayout.NORTH);
+
+        // ===== Tabla de resultados =====
+        modeloTabla = new DefaultTableModel(COLUMNAS, 0) {
+            @Override
+            public boolean isCellEditable(int fila, int columna) {
+                return false;
+            }
+        };
+        JTable tabla = new JTable(modeloTabla);
+        tabla.setFont(new Font("Arial", Font.PLAIN, 14));
+        tabla.setRowHeight(22);
+        tabla.setAutoCreateRowSorter(true);
+
+        JScrollPane scroll = new JScrollPane(tabla);
+        scroll.setBorder(BorderFactory.createTitledBorder("Resultados"));
+        add(scroll, BorderLayout.CENTER);
+
+        // ===== Panel inferior =====
+        JPanel panelInferior = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 20));
+        lblEstado = new JLabel(" ");
+        lblEstado.setFont(new Font("Arial", Font.PLAIN, 14));
+        JButton btnCerrar = new JButton("Cerrar");
+        btnCerrar.setFont(new Font("Arial", Font.PLAIN, 16));
+        btnCerrar.addActionListener(e -> dispose());
+        panelInferior.add(lblEstado);
+        panelInferior.add(btnCerrar);
+        add(panelInferior, BorderLayout.SOUTH);
+
+        cargarCursos();
+        mostrarResumen();
+    }
+
+    /**
+     * Llena el combo de cursos en segundo plano.
+     */
+    private void cargarCursos() {
+        EjecutorAsincrono.ejecutar(this, "cargarCursos", controladorConsulta::obtenerCursos, lista -> {
+            cursos = lista;
+            for (Curso curso : lista) {
+                comboCurso.addItem(curso.getNombre());
+            }
+        });
+    }
+
+    /**
+     * Calcula el resumen del curso y período elegidos fuera del EDT y lo muestra en la tabla.
+     */
+    private void mostrarResumen() {
+        int indice = comboCurso.getSelectedIndex();
+        Curso curso = indice > 0 && indice <= cursos.size() ? cursos.get(indice - 1) : null;
+        LocalDate hasta = LocalDate.now();
+        LocalDate desde = switch (comboPeriodo.getSelectedIndex()) {
+            case 0 -> hasta.withDayOfYear(1);
+            case 1 -> hasta.minusDays(30);
+            default -> null;
+        };
+
+        lblEstado.setText("Calculando...");
+        EjecutorAsincrono.ejecutar(this, "mostrarResumen",
+                () -> curso == null ? armarFilasPorCurso(desde, hasta) : armarFilasPorEstudiante(curso, desde, hasta),
+                filas -> {
+                    modeloTabla.setColumnIdentifiers(cambiarPrimeraColumna(curso == null ? "Curso" : "Estudiante"));
+                    modeloTabla.setRowCount(0);
+                    for (Object[] fila : filas) {
+                        modeloTabla.addRow(fila);
+                    }
+                    lblEstado.setText(filas.isEmpty() ? "No hay asistencias registradas en el período." : " ");
+                },
+                e -> lblEstado.setText("Error al calcular el resumen: " + e.getMessage()));
+    }
+
+    private List<Object[]> armarFilasPorCurso(LocalDate desde, LocalDate hasta) {
+        Map<Integer, String> nombres = new HashMap<>();
+        for (Curso curso : controladorConsulta.obtenerCursos()) {
+            nombres.put(curso.getIdCurso(), curso.getNombre());
+        }
+        List<Object[]> filas = new ArrayList<>();
+        controladorAsistencia.obtenerResumenPorCurso(desde, hasta).forEach((idCurso, resumen) ->
+                filas.add(armarFila(nombres.getOrDefault(idCurso, "Curso " + idCurso), resumen)));
+        return filas;
+    }
+
+    private List<Object[]> armarFilasPorEstudiante(Curso curso, LocalDate desde, LocalDate hasta) {
+        Map<Integer, ResumenAsistencia> resumenes = controladorAsistencia.obtenerResumenPorEstudiante(curso.getIdCurso(), desde, hasta);
+        List<Object[]> filas = new ArrayList<>();
+        // En el orden de la nómina (apellido y nombre)
+        for (Estudiante estudiante : controladorConsulta.obtenerEstudiantesPorCurso(curso.getIdCurso())) {
+            ResumenAsistencia resumen = resumenes.get(estudiante.getIdEstudiante());
+            if (resumen != null) {
+                filas.add(armarFila(estudiante.getApellido() + ", " + estudiante.getNombre(), resumen));
+            }
+        }
+        return filas;
+    }
+
+    private Object[] armarFila(String nombre, ResumenAsistencia resumen) {
+        return new Object[]{nombre, resumen.getTotal(), resumen.getPresentes(), resumen.getAusentes(),
+                resumen.getAusentesJustificados(), resumen.getRetirados(),
+                String.format("%.1f %%", resumen.getPorcentajePresentes())};
+    }
+
+    private Object[] cambiarPrimeraColumna(String titulo) {
+        Object[] columnas = COLUMNAS.clone();
+        columnas[0] = titulo;
+        return columnas;
+    }
+}
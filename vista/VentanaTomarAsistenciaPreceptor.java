@@ -24,11 +24,7 @@ public class VentanaTomarAsistenciaPreceptor extends JFrame {
 
     private List<Curso> cursos;
     private List<Estudiante> estudiantesCurso;
-    private Map<Integer, JComboBox<String>> combosEstado;
-
-    private final String[] estados = {
-        "Presente", "Ausente", "Ausente Justificado", "Retirado"
-    };
+    private Map<Integer, JComboBox<EstadoAsistencia>> combosEstado;
 
     private final ControladorConsulta controladorConsulta;
     private final ControladorAsistencia controladorAsistencia;
@@ -159,7 +155,7 @@ public class VentanaTomarAsistenciaPreceptor extends JFrame {
                 lblNombre.setFont(new Font("Arial", Font.PLAIN, 15));
                 lblNombre.setPreferredSize(new Dimension(350, 25));
 
-                JComboBox<String> comboEstado = new JComboBox<>(estados);
+                JComboBox<EstadoAsistencia> comboEstado = new JComboBox<>(EstadoAsistencia.values());
                 comboEstado.setFont(new Font("Arial", Font.PLAIN, 15));
                 comboEstado.setSelectedIndex(0);
 
@@ -189,17 +185,20 @@ public class VentanaTomarAsistenciaPreceptor extends JFrame {
         LocalDate fecha = fechaSeleccionada.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
 
         Curso curso = cursos.get(cursoIndex);
-        Map<Integer, String> estadosPorEstudiante = new HashMap<>();
+        AsistenciaDelDia estadosPorEstudiante = new AsistenciaDelDia(estudiantesCurso.size());
 
         for (Estudiante est : estudiantesCurso) {
-            JComboBox<String> combo = combosEstado.get(est.getIdEstudiante());
+            JComboBox<EstadoAsistencia> combo = combosEstado.get(est.getIdEstudiante());
             if (combo != null) {
-                estadosPorEstudiante.put(est.getIdEstudiante(), (String) combo.getSelectedItem());
+                estadosPorEstudiante.poner(est.getIdEstudiante(), (EstadoAsistencia) combo.getSelectedItem());
             }
         }
 
         try {
-            controladorAsistencia.registrarAsistencia(usuario, curso.getIdCurso(), fecha, estadosPorEstudiante);
+            if (!controladorAsistencia.registrarAsistencia(usuario, curso.getIdCurso(), fecha, estadosPorEstudiante)) {
+                JOptionPane.showMessageDialog(this, "No se pudo registrar la asistencia.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             JOptionPane.showMessageDialog(this, "Asistencia registrada correctamente.");
             dispose();
             new VentanaPreceptor(usuario, "Preceptor").setVisible(true);
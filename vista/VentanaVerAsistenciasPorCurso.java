@@ -3,12 +3,12 @@ package vista;
 import controlador.ControladorAsistencia;
 import controlador.ControladorConsulta;
 import modelo.*;
+import util.EjecutorAsincrono;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class VentanaVerAsistenciasPorCurso extends JFrame {
 
@@ -108,6 +108,7 @@ public class VentanaVerAsistenciasPorCurso extends JFrame {
     /**
      * Muestra todas las asistencias registradas del curso seleccionado.
      * Se detallan tanto generales como por materia, ordenadas por fecha descendente.
+     * La consulta se hace fuera del EDT; la ventana no se congela mientras tanto.
      */
     private void mostrarAsistencias() {
         int index = comboCurso.getSelectedIndex();
@@ -116,10 +117,22 @@ public class VentanaVerAsistenciasPorCurso extends JFrame {
         Curso curso = cursos.get(index);
         int idCurso = curso.getIdCurso();
 
-        List<Asistencia> asistenciasCurso = controladorAsistencia.obtenerAsistencias().stream()
-                .filter(a -> a.getIdCurso() == idCurso)
-                .sorted((a1, a2) -> a2.getFecha().compareTo(a1.getFecha()))
-                .collect(Collectors.toList());
+        areaResultados.setText("Cargando asistencias...");
+        EjecutorAsincrono.ejecutar(this, "mostrarAsistencias",
+                () -> armarTextoAsistencias(idCurso),
+                texto -> areaResultados.setText(texto),
+                e -> areaResultados.setText("Error al cargar las asistencias: " + e.getMessage()));
+    }
+
+    /**
+     * Consulta las asistencias del curso y arma el texto a mostrar. Se ejecuta en segundo plano.
+     *
+     * @param idCurso ID del curso seleccionado
+     * @return texto con las asistencias y sus detalles
+     */
+    private String armarTextoAsistencias(int idCurso) {
+        // Ya vienen filtradas por curso y ordenadas por fecha descendente
+        List<Asistencia> asistenciasCurso = controladorAsistencia.obtenerAsistenciasConDetallesPorCurso(idCurso);
 
         StringBuilder sb = new StringBuilder();
         DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy");
@@ -155,9 +168,8 @@ public class VentanaVerAsistenciasPorCurso extends JFrame {
         }
 
         if (sb.length() == 0) {
-            areaResultados.setText("No se encontraron asistencias para este curso.");
-        } else {
-            areaResultados.setText(sb.toString());
+            return "No se encontraron asistencias para este curso.";
         }
+        return sb.toString();
     }
 }
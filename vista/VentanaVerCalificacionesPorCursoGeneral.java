@@ -1,7 +1,10 @@
 package vista;
 
 import controlador.ControladorCalificacion;
+import modelo.MatrizCalificaciones;
+import modelo.PlanillaCalificaciones;
 import modelo.Usuario;
+import util.EjecutorAsincrono;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -13,6 +16,8 @@ import java.util.*;
  * Diseño visual actualizado. Lógica original intacta.
  * 
  * Cada fila representa un estudiante, y cada columna una actividad.
+ * La última columna tiene el promedio de cada estudiante y la última fila el de cada actividad,
+ * calculados sobre las notas numéricas.
  * Los datos provienen de la base de datos a través del controlador.
  * 
  * @author Yonatan
@@ -28,8 +33,6 @@ public class VentanaVerCalificacionesPorCursoGeneral extends JFrame {
 
     private Map<String, Integer> mapaCursos;
     private Map<String, Integer> mapaMaterias;
-    private Map<String, Integer> mapaEstudiantes;
-    private Map<String, Integer> mapaActividades;
 
     public VentanaVerCalificacionesPorCursoGeneral(Usuario usuario) {
         this.usuario = usuario;
@@ -142,30 +145,59 @@ public class VentanaVerCalificacionesPorCursoGeneral extends JFrame {
         int idCurso = mapaCursos.get(curso);
         int idMateria = mapaMaterias.get(materia);
 
-        mapaEstudiantes = controlador.obtenerEstudiantesDelCurso(idCurso);
-        mapaActividades = controlador.obtenerActividades(usuario.getIdUsuario(), idCurso, idMateria);
+        int idDocente = usuario.getIdUsuario();
 
+        // Las tres consultas se hacen fuera del EDT; la tabla se arma al terminar
+        EjecutorAsincrono.ejecutar(this, "cargarPlanilla", () -> {
+            Map<String, Integer> estudiantes = controlador.obtenerEstudiantesDelCurso(idCurso);
+            Map<String, Integer> actividades = controlador.obtenerActividades(idDocente, idCurso, idMateria);
+            PlanillaCalificaciones planilla = controlador.obtenerPlanilla(idDocente, idCurso, idMateria);
+            return armarModelo(estudiantes, actividades, planilla);
+        }, modelo -> tablaPlanilla.setModel(modelo));
+    }
+
+    /**
+     * Arma el modelo de la tabla: una fila por estudiante y una columna por actividad, más los promedios.
+     */
+    private DefaultTableModel armarModelo(Map<String, Integer> estudiantes, Map<String, Integer> actividades,
+                                          PlanillaCalificaciones planilla) {
         DefaultTableModel modelo = new DefaultTableModel();
         modelo.addColumn("Estudiante");
 
-        for (String act : mapaActividades.keySet()) {
+        for (String act : actividades.keySet()) {
             modelo.addColumn(act);
         }
+        modelo.addColumn("Promedio");
 
-        for (Map.Entry<String, Integer> entradaEst : mapaEstudiantes.entrySet()) {
+        MatrizCalificaciones matriz = planilla.getMatriz();
+
+        for (Map.Entry<String, Integer> entradaEst : estudiantes.entrySet()) {
             String nombreEst = entradaEst.getKey();
             int idEst = entradaEst.getValue();
             Vector<String> fila = new Vector<>();
             fila.add(nombreEst);
 
-            for (int idAct : mapaActividades.values()) {
-                String nota = controlador.obtenerNotaPorActividad(idEst, idAct);
+            for (int idAct : actividades.values()) {
+                String nota = planilla.obtenerNota(idEst, idAct);
                 fila.add(nota != null ? nota : "-");
             }
+            fila.add(formatearPromedio(matriz.promedioEstudiante(idEst)));
 
             modelo.addRow(fila);
         }
 
-        tablaPlanilla.setModel(modelo);
+        Vector<String> promedios = new Vector<>();
+        promedios.add("Promedio");
+        for (int idAct : actividades.values()) {
+            promedios.add(formatearPromedio(matriz.promedioActividad(idAct)));
+        }
+        promedios.add("");
+        modelo.addRow(promedios);
+
+        return modelo;
+    }
+
+    private String formatearPromedio(double promedio) {
+        return Double.isNaN(promedio) ? "-" : String.format("%.2f", promedio);
     }
 }
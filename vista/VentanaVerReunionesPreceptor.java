@@ -3,24 +3,39 @@ package vista;
 import controlador.ControladorConsulta;
 import controlador.ControladorReunion;
 import modelo.*;
+import util.EjecutorAsincrono;
 
 import javax.swing.*;
 import java.awt.*;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Esta ventana es para el preceptor. Permite consultar reuniones confirmadas.
  * Trae los datos desde el controlador y los muestra con formato.
  * Se agregaron validaciones para evitar errores si falta algún dato en la base.
+ * Las reuniones se traen de a una página, filtradas por curso y período en la base.
  * 
  * @author Yonatan
  */
 public class VentanaVerReunionesPreceptor extends JFrame {
 
+    private static final int TAMANIO_PAGINA = 50;
+    private static final String[] PERIODOS = {"Todas", "Año en curso", "Año anterior"};
+
     private JComboBox<String> comboSolicitudes;
+    private JComboBox<String> comboCurso;
+    private JComboBox<String> comboPeriodo;
+    private JButton btnAnterior;
+    private JButton btnSiguiente;
+    private JLabel lblPagina;
     private JTextArea areaDetalle;
-    private List<SolicitudReunion> solicitudesConfirmadas;
+    private List<SolicitudReunionDetallada> solicitudesConfirmadas = new ArrayList<>();
+    private List<Curso> cursos = new ArrayList<>();
+    private int pagina;
+    private int totalSolicitudes;
 
     private final ControladorReunion controladorReunion;
     private final ControladorConsulta controladorConsulta;
@@ -38,30 +53,33 @@ public class VentanaVerReunionesPreceptor extends JFrame {
         JPanel panelSuperior = new JPanel(new BorderLayout());
         panelSuperior.setBorder(BorderFactory.createEmptyBorder(15, 30, 15, 30));
         comboSolicitudes = new JComboBox<>();
-
-        // Traemos todas las reuniones confirmadas desde el sistema
-        solicitudesConfirmadas = controladorReunion.obtenerSolicitudes().stream()
-                .filter(sr -> "Confirmada".equalsIgnoreCase(sr.getEstado()))
-                .toList();
-
-        // Recorremos las solicitudes y armamos el texto para el combo
-        for (SolicitudReunion sr : solicitudesConfirmadas) {
-            Usuario solicitante = controladorConsulta.buscarUsuarioPorId(sr.getIdUsuarioSolicitante());
-            Curso curso = controladorConsulta.buscarCursoPorId(sr.getIdCurso());
-
-            // Validamos por si algún dato no está bien cargado
-            if (solicitante != null && curso != null) {
-                String item = solicitante.getApellido() + ", " + solicitante.getNombre() + " - Curso " + curso.getNombre();
-                comboSolicitudes.addItem(item);
-            } else {
-                comboSolicitudes.addItem("Solicitud #" + sr.getIdSolicitud() + " (datos incompletos)");
-            }
-        }
-
         comboSolicitudes.addActionListener(e -> mostrarDetalle());
 
-        panelSuperior.add(new JLabel("Seleccione una reunión confirmada:"), BorderLayout.NORTH);
-        panelSuperior.add(comboSolicitudes, BorderLayout.CENTER);
+        // Filtros y paginación
+        JPanel panelFiltros = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        comboCurso = new JComboBox<>();
+        comboCurso.addItem("Todos los cursos");
+        comboPeriodo = new JComboBox<>(PERIODOS);
+        JButton btnFiltrar = new JButton("Filtrar");
+        btnFiltrar.addActionListener(e -> cargarPagina(0));
+        btnAnterior = new JButton("Anterior");
+        btnAnterior.addActionListener(e -> cargarPagina(pagina - 1));
+        btnSiguiente = new JButton("Siguiente");
+        btnSiguiente.addActionListener(e -> cargarPagina(pagina + 1));
+        lblPagina = new JLabel(" ");
+
+        panelFiltros.add(new JLabel("Curso:"));
+        panelFiltros.add(comboCurso);
+        panelFiltros.add(new JLabel("Período:"));
+        panelFiltros.add(comboPeriodo);
+        panelFiltros.add(btnFiltrar);
+        panelFiltros.add(btnAnterior);
+        panelFiltros.add(btnSiguiente);
+        panelFiltros.add(lblPagina);
+
+        panelSuperior.add(panelFiltros, BorderLayout.NORTH);
+        panelSuperior.add(new JLabel("Seleccione una reunión confirmada:"), BorderLayout.CENTER);
+        panelSuperior.add(comboSolicitudes, BorderLayout.SOUTH);
         add(panelSuperior, BorderLayout.NORTH);
 
         // Área central donde se muestran los detalles completos
@@ -72,6 +90,78 @@ public class VentanaVerReunionesPreceptor extends JFrame {
         scroll.setBorder(BorderFactory.createTitledBorder("Detalle de la reunión"));
         add(scroll, BorderLayout.CENTER);
 
+        EjecutorAsincrono.ejecutar(this, "cargarCursos", controladorConsulta::obtenerCursos, lista -> {
+            cursos = lista;
+            for (Curso curso : lista) {
+                comboCurso.addItem(curso.getNombre());
+            }
+        });
+        cargarPagina(0);
+
+        setVisible(true);
+    }
+
+    /**
+     * Trae en segundo plano una página de reuniones confirmadas con los filtros elegidos
+     * (con solicitante, curso y estudiantes convocados en una sola consulta) y la muestra en el combo.
+     *
+     * @param numero número de página, empezando en 0
+     */
+    private void cargarPagina(int numero) {
+        int indiceCurso = comboCurso.getSelectedIndex();
+        int idCurso = indiceCurso > 0 && indiceCurso <= cursos.size() ? cursos.get(indiceCurso - 1).getIdCurso() : 0;
+        int anio = LocalDate.now().getYear();
+        LocalDate desde = null;
+        LocalDate hasta = null;
+        if (comboPeriodo.getSelectedIndex() == 1) {
+            desde = LocalDate.of(anio, 1, 1);
+            hasta = LocalDate.of(anio, 12, 31);
+        } else if (comboPeriodo.getSelectedIndex() == 2) {
+            desde = LocalDate.of(anio - 1, 1, 1);
+            hasta = LocalDate.of(anio - 1, 12, 31);
+        }
+        LocalDate primerDia = desde;
+        LocalDate ultimoDia = hasta;
+        int pedida = Math.max(numero, 0);
+
+        btnAnterior.setEnabled(false);
+        btnSiguiente.setEnabled(false);
+        lblPagina.setText("Cargando...");
+        EjecutorAsincrono.ejecutar(this, "cargarPagina", () -> {
+            int total = controladorReunion.contarSolicitudes("Confirmada", primerDia, ultimoDia, idCurso);
+            List<SolicitudReunionDetallada> leidas = controladorReunion.obtenerSolicitudesDetalladas("Confirmada",
+                    primerDia, ultimoDia, idCurso, TAMANIO_PAGINA, pedida * TAMANIO_PAGINA);
+            return new Pagina(total, leidas);
+        }, resultado -> {
+            totalSolicitudes = resultado.total();
+            pagina = pedida;
+            mostrarPagina(resultado.solicitudes());
+        });
+    }
+
+    /**
+     * Carga el combo con las reuniones de la página y muestra el detalle de la primera.
+     */
+    private void mostrarPagina(List<SolicitudReunionDetallada> leidas) {
+        solicitudesConfirmadas = leidas;
+        comboSolicitudes.removeAllItems();
+
+        // Recorremos las solicitudes y armamos el texto para el combo
+        for (SolicitudReunionDetallada sr : solicitudesConfirmadas) {
+            // Validamos por si algún dato no está bien cargado
+            if (sr.tieneDatosCompletos()) {
+                String item = sr.getNombreSolicitante() + " - Curso " + sr.getNombreCurso();
+                comboSolicitudes.addItem(item);
+            } else {
+                comboSolicitudes.addItem("Solicitud #" + sr.getIdSolicitud() + " (datos incompletos)");
+            }
+        }
+
+        int paginas = Math.max(1, (totalSolicitudes + TAMANIO_PAGINA - 1) / TAMANIO_PAGINA);
+        lblPagina.setText("Página " + (pagina + 1) + " de " + paginas + " (" + totalSolicitudes + " reuniones)");
+        btnAnterior.setEnabled(pagina > 0);
+        btnSiguiente.setEnabled(pagina + 1 < paginas);
+
         // Si hay al menos una solicitud confirmada, mostramos su detalle
         if (!solicitudesConfirmadas.isEmpty()) {
             comboSolicitudes.setSelectedIndex(0);
@@ -79,8 +169,6 @@ public class VentanaVerReunionesPreceptor extends JFrame {
         } else {
             areaDetalle.setText("No hay reuniones confirmadas.");
         }
-
-        setVisible(true);
     }
 
     /**
@@ -90,23 +178,18 @@ public class VentanaVerReunionesPreceptor extends JFrame {
     private void mostrarDetalle() {
         int index = comboSolicitudes.getSelectedIndex();
         if (index >= 0 && index < solicitudesConfirmadas.size()) {
-            SolicitudReunion sr = solicitudesConfirmadas.get(index);
+            SolicitudReunionDetallada sr = solicitudesConfirmadas.get(index);
             StringBuilder sb = new StringBuilder();
             DateTimeFormatter formato = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
-            // Buscamos el usuario y el curso para mostrar nombres reales
-            Usuario solicitante = controladorConsulta.buscarUsuarioPorId(sr.getIdUsuarioSolicitante());
-            Curso curso = controladorConsulta.buscarCursoPorId(sr.getIdCurso());
-            List<Estudiante> estudiantes = controladorConsulta.obtenerEstudiantesPorCurso(sr.getIdCurso());
-
-            if (solicitante == null || curso == null) {
+            if (!sr.tieneDatosCompletos()) {
                 areaDetalle.setText("No se pudo cargar la información completa de esta reunión.");
                 return;
             }
 
             // Armamos el texto con los datos de la reunión
-            sb.append("Solicitante: ").append(solicitante.getApellido()).append(", ").append(solicitante.getNombre()).append("\n");
-            sb.append("Curso: ").append(curso.getNombre()).append("\n\n");
+            sb.append("Solicitante: ").append(sr.getNombreSolicitante()).append("\n");
+            sb.append("Curso: ").append(sr.getNombreCurso()).append("\n\n");
             sb.append("Motivo: ").append(sr.getMotivo()).append("\n");
             sb.append("Disponibilidad declarada: ").append(sr.getDisponibilidad()).append("\n");
             sb.append("Estado: ").append(sr.getEstado()).append("\n");
@@ -119,13 +202,17 @@ public class VentanaVerReunionesPreceptor extends JFrame {
                 sb.append("Hora confirmada: ").append(sr.getHoraReunionConfirmada().toString()).append("\n");
             }
 
-            // Mostramos los estudiantes del curso
+            // Mostramos los estudiantes convocados a la reunión
             sb.append("\nEstudiantes convocados:\n");
-            for (Estudiante est : estudiantes) {
-                sb.append(" - ").append(est.getApellido()).append(", ").append(est.getNombre()).append("\n");
+            for (String est : sr.getNombresParticipantes()) {
+                sb.append(" - ").append(est).append("\n");
             }
 
             areaDetalle.setText(sb.toString());
         }
     }
+
+    /** Página de reuniones junto con la cantidad total que cumple los filtros */
+    private record Pagina(int total, List<SolicitudReunionDetallada> solicitudes) {
+    }
 }
@@ -25,7 +25,7 @@ public class VentanaVerYEditarAsistenciasDocente extends JFrame {
     private JComboBox<String> comboAsistencias;
     private JPanel panelEstudiantes;
     private final Map<String, Asistencia> mapaAsistencias = new LinkedHashMap<>();
-    private final Map<Integer, JComboBox<String>> combosPorEstudiante = new HashMap<>();
+    private final Map<Integer, JComboBox<EstadoAsistencia>> combosPorEstudiante = new HashMap<>();
     private List<Asistencia> asistencias;
 
     public VentanaVerYEditarAsistenciasDocente(Usuario docente) {
@@ -134,9 +134,9 @@ public class VentanaVerYEditarAsistenciasDocente extends JFrame {
         List<Estudiante> estudiantes = new ControladorConsulta()
                 .obtenerEstudiantesPorCurso(asistenciaSeleccionada.getIdCurso());
 
-        Map<Integer, String> estados = new HashMap<>();
+        Map<Integer, EstadoAsistencia> estados = new HashMap<>();
         for (AsistenciaDetalle detalle : asistenciaSeleccionada.getDetalles()) {
-            estados.put(detalle.getIdEstudiante(), detalle.getEstado());
+            estados.put(detalle.getIdEstudiante(), detalle.getEstadoAsistencia());
         }
 
         for (Estudiante e : estudiantes) {
@@ -148,9 +148,7 @@ public class VentanaVerYEditarAsistenciasDocente extends JFrame {
             lbl.setPreferredSize(new Dimension(350, 25));
             fila.add(lbl);
 
-            JComboBox<String> comboEstado = new JComboBox<>(new String[]{
-                "Presente", "Ausente", "Ausente Justificado", "Retirado"
-            });
+            JComboBox<EstadoAsistencia> comboEstado = new JComboBox<>(EstadoAsistencia.values());
             comboEstado.setFont(new Font("Arial", Font.PLAIN, 16));
 
             if (estados.containsKey(e.getIdEstudiante())) {
@@ -173,9 +171,9 @@ public class VentanaVerYEditarAsistenciasDocente extends JFrame {
         Asistencia asistencia = mapaAsistencias.get(clave);
         if (asistencia == null) return;
 
-        Map<Integer, String> nuevosEstados = new HashMap<>();
-        for (Map.Entry<Integer, JComboBox<String>> entry : combosPorEstudiante.entrySet()) {
-            nuevosEstados.put(entry.getKey(), (String) entry.getValue().getSelectedItem());
+        AsistenciaDelDia nuevosEstados = new AsistenciaDelDia(combosPorEstudiante.size());
+        for (Map.Entry<Integer, JComboBox<EstadoAsistencia>> entry : combosPorEstudiante.entrySet()) {
+            nuevosEstados.poner(entry.getKey(), (EstadoAsistencia) entry.getValue().getSelectedItem());
         }
 
         new ControladorAsistencia().editarAsistencia(asistencia.getIdAsistencia(), nuevosEstados);